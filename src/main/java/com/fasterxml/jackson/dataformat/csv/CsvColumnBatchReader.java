@@ -0,0 +1,540 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Reader that reads records in batches of (at most) given number of rows into
+ * per-column vectors of primitive values, without constructing Objects for
+ * values. Type of vector for a column depends on {@link CsvSchema.ColumnType}
+ * of the column:
+ *<ul>
+ * <li>{@link CsvSchema.ColumnType#NUMBER}: {@link NumberVector}, which holds values in an
+ *   <code>int[]</code>, <code>long[]</code> or <code>double[]</code>, depending on values of the batch
+ *  </li>
+ * <li>{@link CsvSchema.ColumnType#BOOLEAN}: {@link BooleanVector}, with a <code>boolean[]</code>
+ *  </li>
+ * <li>Other types: {@link TextVector}, with values concatenated in a shared <code>char[]</code>,
+ *   along with their offsets. For {@link CsvSchema.ColumnType#ARRAY} columns, value is the
+ *   whole cell, without splitting it into elements.
+ *  </li>
+ *</ul>
+ * All vectors also have a bitmap for indicating null values (for missing values of short
+ * rows, and values parser exposes as nulls, like empty values of numeric columns).
+ *<p>
+ * Vectors (and their arrays) are reused for all batches, so contents of a batch are only
+ * valid until the next call to {@link #readBatch}.
+ * Schema must have columns (either defined or read from the header line); columns excluded
+ * by projection (see {@link CsvSchema#withProjection}) have no vectors.
+ *
+ * @since 2.6
+ */
+public class CsvColumnBatchReader implements Closeable
+{
+    protected final CsvParser _parser;
+
+    protected final int _batchSize;
+
+    /**
+     * Schema for which {@link #_vectors} were constructed
+     */
+    protected CsvSchema _vectorSchema;
+
+    protected ColumnVector[] _vectors;
+
+    protected int _rowCount;
+
+    protected boolean _endOfInput;
+
+    public CsvColumnBatchReader(CsvParser p, CsvSchema schema, int batchSize)
+    {
+        this(_withSchema(p, schema), batchSize);
+    }
+
+    /**
+     * @param p Parser to read records from: must have schema set
+     * @param batchSize Maximum number of rows to read in a batch
+     */
+    public CsvColumnBatchReader(CsvParser p, int batchSize)
+    {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Invalid batch size ("+batchSize+"): must be positive");
+        }
+        _parser = p;
+        _batchSize = batchSize;
+        p.disable(CsvParser.Feature.WRAP_AS_ARRAY);
+    }
+
+    private static CsvParser _withSchema(CsvParser p, CsvSchema schema) {
+        p.setSchema(schema);
+        return p;
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    /**
+     * Method for reading the next batch of rows. With a non-blocking parser,
+     * batch may have fewer rows if no more complete rows are available
+     * (see {@link CsvParser#feedInput}).
+     *
+     * @return Number of rows read; 0 if there are no more rows (or, with a
+     *   non-blocking parser, none available yet)
+     */
+    public int readBatch() throws IOException
+    {
+        _rowCount = 0;
+        if (_endOfInput) {
+            return 0;
+        }
+        if (_vectors != null) {
+            for (ColumnVector v : _vectors) {
+                if (v != null) {
+                    v.reset();
+                }
+            }
+        }
+        final CsvParser p = _parser;
+        int rows = 0;
+        while (rows < _batchSize) {
+            JsonToken t = p.nextToken();
+            if (t != JsonToken.START_OBJECT) {
+                if (t == JsonToken.NOT_AVAILABLE) { // non-blocking parser needs more input
+                    break;
+                }
+                if (t == JsonToken.START_ARRAY) {
+                    p._reportCsvError("Can not read column batches without schema columns");
+                }
+                _endOfInput = true;
+                break;
+            }
+            if (p.getSchema() != _vectorSchema) { // first row, or schema changed
+                if (rows > 0) {
+                    p._reportCsvError("Schema changed in the middle of a column batch");
+                }
+                _initVectors(p.getSchema());
+            }
+            final ColumnVector[] vectors = _vectors;
+            int ix;
+            while ((ix = p._nextColumn()) >= 0) {
+                JsonToken vt = p._nextColumnValue();
+                vectors[ix].append(p, vt);
+            }
+            ++rows;
+            // missing values of short rows are null
+            for (ColumnVector v : vectors) {
+                if (v != null && v._size < rows) {
+                    v.appendNull();
+                }
+            }
+        }
+        _rowCount = rows;
+        return rows;
+    }
+
+    /**
+     * @return Number of rows read in the current batch
+     */
+    public int getRowCount() { return _rowCount; }
+
+    /**
+     * @return Number of columns (including ones without vectors, if excluded by projection)
+     */
+    public int getColumnCount() {
+        return (_vectors == null) ? 0 : _vectors.length;
+    }
+
+    /**
+     * @return Vector for column with given index; null if column is excluded by projection
+     */
+    public ColumnVector getColumn(int index) {
+        return _vectors[index];
+    }
+
+    /**
+     * @return Vector for column with given name, if any; null if no such column
+     *   (or column is excluded by projection)
+     */
+    public ColumnVector getColumn(String name)
+    {
+        if (_vectorSchema != null) {
+            CsvSchema.Column col = _vectorSchema.column(name);
+            if (col != null) {
+                return _vectors[col.getIndex()];
+            }
+        }
+        return null;
+    }
+
+    public CsvParser getParser() { return _parser; }
+
+    @Override
+    public void close() throws IOException {
+        _parser.close();
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected void _initVectors(CsvSchema schema)
+    {
+        ColumnVector[] vectors = new ColumnVector[schema.size()];
+        for (int i = 0; i < vectors.length; ++i) {
+            CsvSchema.Column col = schema.column(i);
+            if (!schema.includesColumn(col.getName())) {
+                continue;
+            }
+            switch (col.getType()) {
+            case NUMBER:
+                vectors[i] = new NumberVector(col, _batchSize);
+                break;
+            case BOOLEAN:
+                vectors[i] = new BooleanVector(col, _batchSize);
+                break;
+            default:
+                vectors[i] = new TextVector(col, _batchSize);
+            }
+        }
+        _vectors = vectors;
+        _vectorSchema = schema;
+    }
+
+    /*
+    /**********************************************************************
+    /* Vector types
+    /**********************************************************************
+     */
+
+    /**
+     * Base class for values of a single column of a batch.
+     */
+    public abstract static class ColumnVector
+    {
+        protected final CsvSchema.Column _column;
+
+        /**
+         * Bitmap for null values: bit <code>(row &amp; 63)</code> of entry
+         * <code>(row &gt;&gt; 6)</code> is set for null values.
+         */
+        protected final long[] _nulls;
+
+        protected int _size;
+
+        protected ColumnVector(CsvSchema.Column column, int capacity) {
+            _column = column;
+            _nulls = new long[(capacity + 63) >> 6];
+        }
+
+        public String getName() { return _column.getName(); }
+
+        public CsvSchema.ColumnType getType() { return _column.getType(); }
+
+        /**
+         * @return Number of values in the vector (same as number of rows in batch)
+         */
+        public int size() { return _size; }
+
+        public boolean isNull(int row) {
+            return (_nulls[row >> 6] & (1L << row)) != 0L;
+        }
+
+        /**
+         * @return Bitmap with bits set for null values: bit <code>(row &amp; 63)</code>
+         *   of entry <code>(row &gt;&gt; 6)</code>
+         */
+        public long[] getNullBitmap() { return _nulls; }
+
+        protected void reset() {
+            Arrays.fill(_nulls, 0L);
+            _size = 0;
+        }
+
+        protected void appendNull() {
+            _nulls[_size >> 6] |= (1L << _size);
+            _appendDefault();
+            ++_size;
+        }
+
+        protected abstract void _appendDefault();
+
+        protected abstract void append(CsvParser p, JsonToken t) throws IOException;
+
+        protected void _reportInvalid(CsvParser p, String type) throws IOException {
+            p._reportCsvError("Invalid value for "+type+" column \""+getName()+"\": \""+p.getText()+"\"");
+        }
+    }
+
+    /**
+     * Vector for {@link CsvSchema.ColumnType#NUMBER} columns: values are held in the
+     * most compact of <code>int[]</code>, <code>long[]</code> and <code>double[]</code>
+     * that can hold all values of the batch (see {@link #getNumberType}).
+     */
+    public static class NumberVector extends ColumnVector
+    {
+        protected NumberType _numberType = NumberType.INT;
+
+        protected int[] _ints;
+
+        protected long[] _longs;
+
+        protected double[] _doubles;
+
+        protected NumberVector(CsvSchema.Column column, int capacity) {
+            super(column, capacity);
+            _ints = new int[capacity];
+        }
+
+        /**
+         * @return Type of values of the current batch: one of {@link NumberType#INT},
+         *   {@link NumberType#LONG} or {@link NumberType#DOUBLE}, which determines whether
+         *   {@link #getInts}, {@link #getLongs} or {@link #getDoubles} has the values.
+         */
+        public NumberType getNumberType() { return _numberType; }
+
+        public int[] getInts() { return _ints; }
+
+        public long[] getLongs() { return _longs; }
+
+        public double[] getDoubles() { return _doubles; }
+
+        public long getLong(int row) {
+            switch (_numberType) {
+            case INT:
+                return _ints[row];
+            case LONG:
+                return _longs[row];
+            default:
+                return (long) _doubles[row];
+            }
+        }
+
+        public double getDouble(int row) {
+            switch (_numberType) {
+            case INT:
+                return _ints[row];
+            case LONG:
+                return _longs[row];
+            default:
+                return _doubles[row];
+            }
+        }
+
+        @Override
+        protected void reset() {
+            super.reset();
+            _numberType = NumberType.INT;
+        }
+
+        @Override
+        protected void _appendDefault()
+        {
+            switch (_numberType) {
+            case INT:
+                _ints[_size] = 0;
+                break;
+            case LONG:
+                _longs[_size] = 0L;
+                break;
+            default:
+                _doubles[_size] = 0.0;
+            }
+        }
+
+        @Override
+        protected void append(CsvParser p, JsonToken t) throws IOException
+        {
+            if (t == JsonToken.VALUE_NUMBER_INT) {
+                NumberType nt = p.getNumberType();
+                if (nt == NumberType.INT) {
+                    _append(p.getIntValue());
+                } else if (nt == NumberType.LONG) {
+                    _append(p.getLongValue());
+                } else {
+                    _append(p.getDoubleValue());
+                }
+            } else if (t == JsonToken.VALUE_NUMBER_FLOAT) {
+                _append(p.getDoubleValue());
+            } else if (t == JsonToken.VALUE_NULL) {
+                appendNull();
+            } else {
+                _reportInvalid(p, "numeric");
+            }
+        }
+
+        protected void _append(int value)
+        {
+            if (_numberType == NumberType.INT) {
+                _ints[_size++] = value;
+            } else {
+                _append((long) value);
+            }
+        }
+
+        protected void _append(long value)
+        {
+            switch (_numberType) {
+            case INT:
+                if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                    _ints[_size++] = (int) value;
+                    return;
+                }
+                _widenToLongs();
+                // fall through
+            case LONG:
+                _longs[_size++] = value;
+                return;
+            default:
+                _doubles[_size++] = value;
+            }
+        }
+
+        protected void _append(double value)
+        {
+            if (_numberType != NumberType.DOUBLE) {
+                _widenToDoubles();
+            }
+            _doubles[_size++] = value;
+        }
+
+        private void _widenToLongs()
+        {
+            if (_longs == null) {
+                _longs = new long[_ints.length];
+            }
+            for (int i = 0; i < _size; ++i) {
+                _longs[i] = _ints[i];
+            }
+            _numberType = NumberType.LONG;
+        }
+
+        private void _widenToDoubles()
+        {
+            if (_doubles == null) {
+                _doubles = new double[_ints.length];
+            }
+            if (_numberType == NumberType.INT) {
+                for (int i = 0; i < _size; ++i) {
+                    _doubles[i] = _ints[i];
+                }
+            } else {
+                for (int i = 0; i < _size; ++i) {
+                    _doubles[i] = _longs[i];
+                }
+            }
+            _numberType = NumberType.DOUBLE;
+        }
+    }
+
+    /**
+     * Vector for {@link CsvSchema.ColumnType#BOOLEAN} columns.
+     */
+    public static class BooleanVector extends ColumnVector
+    {
+        protected final boolean[] _values;
+
+        protected BooleanVector(CsvSchema.Column column, int capacity) {
+            super(column, capacity);
+            _values = new boolean[capacity];
+        }
+
+        public boolean[] getBooleans() { return _values; }
+
+        public boolean getBoolean(int row) { return _values[row]; }
+
+        @Override
+        protected void _appendDefault() {
+            _values[_size] = false;
+        }
+
+        @Override
+        protected void append(CsvParser p, JsonToken t) throws IOException
+        {
+            if (t == JsonToken.VALUE_TRUE) {
+                _values[_size++] = true;
+            } else if (t == JsonToken.VALUE_FALSE) {
+                _values[_size++] = false;
+            } else if (t == JsonToken.VALUE_NULL) {
+                appendNull();
+            } else {
+                _reportInvalid(p, "boolean");
+            }
+        }
+    }
+
+    /**
+     * Vector for textual columns: values are concatenated in a shared <code>char[]</code>,
+     * and value of row <code>i</code> is between offsets at <code>i</code> (inclusive)
+     * and <code>i+1</code> (exclusive) of {@link #getOffsets}.
+     */
+    public static class TextVector extends ColumnVector
+    {
+        protected char[] _chars;
+
+        protected final int[] _offsets;
+
+        protected TextVector(CsvSchema.Column column, int capacity) {
+            super(column, capacity);
+            _chars = new char[Math.min(capacity * 16, 64000)];
+            _offsets = new int[capacity+1];
+        }
+
+        public char[] getChars() { return _chars; }
+
+        public int[] getOffsets() { return _offsets; }
+
+        public int getOffset(int row) { return _offsets[row]; }
+
+        public int getLength(int row) { return _offsets[row+1] - _offsets[row]; }
+
+        /**
+         * @return Value of given row as String; or null if value is null
+         */
+        public String getString(int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            return new String(_chars, _offsets[row], _offsets[row+1] - _offsets[row]);
+        }
+
+        @Override
+        protected void _appendDefault() {
+            _offsets[_size+1] = _offsets[_size];
+        }
+
+        @Override
+        protected void append(CsvParser p, JsonToken t) throws IOException
+        {
+            if (t == JsonToken.VALUE_NULL) {
+                appendNull();
+                return;
+            }
+            if (t == JsonToken.START_ARRAY) { // whole cell, not split
+                _append(p._arrayChars, p._arrayCellStart, p._arrayCellEnd - p._arrayCellStart);
+                p.skipChildren();
+                return;
+            }
+            _append(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+        }
+
+        private void _append(char[] buf, int offset, int len)
+        {
+            int start = _offsets[_size];
+            int end = start + len;
+            if (end > _chars.length) {
+                _chars = Arrays.copyOf(_chars, Math.max(end, _chars.length * 2));
+            }
+            System.arraycopy(buf, offset, _chars, start, len);
+            _offsets[++_size] = end;
+        }
+    }
+}
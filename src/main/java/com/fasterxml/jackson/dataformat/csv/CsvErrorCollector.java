@@ -0,0 +1,111 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collector of problems found in content of CSV records, used for lenient parsing
+ * (see {@link CsvParser#setErrorCollector}): instead of failing with an exception,
+ * parser records the problem, skips the record (without exposing any of its values)
+ * and continues with the next one.
+ *<p>
+ * Only problems in structure of records are collected (such as too many values,
+ * or invalid quoting); problems with value types are reported by data-binding
+ * as usual. Number of problems kept is bounded, to limit memory usage for badly
+ * broken content; but all of them are counted.
+ *<p>
+ * Instances are not thread-safe, and are usually used with a single parser.
+ *
+ * @since 2.6
+ */
+public class CsvErrorCollector
+{
+    /**
+     * Details of a single problem.
+     */
+    public static class RecordError
+    {
+        protected final int _row;
+
+        protected final long _offset;
+
+        protected final String _message;
+
+        public RecordError(int row, long offset, String message)
+        {
+            _row = row;
+            _offset = offset;
+            _message = message;
+        }
+
+        /**
+         * @return Line number (1-based) at which problem was found
+         */
+        public int getRow() { return _row; }
+
+        /**
+         * @return Offset at which problem was found: byte offset for UTF-8
+         *   encoded byte content, character offset for other content
+         */
+        public long getOffset() { return _offset; }
+
+        public String getMessage() { return _message; }
+
+        @Override
+        public String toString() {
+            return "[row "+_row+", offset "+_offset+"]: "+_message;
+        }
+    }
+
+    protected final int _maxErrors;
+
+    protected final ArrayList<RecordError> _errors = new ArrayList<RecordError>();
+
+    protected int _count;
+
+    /**
+     * @param maxErrors Maximum number of problems to keep details of: problems found after
+     *   that are only counted.
+     */
+    public CsvErrorCollector(int maxErrors)
+    {
+        if (maxErrors < 0) {
+            throw new IllegalArgumentException("Invalid maxErrors ("+maxErrors+"): can not be negative");
+        }
+        _maxErrors = maxErrors;
+    }
+
+    /**
+     * Method called by parser when it finds a problem.
+     */
+    public void add(int row, long offset, String message)
+    {
+        ++_count;
+        if (_errors.size() < _maxErrors) {
+            _errors.add(new RecordError(row, offset, message));
+        }
+    }
+
+    /**
+     * @return Details of problems found, up to maximum number to keep
+     */
+    public List<RecordError> getErrors() {
+        return Collections.unmodifiableList(_errors);
+    }
+
+    /**
+     * @return Total number of problems found, including ones details of which were
+     *   not kept
+     */
+    public int getErrorCount() { return _count; }
+
+    public boolean hasErrors() { return _count > 0; }
+
+    public int getMaxErrors() { return _maxErrors; }
+
+    public void clear() {
+        _errors.clear();
+        _count = 0;
+    }
+}
@@ -2,13 +2,19 @@ package com.fasterxml.jackson.dataformat.csv;
 
 import java.io.*;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.format.InputAccessor;
 import com.fasterxml.jackson.core.format.MatchStrength;
 import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.util.BufferRecycler;
 import com.fasterxml.jackson.dataformat.csv.impl.CsvIOContext;
 import com.fasterxml.jackson.dataformat.csv.impl.CsvParserBootstrapper;
+import com.fasterxml.jackson.dataformat.csv.impl.LRUMap;
+import com.fasterxml.jackson.dataformat.csv.impl.MappedFileInputStream;
+import com.fasterxml.jackson.dataformat.csv.impl.ParallelGzipInputStream;
 import com.fasterxml.jackson.dataformat.csv.impl.UTF8Reader;
 import com.fasterxml.jackson.dataformat.csv.impl.UTF8Writer;
 
@@ -38,6 +44,14 @@ public class CsvFactory extends JsonFactory
     protected final static char[] DEFAULT_LF = { '\n' };
 
     protected final static CsvSchema DEFAULT_SCHEMA = CsvSchema.emptySchema();
+
+    /**
+     * Default maximum number of parsers (and, separately, generators) kept
+     * in the pool of reusable instances.
+     *
+     * @since 2.6
+     */
+    public final static int DEFAULT_MAX_POOLED_INSTANCES = 16;
     
     /*
     /**********************************************************************
@@ -51,6 +65,50 @@ public class CsvFactory extends JsonFactory
 
     protected int _csvGeneratorFeatures = DEFAULT_CSV_GENERATOR_FEATURE_FLAGS;
 
+    /**
+     * Maximum number of parsers (and, separately, generators) kept in the pool
+     * of reusable instances.
+     *
+     * @since 2.6
+     */
+    protected int _maxPooledInstances = DEFAULT_MAX_POOLED_INSTANCES;
+
+    /*
+    /**********************************************************************
+    /* Pooled instances
+    /**********************************************************************
+     */
+
+    /**
+     * Parsers released using {@link #releaseParser}, ready to be reused.
+     *
+     * @since 2.6
+     */
+    protected final transient ArrayList<CsvParser> _parserPool = new ArrayList<CsvParser>();
+
+    /**
+     * Generators released using {@link #releaseGenerator}, ready to be reused.
+     *
+     * @since 2.6
+     */
+    protected final transient ArrayList<CsvGenerator> _generatorPool = new ArrayList<CsvGenerator>();
+
+    /*
+    /**********************************************************************
+    /* Shared state
+    /**********************************************************************
+     */
+
+    /**
+     * Schemas constructed by parsers of this factory from header lines, for reuse
+     * when content with the same header line is read using base schema with the
+     * same settings. Since schemas are immutable, they can be shared by all parsers.
+     *
+     * @since 2.6
+     */
+    protected final transient LRUMap<CsvParser.HeaderKey,CsvSchema> _headerSchemas
+        = new LRUMap<CsvParser.HeaderKey,CsvSchema>(8, 64);
+
     /*
     protected char _cfgColumnSeparator = ',';
 
@@ -88,6 +146,7 @@ public class CsvFactory extends JsonFactory
         _csvParserFeatures = src._csvParserFeatures;
         _csvGeneratorFeatures = src._csvGeneratorFeatures;
         _schema = src._schema;
+        _maxPooledInstances = src._maxPooledInstances;
     }
     
     @Override
@@ -265,7 +324,9 @@ public class CsvFactory extends JsonFactory
     @Override
     public CsvParser createParser(File f) throws IOException {
         IOContext ctxt =  _createContext(f, true);
-        return _createParser(_decorate(new FileInputStream(f), ctxt), ctxt);
+        InputStream in = isEnabled(CsvParser.Feature.USE_MEMORY_MAPPING)
+                ? new MappedFileInputStream(f) : new FileInputStream(f);
+        return _createParser(_decorate(in, ctxt), ctxt);
     }
 
     @Override
@@ -311,6 +372,59 @@ public class CsvFactory extends JsonFactory
         return (CsvParser) super.createParser(data, offset, len);
     }
 
+    /**
+     * Method for constructing a non-blocking parser for UTF-8 encoded content:
+     * instead of reading content from a source, content is fed to parser using
+     * {@link CsvParser#feedInput}, and end of content indicated by calling
+     * {@link CsvParser#endOfInput}. Parser returns {@link JsonToken#NOT_AVAILABLE}
+     * if the next record is not yet completely available.
+     *
+     * @since 2.6
+     */
+    public CsvParser createNonBlockingByteArrayParser() throws IOException {
+        IOContext ctxt = _createContext(null, false);
+        return _initParser(new CsvParser((CsvIOContext) ctxt, _parserFeatures, _csvParserFeatures,
+                _objectCodec));
+    }
+
+    /**
+     * Method for constructing a parser for gzip-compressed content. Content is
+     * decompressed by a separate read-ahead thread, overlapping decompression
+     * with parsing; and if content consists of members that declare their compressed
+     * size (like BGZF, "blocked gzip", does), members are decompressed in parallel
+     * using given executor. Content that is not gzip-compressed is read as is.
+     *<p>
+     * Underlying stream is closed when parser is closed only if
+     * {@link JsonParser.Feature#AUTO_CLOSE_SOURCE} is enabled, but parser
+     * should always be closed to stop read-ahead thread.
+     *
+     * @param in Stream to read compressed content from
+     * @param executor Executor to use for decompressing members in parallel;
+     *   if null, read-ahead thread decompresses all content
+     *
+     * @since 2.6
+     */
+    public CsvParser createGzipParser(InputStream in, ExecutorService executor) throws IOException {
+        // parser has to always close decompressing stream, but not necessarily the source
+        IOContext ctxt =  _createContext(in, true);
+        in = new ParallelGzipInputStream(_decorate(in, ctxt), executor,
+                isEnabled(JsonParser.Feature.AUTO_CLOSE_SOURCE));
+        return _createParser(in, ctxt);
+    }
+
+    /**
+     * Method for constructing a parser for gzip-compressed file; see
+     * {@link #createGzipParser(InputStream, ExecutorService)} for details.
+     *
+     * @since 2.6
+     */
+    public CsvParser createGzipParser(File f, ExecutorService executor) throws IOException {
+        IOContext ctxt =  _createContext(f, true);
+        InputStream in = new ParallelGzipInputStream(_decorate(new FileInputStream(f), ctxt),
+                executor, true);
+        return _createParser(in, ctxt);
+    }
+
     /*
     /**********************************************************
     /* Overridden generator factory methods, 2.1+
@@ -350,6 +464,199 @@ public class CsvFactory extends JsonFactory
                 _createWriter(_decorate(out, ctxt), enc, ctxt));
     }
 
+    /*
+    /**********************************************************
+    /* Pooled parsers, generators
+    /**********************************************************
+     */
+
+    /**
+     * Method for changing maximum number of parsers (and, separately, generators)
+     * kept in the pool of reusable instances; 0 disables pooling. Does not
+     * affect instances already pooled.
+     *
+     * @since 2.6
+     */
+    public CsvFactory setMaxPooledInstances(int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("Invalid maximum ("+max+"): can not be negative");
+        }
+        _maxPooledInstances = max;
+        return this;
+    }
+
+    /**
+     * @since 2.6
+     */
+    public int getMaxPooledInstances() {
+        return _maxPooledInstances;
+    }
+
+    /**
+     * Method for getting a parser for reading given UTF-8 encoded content:
+     * a pooled one (see {@link #releaseParser}) reset to read the content
+     * if one is available, otherwise a new one. Either way, parser has the default
+     * (empty) schema, so caller needs to set schema to use. Reusing parsers avoids
+     * per-document allocation of buffers and decoder (and of settings derived from
+     * the schema, if the same schema instance is set again), which is useful when
+     * reading large numbers of small documents.
+     *<p>
+     * Note that unlike with {@link #createParser(InputStream)}, encoding is not
+     * auto-detected; and stream is never closed by parser, unless
+     * {@link JsonParser.Feature#AUTO_CLOSE_SOURCE} is enabled.
+     *
+     * @since 2.6
+     */
+    public CsvParser acquireParser(InputStream in) throws IOException {
+        return _acquireParser().reset(in);
+    }
+
+    /**
+     * @since 2.6
+     */
+    public CsvParser acquireParser(Reader r) throws IOException {
+        return _acquireParser().reset(r);
+    }
+
+    /**
+     * @since 2.6
+     */
+    public CsvParser acquireParser(byte[] data) throws IOException {
+        return _acquireParser().reset(data);
+    }
+
+    /**
+     * Method for returning a parser to the pool of reusable instances, once
+     * caller is done with it; parser is closed if not yet closed. Parsers
+     * are only pooled if they were acquired from this factory (using
+     * {@link #acquireParser}) and not yet released, there is room in the pool,
+     * and they still have the same configuration as this factory (other than
+     * schema, which is replaced with the default schema when parser is acquired);
+     * others are just closed.
+     * Parser may not be used by the caller after the call.
+     *
+     * @since 2.6
+     */
+    public void releaseParser(CsvParser p) throws IOException
+    {
+        p.close();
+        synchronized (_parserPool) {
+            // only pool instances we created (with their own buffer recycler), and only once
+            if (p._acquiredFrom != this) {
+                return;
+            }
+            p._acquiredFrom = null;
+            if ((p.getFeatureMask() != _parserFeatures)
+                    || (p._formatFeatures != _csvParserFeatures)) {
+                return;
+            }
+            p.setErrorCollector(null);
+            if (_parserPool.size() < _maxPooledInstances) {
+                _parserPool.add(p);
+            }
+        }
+    }
+
+    /**
+     * Method for getting a generator for writing UTF-8 encoded content to given
+     * stream: a pooled one (see {@link #releaseGenerator}) reset to write to the
+     * stream if one is available, otherwise a new one.
+     *<p>
+     * Note that stream is never closed by generator, unless
+     * {@link JsonGenerator.Feature#AUTO_CLOSE_TARGET} is enabled.
+     *
+     * @since 2.6
+     */
+    public CsvGenerator acquireGenerator(OutputStream out) throws IOException {
+        return _acquireGenerator().reset(out);
+    }
+
+    /**
+     * @since 2.6
+     */
+    public CsvGenerator acquireGenerator(Writer w) throws IOException {
+        return _acquireGenerator().reset(w);
+    }
+
+    /**
+     * Method for returning a generator to the pool of reusable instances, once
+     * caller is done with it; generator is closed if not yet closed (which
+     * flushes any buffered content). Generators are only pooled if they were
+     * acquired from this factory (using {@link #acquireGenerator}) and not yet
+     * released, there is room in the pool, and they still have the same
+     * configuration as this factory (other than schema, which is replaced with
+     * the default schema of this factory when generator is acquired); others
+     * are just closed.
+     * Generator may not be used by the caller after the call.
+     *
+     * @since 2.6
+     */
+    public void releaseGenerator(CsvGenerator g) throws IOException
+    {
+        g.close();
+        synchronized (_generatorPool) {
+            if (g._acquiredFrom != this) {
+                return;
+            }
+            g._acquiredFrom = null;
+            if ((g.getFeatureMask() != _generatorFeatures)
+                    || (g._csvFeatures != _csvGeneratorFeatures)) {
+                return;
+            }
+            if (_generatorPool.size() < _maxPooledInstances) {
+                _generatorPool.add(g);
+            }
+        }
+    }
+
+    protected CsvParser _acquireParser()
+    {
+        CsvParser p = null;
+        synchronized (_parserPool) {
+            int size = _parserPool.size();
+            if (size > 0) {
+                p = _parserPool.remove(size-1);
+                p._acquiredFrom = this;
+            }
+        }
+        if (p != null) {
+            p.setCodec(_objectCodec);
+            p._resetToDefaultSchema();
+            return p;
+        }
+        // pooled instances may be used from different threads, so can not use shared recycler
+        CsvIOContext ctxt = new CsvIOContext(new BufferRecycler(), null, false);
+        ctxt.setEncoding(JsonEncoding.UTF8);
+        p = _initParser(new CsvParser(ctxt, _parserFeatures, _csvParserFeatures, _objectCodec,
+                null, null, 0, 0, 0, false));
+        p._acquiredFrom = this;
+        return p;
+    }
+
+    protected CsvGenerator _acquireGenerator()
+    {
+        CsvGenerator g = null;
+        synchronized (_generatorPool) {
+            int size = _generatorPool.size();
+            if (size > 0) {
+                g = _generatorPool.remove(size-1);
+                g._acquiredFrom = this;
+            }
+        }
+        if (g != null) {
+            g.setCodec(_objectCodec);
+            g.setSchema(_schema);
+            return g;
+        }
+        CsvIOContext ctxt = new CsvIOContext(new BufferRecycler(), null, false);
+        ctxt.setEncoding(JsonEncoding.UTF8);
+        // (placeholder output will be replaced on reset)
+        g = new CsvGenerator(ctxt, _generatorFeatures, _csvGeneratorFeatures,
+                _objectCodec, new StringWriter(), _schema);
+        g._acquiredFrom = this;
+        return g;
+    }
+
     // // // The rest are not (and should not need to) be overridden, defaults
     // // // should properly delegate to _createXxx methods (which must be overridden)
     
@@ -367,14 +674,14 @@ public class CsvFactory extends JsonFactory
      */
     @Override
     protected CsvParser _createParser(InputStream in, IOContext ctxt) throws IOException {
-        return new CsvParserBootstrapper(ctxt, _objectCodec, in)
-            .constructParser(_parserFeatures, _csvParserFeatures);
+        return _initParser(new CsvParserBootstrapper(ctxt, _objectCodec, in)
+            .constructParser(_parserFeatures, _csvParserFeatures));
     }
 
     @Override
     protected CsvParser _createParser(byte[] data, int offset, int len, IOContext ctxt) throws IOException {
-        return new CsvParserBootstrapper(ctxt, _objectCodec, data, offset, len)
-               .constructParser(_parserFeatures, _csvParserFeatures);
+        return _initParser(new CsvParserBootstrapper(ctxt, _objectCodec, data, offset, len)
+               .constructParser(_parserFeatures, _csvParserFeatures));
     }
 
     /**
@@ -382,15 +689,26 @@ public class CsvFactory extends JsonFactory
      */
     @Override
     protected CsvParser _createParser(Reader r, IOContext ctxt) throws IOException {
-        return new CsvParser((CsvIOContext) ctxt, _parserFeatures, _csvParserFeatures,
-                _objectCodec, r);
+        return _initParser(new CsvParser((CsvIOContext) ctxt, _parserFeatures, _csvParserFeatures,
+                _objectCodec, r));
     }
 
     @Override
     protected CsvParser _createParser(char[] data, int offset, int len, IOContext ctxt,
             boolean recyclable) throws IOException {
-        return new CsvParser((CsvIOContext) ctxt, _parserFeatures, _csvParserFeatures,
-                _objectCodec, new CharArrayReader(data, offset, len));
+        return _initParser(new CsvParser((CsvIOContext) ctxt, _parserFeatures, _csvParserFeatures,
+                _objectCodec, new CharArrayReader(data, offset, len)));
+    }
+
+    /**
+     * Helper method for passing state shared by parsers of this factory
+     * to a newly constructed parser.
+     *
+     * @since 2.6
+     */
+    protected CsvParser _initParser(CsvParser p) {
+        p._headerSchemas = _headerSchemas;
+        return p;
     }
 
     @Override
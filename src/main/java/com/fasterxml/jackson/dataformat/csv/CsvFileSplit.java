@@ -0,0 +1,223 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.*;
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.impl.FileChunker;
+import com.fasterxml.jackson.dataformat.csv.impl.FileRangeInputStream;
+
+/**
+ * Iterator over values read from a byte range of a CSV file, which may be split into
+ * two independently readable ranges (at a record boundary) before iteration starts.
+ * This allows dividing work for parallel processing recursively, similar to
+ * how <code>java.util.Spliterator</code> is used; and an instance may
+ * be easily adapted as one.
+ *<p>
+ * Instances are constructed using {@link CsvObjectReader#splitValues(File)}.
+ * Note that instances are not thread-safe: each split should only be used
+ * by one thread at a time.
+ *
+ * @since 2.6
+ */
+public class CsvFileSplit<T>
+    implements Iterator<T>, Closeable
+{
+    /**
+     * Minimum length of a range that will be split (in bytes)
+     */
+    public final static long MIN_SPLIT_LENGTH = 8000;
+
+    protected final File _file;
+
+    protected final FileChunker _chunker;
+
+    /**
+     * Reader to use for range that does not start at the beginning of file
+     */
+    protected final ObjectReader _chunkReader;
+
+    /**
+     * Offset of the first data row (one after header, if any)
+     */
+    protected final long _dataStart;
+
+    protected final boolean _splittable;
+
+    /**
+     * Estimated average length of a record, in bytes
+     */
+    protected final double _recordLength;
+
+    protected ObjectReader _reader;
+
+    protected long _start;
+
+    protected long _end;
+
+    /**
+     * Iterator used for reading values, once iteration has started
+     */
+    protected MappingIterator<T> _iterator;
+
+    protected CsvFileSplit(File f, FileChunker chunker, ObjectReader reader,
+            ObjectReader chunkReader, long dataStart, boolean splittable)
+        throws IOException
+    {
+        _file = f;
+        _chunker = chunker;
+        _reader = reader;
+        _chunkReader = chunkReader;
+        _dataStart = dataStart;
+        _splittable = splittable;
+        _recordLength = chunker.estimateRecordLength();
+        _start = 0L;
+        _end = chunker.getLength();
+    }
+
+    protected CsvFileSplit(CsvFileSplit<T> src, long start, long end)
+    {
+        _file = src._file;
+        _chunker = src._chunker;
+        _reader = src._reader;
+        _chunkReader = src._chunkReader;
+        _dataStart = src._dataStart;
+        _splittable = src._splittable;
+        _recordLength = src._recordLength;
+        _start = start;
+        _end = end;
+    }
+
+    /*
+    /**********************************************************************
+    /* Splitting
+    /**********************************************************************
+     */
+
+    /**
+     * Method for trying to split this range into two: if successful, first half
+     * is returned as a new instance and this instance will cover the second half.
+     * Split is only possible before iteration has been started.
+     *
+     * @return Split covering first part of the range; or null if range could not be split
+     */
+    public CsvFileSplit<T> trySplit() throws IOException
+    {
+        if (!_splittable || (_iterator != null)) {
+            return null;
+        }
+        long from = Math.max(_start, _dataStart);
+        if ((_end - from) < MIN_SPLIT_LENGTH) {
+            return null;
+        }
+        long mid = from + (_end - from) / 2;
+        long boundary = _chunker.findRecordEnd(mid, _chunker.hasOddQuoteCount(from, mid));
+        if (boundary >= _end) {
+            return null;
+        }
+        CsvFileSplit<T> first = new CsvFileSplit<T>(this, _start, boundary);
+        _start = boundary;
+        _reader = _chunkReader;
+        return first;
+    }
+
+    /**
+     * Method for getting an estimate of number of values remaining, based on
+     * length of remaining part of the range (after current read position, once
+     * iteration has started) and average record length of first records of file.
+     */
+    public long estimateSize()
+    {
+        long pos = _start;
+        if (_iterator != null) {
+            if (!_iterator.hasNext()) {
+                return 0L;
+            }
+            JsonLocation loc = _iterator.getParser().getCurrentLocation();
+            long offset = loc.getByteOffset();
+            // byte offset is only known for UTF-8; otherwise chars will do as approximation
+            if (offset < 0L) {
+                offset = loc.getCharOffset();
+            }
+            if (offset > 0L) {
+                pos = Math.min(_end, _start + offset);
+            }
+            // at least the value we know is there
+            return Math.max(1L, (long) Math.ceil((_end - pos) / _recordLength));
+        }
+        return (long) Math.ceil((_end - pos) / _recordLength);
+    }
+
+    public long getStart() { return _start; }
+
+    public long getEnd() { return _end; }
+
+    /*
+    /**********************************************************************
+    /* Iteration
+    /**********************************************************************
+     */
+
+    public boolean hasNextValue() throws IOException {
+        return _iterator().hasNextValue();
+    }
+
+    public T nextValue() throws IOException {
+        return _iterator().nextValue();
+    }
+
+    /**
+     * Convenience method for reading all remaining values of this range.
+     */
+    public List<T> readAll() throws IOException
+    {
+        List<T> result = new ArrayList<T>();
+        while (hasNextValue()) {
+            result.add(nextValue());
+        }
+        return result;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        try {
+            return hasNextValue();
+        } catch (IOException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public T next()
+    {
+        try {
+            return nextValue();
+        } catch (IOException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if (_iterator != null) {
+            _iterator.close();
+        }
+    }
+
+    protected MappingIterator<T> _iterator() throws IOException
+    {
+        if (_iterator == null) {
+            _iterator = _reader.readValues(new FileRangeInputStream(_file, _start, _end));
+        }
+        return _iterator;
+    }
+}
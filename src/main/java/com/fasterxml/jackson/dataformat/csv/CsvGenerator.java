@@ -7,9 +7,11 @@ import java.util.Arrays;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.GeneratorBase;
+import com.fasterxml.jackson.core.json.DupDetector;
 import com.fasterxml.jackson.core.json.JsonWriteContext;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.dataformat.csv.impl.CsvEncoder;
+import com.fasterxml.jackson.dataformat.csv.impl.UTF8Writer;
 
 public class CsvGenerator extends GeneratorBase
 {
@@ -122,6 +124,15 @@ public class CsvGenerator extends GeneratorBase
     // note: can not be final since we may need to re-create it for new schema
     protected CsvEncoder _writer;
 
+    /**
+     * Factory that handed out this generator from its pool of reusable instances
+     * (see {@link CsvFactory#acquireGenerator}), and to which it has not yet been
+     * released; null for other generators, which are never pooled.
+     *
+     * @since 2.6
+     */
+    CsvFactory _acquiredFrom;
+
     /*
     /**********************************************************
     /* Output state
@@ -366,6 +377,65 @@ public class CsvGenerator extends GeneratorBase
         _writer.close(_ioContext.isResourceManaged() || isEnabled(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
     }
 
+    /**
+     * Method for reusing this generator for writing another document to given
+     * {@link Writer}: generator is first closed (if not yet closed), and then
+     * all output state is reset; but buffers, configuration and schema are
+     * retained, which is considerably cheaper than constructing a new generator
+     * for small documents. Header line is written again, if schema uses one.
+     *
+     * @since 2.6
+     */
+    public CsvGenerator reset(Writer out) throws IOException
+    {
+        _resetState();
+        Object target = _writer.getOutputTarget();
+        if (target instanceof UTF8Writer) { // no longer needed
+            ((UTF8Writer) target).releaseBuffers();
+        }
+        _writer.reset(out);
+        return this;
+    }
+
+    /**
+     * Method for reusing this generator for writing another document to given
+     * stream, using UTF-8 encoding; see {@link #reset(Writer)} for details.
+     *
+     * @since 2.6
+     */
+    public CsvGenerator reset(OutputStream out) throws IOException
+    {
+        _resetState();
+        Object target = _writer.getOutputTarget();
+        UTF8Writer w;
+        if (target instanceof UTF8Writer) {
+            w = (UTF8Writer) target;
+            w.reset(out);
+        } else {
+            w = new UTF8Writer(_ioContext, out);
+        }
+        _writer.reset(w);
+        return this;
+    }
+
+    private void _resetState() throws IOException
+    {
+        if (!_closed) {
+            close();
+        }
+        _closed = false;
+        DupDetector dups = JsonGenerator.Feature.STRICT_DUPLICATE_DETECTION.enabledIn(_features)
+                ? DupDetector.rootDetector(this) : null;
+        _writeContext = JsonWriteContext.createRootContext(dups);
+        _handleFirstLine = true;
+        _nextColumnByName = -1;
+        _skipValue = false;
+        _arraySeparator = -1;
+        if (_arrayContents != null) {
+            _arrayContents.setLength(0);
+        }
+    }
+
     /*
     /**********************************************************
     /* Public API: structural output
@@ -1,6 +1,8 @@
 package com.fasterxml.jackson.dataformat.csv;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import com.fasterxml.jackson.core.FormatSchema;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -45,6 +47,9 @@ public class CsvMapper extends ObjectMapper
         super(f);
         // As per #11: default to alphabetic ordering
         enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY);
+        // and allow binding by column index, if enabled (see CsvParser.Feature.BIND_BY_COLUMN_INDEX)
+        _deserializationContext = _deserializationContext.with(_deserializationContext.getFactory()
+                .withDeserializerModifier(new CsvRowBinder.Modifier()));
         _untypedSchemas = new LRUMap<JavaType,CsvSchema>(8,32);
         _typedSchemas = new LRUMap<JavaType,CsvSchema>(8,32);
     }
@@ -288,6 +293,24 @@ public class CsvMapper extends ObjectMapper
         return CsvSchema.emptySchema().withHeader();
     }
 
+    /**
+     * Convenience method that returns a {@link CsvSchema} that, like one returned
+     * by {@link #schemaWithHeader()}, reads column names from the first content
+     * line; but that only includes columns that match properties of given POJO type
+     * (see {@link CsvSchema#withProjection(java.util.Collection)}).
+     * Values of other columns are skipped without decoding them.
+     *
+     * @since 2.6
+     */
+    public CsvSchema schemaWithHeaderFor(Class<?> pojoType)
+    {
+        List<String> names = new ArrayList<String>();
+        for (CsvSchema.Column column : schemaFor(pojoType)) {
+            names.add(column.getName());
+        }
+        return schemaWithHeader().withProjection(names);
+    }
+
     /**
      * Convenience method that is same as
      *<pre>
@@ -394,7 +417,15 @@ public class CsvMapper extends ObjectMapper
                 name = unwrapper.transform(name);
             }
             if (typed && m != null) {
-                builder.addColumn(name, _determineType(m.getRawType()));
+                CsvSchema.ColumnType type = _determineType(m.getRawType());
+                builder.addColumn(name, type);
+                if (type == CsvSchema.ColumnType.ARRAY) {
+                    JavaType elemType = m.getType(beanDesc.bindingsForBeanType()).getContentType();
+                    if (elemType != null) {
+                        builder.setArrayElementType(builder.size() - 1,
+                                _determineElementType(elemType.getRawClass()));
+                    }
+                }
             } else {
                 builder.addColumn(name);
             }
@@ -437,4 +468,20 @@ public class CsvMapper extends ObjectMapper
         // but in general we will just do what we can:
         return CsvSchema.ColumnType.NUMBER_OR_STRING;
     }
+
+    /**
+     * Helper method for determining type of elements of an
+     * {@link CsvSchema.ColumnType#ARRAY} column, given element type of property.
+     *
+     * @since 2.6
+     */
+    protected CsvSchema.ColumnType _determineElementType(Class<?> elemType)
+    {
+        CsvSchema.ColumnType type = _determineType(elemType);
+        // no nested arrays; and untyped elements are best left as Strings
+        if (type == CsvSchema.ColumnType.ARRAY || type == CsvSchema.ColumnType.NUMBER_OR_STRING) {
+            return CsvSchema.ColumnType.STRING;
+        }
+        return type;
+    }
 }
@@ -1,8 +1,19 @@
 package com.fasterxml.jackson.dataformat.csv;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.*;
+import java.util.concurrent.*;
+
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.deser.DataFormatReaders;
+import com.fasterxml.jackson.dataformat.csv.impl.FileChunker;
+import com.fasterxml.jackson.dataformat.csv.impl.FileRangeInputStream;
+import com.fasterxml.jackson.dataformat.csv.impl.TaskGroup;
 
 /**
  * @since 2.5
@@ -12,6 +23,21 @@ public class CsvObjectReader
 {
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Interface for objects that are given values read by
+     * {@link CsvObjectReader#readValuesInParallel(File, int, ExecutorService, ValueHandler)}.
+     *
+     * @since 2.6
+     */
+    public interface ValueHandler<T>
+    {
+        /**
+         * Method called for each value read; note that it is called
+         * concurrently from multiple threads.
+         */
+        public void handleValue(T value) throws IOException;
+    }
+
     public CsvObjectReader(ObjectMapper mapper, DeserializationConfig config) {
         super(mapper, config);
     }
@@ -57,6 +83,391 @@ public class CsvObjectReader
                  schema,  injectableValues, dataFormatReaders);
     }
 
+    /*
+    /**********************************************************************
+    /* Filtering
+    /**********************************************************************
+     */
+
+    /**
+     * Convenience method for constructing a reader that only reads records
+     * that match given filter; equivalent to calling <code>with()</code> with
+     * a schema constructed using {@link CsvSchema#withRowFilter}.
+     *
+     * @since 2.6
+     */
+    public CsvObjectReader withRowFilter(CsvRowFilter filter) {
+        return (CsvObjectReader) with(_csvSchema().withRowFilter(filter));
+    }
+
+    /*
+    /**********************************************************************
+    /* Lenient reading
+    /**********************************************************************
+     */
+
+    /**
+     * Method for reading values from given content using lenient parsing:
+     * problems in records are added to given collector instead of being
+     * reported as exceptions, and parsing continues with the next record
+     * (see {@link CsvParser#setErrorCollector}).
+     *
+     * @since 2.6
+     */
+    public <T> MappingIterator<T> readValues(InputStream src, CsvErrorCollector errors)
+        throws IOException
+    {
+        CsvParser p = _openRows((CsvParser) _parserFactory.createParser(src), _csvSchema());
+        p.setErrorCollector(errors);
+        return readValues(p);
+    }
+
+    /*
+    /**********************************************************************
+    /* Publishing values
+    /**********************************************************************
+     */
+
+    /**
+     * Method for constructing a publisher that reads values from given content
+     * as they are requested by its subscriber.
+     *
+     * @since 2.6
+     */
+    public <T> CsvRowPublisher<T> publisher(InputStream src) {
+        return new CsvRowPublisher<T>(this, src);
+    }
+
+    /**
+     * Method for constructing a publisher that reads values from given channel
+     * as they are requested by its subscriber.
+     *
+     * @since 2.6
+     */
+    public <T> CsvRowPublisher<T> publisher(ReadableByteChannel src) {
+        return publisher(Channels.newInputStream(src));
+    }
+
+    /*
+    /**********************************************************************
+    /* Parallel reading
+    /**********************************************************************
+     */
+
+    /**
+     * Method for reading all values of given file, by splitting it into
+     * <code>chunkCount</code> chunks (at record boundaries) and reading chunks
+     * in parallel using given executor. Values are returned in the same order as
+     * they are in the file.
+     *<p>
+     * Note that parallel reading is only possible for UTF-8 (or other
+     * ASCII-compatible) encoded content where quote characters are only used for
+     * quoting whole values; if schema defines an escape character or allows
+     * comments, file is read sequentially, as a single chunk.
+     *<p>
+     * If reading of a chunk fails, reading of other chunks is cancelled, and
+     * exception is thrown once none of them is being read any more.
+     *
+     * @since 2.6
+     */
+    public <T> List<T> readValuesInParallel(final File src, int chunkCount, ExecutorService executor)
+        throws IOException
+    {
+        TaskGroup<List<T>> chunks = new TaskGroup<List<T>>(executor);
+        for (final FileChunk chunk : _findChunks(src, chunkCount, executor)) {
+            chunks.submit(new Callable<List<T>>() {
+                @Override
+                public List<T> call() throws IOException {
+                    MappingIterator<T> it = chunk.readValues(src);
+                    try {
+                        return it.readAll();
+                    } finally {
+                        it.close();
+                    }
+                }
+            });
+        }
+        List<T> result = new ArrayList<T>();
+        for (int i = 0, end = chunks.size(); i < end; ++i) {
+            result.addAll(chunks.getResult(i));
+        }
+        return result;
+    }
+
+    /**
+     * Method for reading all values of given file, by splitting it into
+     * <code>chunkCount</code> chunks (at record boundaries) and reading chunks
+     * in parallel using given executor. Values are passed to given handler
+     * in no particular order, as soon as they are read; method returns
+     * when all values have been handled. If reading (or handling) of a value
+     * fails, reading of other chunks is cancelled, and exception is thrown
+     * once handler is no longer being called.
+     *<p>
+     * Same restrictions apply as with {@link #readValuesInParallel(File, int, ExecutorService)}.
+     *
+     * @since 2.6
+     */
+    public <T> void readValuesInParallel(final File src, int chunkCount, ExecutorService executor,
+            final ValueHandler<? super T> handler)
+        throws IOException
+    {
+        TaskGroup<Void> chunks = new TaskGroup<Void>(executor);
+        for (final FileChunk chunk : _findChunks(src, chunkCount, executor)) {
+            chunks.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws IOException {
+                    MappingIterator<T> it = chunk.readValues(src);
+                    try {
+                        // stop early if cancelled due to failure of another chunk
+                        while (!Thread.currentThread().isInterrupted() && it.hasNextValue()) {
+                            handler.handleValue(it.nextValue());
+                        }
+                    } finally {
+                        it.close();
+                    }
+                    return null;
+                }
+            });
+        }
+        for (int i = 0, end = chunks.size(); i < end; ++i) {
+            chunks.getResult(i);
+        }
+    }
+
+    /**
+     * Method for constructing a {@link CsvFileSplit} for reading values of given
+     * file, which may be split into independently readable parts (at record
+     * boundaries) for parallel processing.
+     *<p>
+     * Same restrictions apply as with {@link #readValuesInParallel(File, int, ExecutorService)}:
+     * if content can not be split, {@link CsvFileSplit#trySplit()} will
+     * always return null.
+     *
+     * @since 2.6
+     */
+    public <T> CsvFileSplit<T> splitValues(File src) throws IOException
+    {
+        CsvSchema schema = _csvSchema();
+        FileChunker chunker = new FileChunker(src, schema.getQuoteChar());
+        long dataStart = _dataStart(chunker, schema);
+        return new CsvFileSplit<T>(src, chunker, with(schema),
+                with(_chunkSchema(src, schema, dataStart)), dataStart, _canSplit(schema));
+    }
+
+    /*
+    /**********************************************************************
+    /* Row index support
+    /**********************************************************************
+     */
+
+    /**
+     * Method for building an index of byte offsets of rows of given file
+     * (with offset stored for every <code>interval</code>th row), using
+     * schema this reader has been configured with.
+     * File is expected to be UTF-8 encoded.
+     *
+     * @since 2.6
+     */
+    public CsvRowIndex buildRowIndex(File src, int interval) throws IOException
+    {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Invalid interval ("+interval+"): must be positive");
+        }
+        final long fileLength = src.length();
+        CsvParser p = _openRows((CsvParser) _parserFactory.createParser(src), _csvSchema());
+        long[] offsets = new long[16];
+        int count = 0;
+        long rows = 0L;
+        try {
+            while (p.nextToken() != null) {
+                if ((rows % interval) == 0L) {
+                    if (count == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, count + (count >> 1));
+                    }
+                    offsets[count++] = _rowOffset(p);
+                }
+                ++rows;
+                p.skipChildren();
+            }
+        } finally {
+            p.close();
+        }
+        return new CsvRowIndex(interval, rows, fileLength, Arrays.copyOf(offsets, count));
+    }
+
+    /**
+     * Method for reading values of rows <code>fromRow</code> (inclusive) to
+     * <code>toRow</code> (exclusive) of given file, using given index for locating
+     * rows without parsing the file from the beginning.
+     * Rows are numbered starting from 0 for the first data row
+     * (one following header line, if any).
+     *
+     * @since 2.6
+     */
+    public <T> MappingIterator<T> readValues(File src, CsvRowIndex index, long fromRow, long toRow)
+        throws IOException
+    {
+        if (fromRow < 0L || toRow < fromRow) {
+            throw new IllegalArgumentException("Invalid row range ["+fromRow+", "+toRow+")");
+        }
+        if (src.length() != index.getFileLength()) {
+            throw new IllegalArgumentException("Index does not match file '"+src+"': index is for file of "
+                    +index.getFileLength()+" bytes, file has "+src.length());
+        }
+        CsvSchema schema = _chunkSchema(src, _csvSchema(), index.offsetBefore(0L));
+        long start = _findRowOffset(src, schema, index, fromRow);
+        long end = _findRowOffset(src, schema, index, toRow);
+        return with(schema).readValues(new FileRangeInputStream(src, start, end));
+    }
+
+    /**
+     * Helper method for finding byte offset of given row: either directly from
+     * index, or by skipping rows from the closest preceding indexed row.
+     */
+    protected long _findRowOffset(File src, CsvSchema schema, CsvRowIndex index, long row)
+        throws IOException
+    {
+        final long offset = index.offsetBefore(row);
+        int skipped = (row >= index.getRowCount()) ? 0 : (int) (row % index.getInterval());
+        if (skipped == 0) {
+            return offset;
+        }
+        final long end = index.getFileLength();
+        CsvParser p = _openRows((CsvParser) _parserFactory.createParser(
+                new FileRangeInputStream(src, offset, end)), schema);
+        try {
+            for (int i = 0; i < skipped; ++i) {
+                if (p.nextToken() == null) {
+                    return end;
+                }
+                p.skipChildren();
+            }
+            return (p.nextToken() == null) ? end : (offset + _rowOffset(p));
+        } finally {
+            p.close();
+        }
+    }
+
+    /**
+     * Helper method for configuring given parser so that each row is exposed
+     * as a root-level value.
+     */
+    protected CsvParser _openRows(CsvParser p, CsvSchema schema)
+    {
+        p.setSchema(schema);
+        p.disable(CsvParser.Feature.WRAP_AS_ARRAY);
+        return p;
+    }
+
+    /**
+     * Helper method for getting byte offset of the row parser points to.
+     */
+    protected long _rowOffset(CsvParser p) throws IOException
+    {
+        long offset = p.getTokenLocation().getByteOffset();
+        if (offset < 0L) {
+            throw new IOException("Byte offsets of rows not available: content not UTF-8 encoded?");
+        }
+        return offset;
+    }
+
+    /**
+     * Helper method that will split given file into chunks, each with
+     * reader configured with schema to use for reading it.
+     */
+    protected List<FileChunk> _findChunks(File src, int chunkCount, ExecutorService executor)
+        throws IOException
+    {
+        CsvSchema schema = _csvSchema();
+        FileChunker chunker = new FileChunker(src, schema.getQuoteChar());
+        if (!_canSplit(schema)) {
+            chunkCount = 1;
+        }
+        long dataStart = _dataStart(chunker, schema);
+        long[] boundaries = chunker.findBoundaries(chunkCount, dataStart, executor);
+        CsvSchema chunkSchema = _chunkSchema(src, schema, dataStart);
+
+        List<FileChunk> chunks = new ArrayList<FileChunk>(chunkCount);
+        for (int i = 0; i < chunkCount; ++i) {
+            long start = boundaries[i];
+            long end = boundaries[i+1];
+            if (i > 0 && start == end) {
+                continue;
+            }
+            chunks.add(new FileChunk(with((i == 0) ? schema : chunkSchema), start, end));
+        }
+        return chunks;
+    }
+
+    protected CsvSchema _csvSchema() {
+        return (_schema instanceof CsvSchema) ? (CsvSchema) _schema : CsvSchema.emptySchema();
+    }
+
+    /**
+     * Helper method for checking whether content using given schema can be split at
+     * record boundaries without parsing it.
+     */
+    protected static boolean _canSplit(CsvSchema schema) {
+        return !schema.usesEscapeChar() && !schema.allowsComments() && (schema.getQuoteChar() < 0x80);
+    }
+
+    /**
+     * Helper method for finding offset of the first data row that is not skipped:
+     * only the first chunk may start before it, since it needs to contain the
+     * header line (and first data row, if skipped).
+     */
+    protected long _dataStart(FileChunker chunker, CsvSchema schema) throws IOException
+    {
+        long dataStart = 0L;
+        int skipped = (schema.usesHeader() ? 1 : 0) + (schema.skipsFirstDataRow() ? 1 : 0);
+        for (int i = 0; i < skipped; ++i) {
+            dataStart = chunker.findRecordEnd(dataStart, false);
+        }
+        return dataStart;
+    }
+
+    /**
+     * Helper method for constructing schema to use for chunks other than the first one:
+     * these need to use columns from header, but not read it themselves
+     */
+    protected CsvSchema _chunkSchema(File src, CsvSchema schema, long dataStart) throws IOException
+    {
+        CsvSchema chunkSchema = schema;
+        if (schema.usesHeader() && schema.size() == 0) {
+            JsonParser p = _parserFactory.createParser(new FileRangeInputStream(src, 0L, dataStart));
+            try {
+                p.setSchema(schema);
+                p.nextToken();
+                chunkSchema = (CsvSchema) p.getSchema();
+            } finally {
+                p.close();
+            }
+        }
+        return chunkSchema.withUseHeader(false).withSkipFirstDataRow(false);
+    }
+
+    /**
+     * Simple container for a byte range of a file, along with reader
+     * to use for reading values it contains.
+     *
+     * @since 2.6
+     */
+    protected static class FileChunk
+    {
+        public final ObjectReader reader;
+        public final long start, end;
+
+        public FileChunk(ObjectReader reader, long start, long end) {
+            this.reader = reader;
+            this.start = start;
+            this.end = end;
+        }
+
+        public <T> MappingIterator<T> readValues(File src) throws IOException {
+            return reader.readValues(new FileRangeInputStream(src, start, end));
+        }
+    }
+
     /*
     @Override
     protected <T> MappingIterator<T> _newIterator(JavaType valueType,
@@ -3,15 +3,22 @@ package com.fasterxml.jackson.dataformat.csv;
 import java.io.*;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.ParserMinimalBase;
 import com.fasterxml.jackson.core.json.DupDetector;
 import com.fasterxml.jackson.core.json.JsonReadContext;
 import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.dataformat.csv.impl.CanonicalStringCache;
 import com.fasterxml.jackson.dataformat.csv.impl.CsvDecoder;
 import com.fasterxml.jackson.dataformat.csv.impl.CsvIOContext;
+import com.fasterxml.jackson.dataformat.csv.impl.LRUMap;
+import com.fasterxml.jackson.dataformat.csv.impl.NonBlockingUTF8CsvDecoder;
 import com.fasterxml.jackson.dataformat.csv.impl.TextBuffer;
+import com.fasterxml.jackson.dataformat.csv.impl.UTF8CsvDecoder;
 
 /**
  * {@link JsonParser} implementation used to expose CSV documents
@@ -53,7 +60,50 @@ public class CsvParser
          * Default value is false, meaning that by default a CSV document is exposed as
          * a sequence of root-level Object entries.
          */
-        WRAP_AS_ARRAY(false)
+        WRAP_AS_ARRAY(false),
+
+        /**
+         * Feature that determines whether parsers created for {@link java.io.File}s
+         * (see {@link CsvFactory#createParser(java.io.File)}) read contents by memory-mapping
+         * the file (see {@link com.fasterxml.jackson.dataformat.csv.impl.MappedFileInputStream})
+         * instead of reading it using a {@link java.io.FileInputStream}.
+         * This avoids system calls for reading content, and is usually faster for files
+         * that are in page cache; but note that mapped file regions are only released
+         * when garbage collected, which may prevent deletion of the file on some platforms.
+         *<p>
+         * Default value is false.
+         *
+         * @since 2.6
+         */
+        USE_MEMORY_MAPPING(false),
+
+        /**
+         * Feature that determines whether POJOs are bound from records by column index
+         * (see {@link CsvRowBinder}), instead of exposing column names as
+         * {@link JsonToken#FIELD_NAME}s for standard bean deserializer to match against
+         * property names. This avoids name lookups for each value, but is only used for
+         * POJOs with "simple" properties and schemas with column for every property;
+         * others are bound using standard deserializers.
+         *<p>
+         * Default value is false.
+         *
+         * @since 2.6
+         */
+        BIND_BY_COLUMN_INDEX(false),
+
+        /**
+         * Feature that determines whether tracking of input location of each value
+         * is skipped: if enabled, token location (see {@link JsonParser#getTokenLocation})
+         * is only updated at the start of each record, and linefeeds within quoted
+         * values are not counted, so that row numbers of locations (and error messages)
+         * are only approximate. This makes decoding of values slightly faster, and may
+         * make sense for bulk processing of trusted content where locations are not needed.
+         *<p>
+         * Default value is false, meaning that location of each value is tracked.
+         *
+         * @since 2.6
+         */
+        SKIP_LOCATION_TRACKING(false)
         ;
 
         final boolean _defaultState;
@@ -147,6 +197,15 @@ public class CsvParser
      */
     protected final static int STATE_DOC_END = 6;
 
+    /**
+     * State after end of a record when parsing non-blocking content: next
+     * record is only started once it is completely available, and until then
+     * {@link JsonToken#NOT_AVAILABLE} is returned.
+     *
+     * @since 2.6
+     */
+    protected final static int STATE_NEXT_RECORD = 7;
+
     /*
     /**********************************************************************
     /* Configuration
@@ -171,6 +230,57 @@ public class CsvParser
      */
     protected int _columnCount = 0;
 
+    /**
+     * If schema defines a projection, flags for columns that are to be skipped;
+     * null if all columns are included.
+     *
+     * @since 2.6
+     */
+    protected boolean[] _skippedColumns;
+
+    /**
+     * If schema defines a row filter, matchers for values of columns, up to the
+     * last column with conditions (null entries for columns without conditions);
+     * null if records are not filtered.
+     *
+     * @since 2.6
+     */
+    protected CsvRowFilter.ValueMatcher[] _rowMatchers;
+
+    /**
+     * Caches used for canonicalizing values of columns that have that enabled
+     * (see {@link CsvSchema.Column#withCanonicalValues}), indexed by column index;
+     * null if no column of the schema has it enabled.
+     *
+     * @since 2.6
+     */
+    protected CanonicalStringCache[] _valueCaches;
+
+    /**
+     * Schema that a pooled parser used before it was reset to the default schema
+     * when acquired again (see {@link #_resetToDefaultSchema}); retained along with
+     * settings derived from it, so that these need not be derived again if the same
+     * schema instance is set.
+     *
+     * @since 2.6
+     */
+    protected CsvSchema _retainedSchema;
+
+    /**
+     * @since 2.6
+     */
+    protected boolean[] _retainedSkippedColumns;
+
+    /**
+     * @since 2.6
+     */
+    protected CsvRowFilter.ValueMatcher[] _retainedRowMatchers;
+
+    /**
+     * @since 2.6
+     */
+    protected CanonicalStringCache[] _retainedValueCaches;
+
     /*
     /**********************************************************************
     /* State
@@ -191,7 +301,9 @@ public class CsvParser
     protected String _currentName;
 
     /**
-     * String value for the current column, if accessed.
+     * String value for the current column, if accessed. Contents of
+     * String values (including array elements) are kept in {@link #_textBuffer}
+     * and only converted into a String if and when needed.
      */
     protected String _currentValue;
 
@@ -215,27 +327,110 @@ public class CsvParser
     protected byte[] _binaryValue;
 
     /**
-     * Pointer to the first character of the next array value to return.
+     * Pointer to the first character of the next array value to return
+     * (within {@link #_arrayChars}); -1 after the last value has been returned.
      */
     protected int _arrayValueStart;
 
     /**
-     * Contents of the cell, to be split into distinct array values.
+     * Contents of the cell, to be split into distinct array values:
+     * either {@link #_arrayBuffer}, or (for values buffered for row filter)
+     * {@link #_bufferedChars}. Elements are exposed via {@link #_textBuffer}
+     * as segments of this array, without copying.
+     *
+     * @since 2.6
+     */
+    protected char[] _arrayChars;
+
+    /**
+     * Offset of the first character of the cell within {@link #_arrayChars}
+     *
+     * @since 2.6
+     */
+    protected int _arrayCellStart;
+
+    /**
+     * End offset (exclusive) of the cell within {@link #_arrayChars}
+     *
+     * @since 2.6
+     */
+    protected int _arrayCellEnd;
+
+    /**
+     * Buffer that cell contents are copied to, from {@link #_textBuffer}, since
+     * text buffer itself is used for exposing elements.
+     *
+     * @since 2.6
      */
-    protected String _arrayValue;
+    protected char[] _arrayBuffer;
 
     protected char _arraySeparator;
 
+    /**
+     * Type of array elements, as declared by the column.
+     *
+     * @since 2.6
+     */
+    protected CsvSchema.ColumnType _arrayElementType;
+
+    /**
+     * Whether array elements are to be trimmed: true if {@link Feature#TRIM_SPACES}
+     * is enabled, or if elements are typed.
+     *
+     * @since 2.6
+     */
+    protected boolean _arrayTrim;
+
+    /**
+     * Values of the current record that were decoded (and buffered) for
+     * evaluating row filter, or (with lenient parsing) for checking the whole
+     * record before exposing it: values are concatenated, and end offset of each
+     * value is stored in {@link #_bufferedEnds}.
+     *
+     * @since 2.6
+     */
+    protected char[] _bufferedChars;
+
+    /**
+     * @since 2.6
+     */
+    protected int[] _bufferedEnds;
+
+    /**
+     * Number of values of the current record that have been buffered.
+     *
+     * @since 2.6
+     */
+    protected int _bufferedCount;
+
+    /**
+     * Flag set if end of the current record was reached while buffering
+     * values.
+     *
+     * @since 2.6
+     */
+    protected boolean _bufferedRecordEnd;
+
     /*
     /**********************************************************************
     /* Helper objects
     /**********************************************************************
      */
 
+    /**
+     * I/O context of this parser; needed if decoder needs to be re-created
+     * when parser is {@link #reset} with different kind of input.
+     *
+     * @since 2.6
+     */
+    protected final CsvIOContext _ioContext;
+
     /**
      * Thing that actually reads the CSV content
+     *<p>
+     * Note: not final since 2.6, as it may need to be re-created by {@link #reset}.
      */
-    protected final CsvDecoder _reader;
+    protected CsvDecoder _reader;
 
     /**
      * Buffer that contains contents of all values after processing
@@ -245,6 +440,50 @@ public class CsvParser
 
     protected ByteArrayBuilder _byteArrayBuilder;
 
+    /**
+     * Flag that indicates whether content is fed using {@link #feedInput}
+     * (non-blocking parsing), instead of being read from a source.
+     *
+     * @since 2.6
+     */
+    protected final boolean _nonBlocking;
+
+    /**
+     * Collector of problems found in records, if lenient parsing is enabled
+     * (see {@link #setErrorCollector}); null if problems are reported as
+     * exceptions.
+     *
+     * @since 2.6
+     */
+    protected CsvErrorCollector _errorCollector;
+
+    /**
+     * Schema that was set before schema was replaced with one built from
+     * the header line, if any; needed for reading header line of the next
+     * document after {@link #reset}.
+     *
+     * @since 2.6
+     */
+    protected CsvSchema _headerBaseSchema;
+
+    /**
+     * Schemas constructed from header lines, shared by parsers of the factory
+     * that constructed this parser (see {@link CsvFactory#_headerSchemas});
+     * null if schemas are not to be cached.
+     *
+     * @since 2.6
+     */
+    protected LRUMap<HeaderKey,CsvSchema> _headerSchemas;
+
+    /**
+     * Factory that handed out this parser from its pool of reusable instances
+     * (see {@link CsvFactory#acquireParser}), and to which it has not yet been
+     * released; null for other parsers, which are never pooled.
+     *
+     * @since 2.6
+     */
+    CsvFactory _acquiredFrom;
+
     /*
     /**********************************************************************
     /* Life-cycle
@@ -255,6 +494,7 @@ public class CsvParser
             ObjectCodec codec, Reader reader)
     {
         super(parserFeatures);    
+        _ioContext = ctxt;
         _objectCodec = codec;
         _textBuffer =  ctxt.csvTextBuffer();
         DupDetector dups = JsonParser.Feature.STRICT_DUPLICATE_DETECTION.enabledIn(parserFeatures)
@@ -264,6 +504,58 @@ public class CsvParser
         _reader = new CsvDecoder(this, ctxt, reader, _schema, _textBuffer,
                 isEnabled(JsonParser.Feature.AUTO_CLOSE_SOURCE),
                 isEnabled(Feature.TRIM_SPACES));
+        _nonBlocking = false;
+    }
+
+    /**
+     * Constructor used for UTF-8 encoded byte content, which will be decoded
+     * directly from bytes, without using a {@link Reader}.
+     *
+     * @param contentStart Offset of the beginning of content in <code>inputBuffer</code>:
+     *   byte offsets of locations are relative to it
+     * @param start Offset of the first byte to decode (after possible byte order mark)
+     *
+     * @since 2.6
+     */
+    public CsvParser(CsvIOContext ctxt, int parserFeatures, int csvFeatures,
+            ObjectCodec codec, InputStream in, byte[] inputBuffer, int contentStart,
+            int start, int end, boolean bufferRecyclable)
+    {
+        super(parserFeatures);    
+        _ioContext = ctxt;
+        _objectCodec = codec;
+        _textBuffer =  ctxt.csvTextBuffer();
+        DupDetector dups = JsonParser.Feature.STRICT_DUPLICATE_DETECTION.enabledIn(parserFeatures)
+                ? DupDetector.rootDetector(this) : null;
+        _formatFeatures = csvFeatures;
+        _parsingContext = JsonReadContext.createRootContext(dups);
+        _reader = new UTF8CsvDecoder(this, ctxt, in, inputBuffer, contentStart, start, end, bufferRecyclable,
+                _schema, _textBuffer,
+                isEnabled(JsonParser.Feature.AUTO_CLOSE_SOURCE),
+                isEnabled(Feature.TRIM_SPACES));
+        _nonBlocking = false;
+    }
+
+    /**
+     * Constructor used for non-blocking parsing of UTF-8 encoded content, which
+     * is fed using {@link #feedInput} instead of being read from a source.
+     *
+     * @since 2.6
+     */
+    public CsvParser(CsvIOContext ctxt, int parserFeatures, int csvFeatures,
+            ObjectCodec codec)
+    {
+        super(parserFeatures);    
+        _ioContext = ctxt;
+        _objectCodec = codec;
+        _textBuffer =  ctxt.csvTextBuffer();
+        DupDetector dups = JsonParser.Feature.STRICT_DUPLICATE_DETECTION.enabledIn(parserFeatures)
+                ? DupDetector.rootDetector(this) : null;
+        _formatFeatures = csvFeatures;
+        _parsingContext = JsonReadContext.createRootContext(dups);
+        _reader = new NonBlockingUTF8CsvDecoder(this, ctxt, _schema, _textBuffer,
+                isEnabled(Feature.TRIM_SPACES));
+        _nonBlocking = true;
     }
 
     /*
@@ -302,21 +594,82 @@ public class CsvParser
     public void setSchema(FormatSchema schema)
     {
         if (schema instanceof CsvSchema) {
+            // same schema (like one retained over reset()): settings still valid
+            if (schema == _schema) {
+                return;
+            }
             _schema = (CsvSchema) schema;
         } else if (schema == null) {
             schema = EMPTY_SCHEMA;
         } else {
             super.setSchema(schema);
         }
+        _headerBaseSchema = null;
         _columnCount = _schema.size();            
+        if (_schema == _retainedSchema) { // derived settings still valid
+            _skippedColumns = _retainedSkippedColumns;
+            _rowMatchers = _retainedRowMatchers;
+            _valueCaches = _retainedValueCaches;
+            _reader.setSchema(_schema);
+            return;
+        }
+        _skippedColumns = null;
+        if (_schema.hasProjection()) {
+            _skippedColumns = new boolean[_columnCount];
+            for (int i = 0; i < _columnCount; ++i) {
+                _skippedColumns[i] = !_schema.includesColumn(_schema.columnName(i));
+            }
+        }
+        _valueCaches = null;
+        for (int i = 0; i < _columnCount; ++i) {
+            if (_schema.column(i).hasCanonicalValues()) {
+                if (_valueCaches == null) {
+                    _valueCaches = new CanonicalStringCache[_columnCount];
+                }
+                _valueCaches[i] = new CanonicalStringCache();
+            }
+        }
+        _rowMatchers = null;
+        CsvRowFilter filter = _schema.getRowFilter();
+        if (filter != null && _columnCount > 0) {
+            _rowMatchers = filter.matchersFor(_schema);
+        }
         _reader.setSchema(_schema);
     }
 
+    /**
+     * Method called by {@link CsvFactory} when handing out a pooled parser, to reset
+     * it to the default schema (as used by new parsers), so that settings of the
+     * previous user (like projection or row filter) are not used by accident.
+     * Previous schema (other than one built from header line) is retained along
+     * with settings derived from it, for reuse if it is set again.
+     *
+     * @since 2.6
+     */
+    protected void _resetToDefaultSchema()
+    {
+        if (_headerBaseSchema != null) {
+            setSchema(_headerBaseSchema);
+        }
+        if (_schema != EMPTY_SCHEMA) {
+            _retainedSchema = _schema;
+            _retainedSkippedColumns = _skippedColumns;
+            _retainedRowMatchers = _rowMatchers;
+            _retainedValueCaches = _valueCaches;
+            setSchema(EMPTY_SCHEMA);
+        }
+    }
+
     @Override
     public int releaseBuffered(Writer out) throws IOException {
         return _reader.releaseBuffered(out);
     }
 
+    @Override
+    public int releaseBuffered(OutputStream out) throws IOException {
+        return _reader.releaseBuffered(out);
+    }
+
     @Override
     public boolean isClosed() { return _reader.isClosed(); }
 
@@ -380,7 +733,191 @@ public class CsvParser
     public CsvSchema getSchema() {
         return _schema;
     }
-    
+
+    /*
+    /**********************************************************
+    /* Public API, non-blocking input
+    /**********************************************************
+     */
+
+    /**
+     * Method for checking whether this parser is a non-blocking parser
+     * (constructed using {@link CsvFactory#createNonBlockingByteArrayParser}),
+     * to which content is fed using {@link #feedInput}.
+     *
+     * @since 2.6
+     */
+    public boolean isNonBlocking() {
+        return _nonBlocking;
+    }
+
+    /**
+     * Method for feeding more UTF-8 encoded content to a non-blocking parser.
+     * Records are only exposed once they are completely available; until then,
+     * {@link #nextToken} returns {@link JsonToken#NOT_AVAILABLE}.
+     *
+     * @since 2.6
+     */
+    public void feedInput(byte[] buf, int start, int end) throws IOException {
+        _nonBlockingDecoder().feedInput(buf, start, end);
+    }
+
+    /**
+     * Method for indicating to a non-blocking parser that no more content
+     * will be fed.
+     *
+     * @since 2.6
+     */
+    public void endOfInput() {
+        _nonBlockingDecoder().endOfInput();
+    }
+
+    private NonBlockingUTF8CsvDecoder _nonBlockingDecoder() {
+        if (!_nonBlocking) {
+            throw new IllegalStateException("Can not feed input to a blocking parser");
+        }
+        return (NonBlockingUTF8CsvDecoder) _reader;
+    }
+
+    /*
+    /**********************************************************
+    /* Public API, lenient parsing
+    /**********************************************************
+     */
+
+    /**
+     * Method for enabling lenient parsing, in which problems found in records
+     * (like too many values, or invalid quoting) are added to given collector
+     * instead of being reported as exceptions: such a record is skipped
+     * without exposing any tokens for it, and parsing continues with the next record.
+     * To find problems before exposing a record, all of its values are decoded
+     * (and buffered) first, similar to how values are buffered for evaluating
+     * row filter of the schema (see {@link CsvSchema#withRowFilter}).
+     * Collector should be set before reading the first record (or between records);
+     * problems found in a record that was already started are reported as exceptions.
+     * Passing null disables lenient parsing.
+     *
+     * @since 2.6
+     */
+    public CsvParser setErrorCollector(CsvErrorCollector errors) {
+        _errorCollector = errors;
+        return this;
+    }
+
+    /**
+     * @since 2.6
+     */
+    public CsvErrorCollector getErrorCollector() {
+        return _errorCollector;
+    }
+
+    /*
+    /**********************************************************
+    /* Public API, reuse
+    /**********************************************************
+     */
+
+    /**
+     * Method for reusing this parser for reading another document from given
+     * {@link Reader}: all parsing state is reset, but buffers, configuration
+     * and schema (along with settings derived from it) are retained, which is
+     * considerably cheaper than constructing a new parser for small documents.
+     * If schema uses header line, header of the new document is read as usual.
+     *<p>
+     * Previous input source is closed as if parser had been closed (that is, if
+     * parser owns it or {@link JsonParser.Feature#AUTO_CLOSE_SOURCE} is enabled).
+     * Non-blocking parsers can not be reset.
+     *
+     * @since 2.6
+     */
+    public CsvParser reset(Reader r) throws IOException
+    {
+        _resetState();
+        if (_reader instanceof UTF8CsvDecoder) { // different kind of input, need new decoder
+            _reader.close();
+            _reader = new CsvDecoder(this, _ioContext, r, _schema, _textBuffer,
+                    isEnabled(JsonParser.Feature.AUTO_CLOSE_SOURCE),
+                    isEnabled(Feature.TRIM_SPACES));
+        } else {
+            _reader.reset(r);
+        }
+        return this;
+    }
+
+    /**
+     * Method for reusing this parser for reading another document from given
+     * stream; see {@link #reset(Reader)} for details. Note that unlike with
+     * {@link CsvFactory#createParser(InputStream)}, encoding is not auto-detected:
+     * content must be UTF-8 encoded.
+     *
+     * @since 2.6
+     */
+    public CsvParser reset(InputStream in) throws IOException
+    {
+        _resetState();
+        _utf8Decoder().reset(in);
+        return this;
+    }
+
+    /**
+     * Method for reusing this parser for reading another document contained in
+     * given buffer; see {@link #reset(Reader)} for details. Content must be UTF-8
+     * encoded.
+     *
+     * @since 2.6
+     */
+    public CsvParser reset(byte[] data) throws IOException {
+        return reset(data, 0, data.length);
+    }
+
+    /**
+     * @since 2.6
+     */
+    public CsvParser reset(byte[] data, int offset, int len) throws IOException
+    {
+        _resetState();
+        _utf8Decoder().reset(data, offset, len);
+        return this;
+    }
+
+    private void _resetState() throws IOException
+    {
+        if (_nonBlocking) {
+            throw new IllegalStateException("Can not reset a non-blocking parser");
+        }
+        if (_headerBaseSchema != null) {
+            setSchema(_headerBaseSchema);
+        }
+        _currToken = null;
+        _lastClearedToken = null;
+        DupDetector dups = JsonParser.Feature.STRICT_DUPLICATE_DETECTION.enabledIn(_features)
+                ? DupDetector.rootDetector(this) : null;
+        _parsingContext = JsonReadContext.createRootContext(dups);
+        _state = STATE_DOC_START;
+        _currentName = null;
+        _currentValue = null;
+        _columnIndex = 0;
+        _binaryValue = null;
+        _arrayChars = null;
+        _bufferedCount = 0;
+        _bufferedRecordEnd = false;
+    }
+
+    private UTF8CsvDecoder _utf8Decoder() throws IOException
+    {
+        if (_reader instanceof UTF8CsvDecoder) {
+            return (UTF8CsvDecoder) _reader;
+        }
+        // different kind of input, need new decoder
+        _reader.close();
+        UTF8CsvDecoder dec = new UTF8CsvDecoder(this, _ioContext, null, null, 0, 0, 0, false,
+                _schema, _textBuffer,
+                isEnabled(JsonParser.Feature.AUTO_CLOSE_SOURCE),
+                isEnabled(Feature.TRIM_SPACES));
+        _reader = dec;
+        return dec;
+    }
+
     /*
     /**********************************************************
     /* Location info
@@ -463,30 +1000,29 @@ public class CsvParser
     public JsonToken nextToken() throws IOException
     {
         _binaryValue = null;
-        switch (_state) {
-        case STATE_DOC_START:
-            return (_currToken = _handleStartDoc());
-        case STATE_RECORD_START:
-            return (_currToken = _handleRecordStart());
-        case STATE_NEXT_ENTRY:
-            return (_currToken = _handleNextEntry());
-        case STATE_NAMED_VALUE:
-            return (_currToken = _handleNamedValue());
-        case STATE_UNNAMED_VALUE:
-            return (_currToken = _handleUnnamedValue());
-        case STATE_IN_ARRAY:
-            return (_currToken = _handleArrayValue());
-        case STATE_DOC_END:
-            _reader.close();
-            if (_parsingContext.inRoot()) {
-                return null;
+        try {
+            switch (_state) {
+            case STATE_DOC_START:
+                return (_currToken = _handleStartDoc());
+            case STATE_RECORD_START:
+                return (_currToken = _handleRecordStart());
+            case STATE_NEXT_ENTRY:
+                return (_currToken = _handleNextEntry());
+            case STATE_NAMED_VALUE:
+                return (_currToken = _handleNamedValue());
+            case STATE_UNNAMED_VALUE:
+                return (_currToken = _handleUnnamedValue());
+            case STATE_IN_ARRAY:
+                return (_currToken = _handleArrayValue());
+            case STATE_DOC_END:
+                return _handleDocEnd();
+            case STATE_NEXT_RECORD:
+                return (_currToken = _handleNextRecord());
+            default:
+                throw new IllegalStateException();
             }
-            // should always be in array, actually... but:
-            boolean inArray = _parsingContext.inArray();
-            _parsingContext = _parsingContext.getParent();
-            return inArray ? JsonToken.END_ARRAY : JsonToken.END_OBJECT;
-        default:
-            throw new IllegalStateException();
+        } catch (SkippedRecordException e) {
+            return (_currToken = _handleSkippedRecord());
         }
     }
 
@@ -501,15 +1037,74 @@ public class CsvParser
         // Optimize for expected case of getting FIELD_NAME:
         if (_state == STATE_NEXT_ENTRY) {
             _binaryValue = null;
-            JsonToken t = _handleNextEntry();
+            JsonToken t;
+            try {
+                t = _handleNextEntry();
+            } catch (SkippedRecordException e) {
+                t = _handleSkippedRecord();
+            }
             _currToken = t;
             if (t == JsonToken.FIELD_NAME) {
-                return str.getValue().equals(_currentName);
+                return _nameMatches(str);
             }
             return false;
         }
         // unlikely, but verify just in case
-        return (nextToken() == JsonToken.FIELD_NAME) && str.getValue().equals(getCurrentName());
+        return (nextToken() == JsonToken.FIELD_NAME) && _nameMatches(str);
+    }
+
+    /**
+     * Method used by {@link CsvRowBinder} and {@link CsvColumnBatchReader} for moving
+     * to the next column of the current record, without exposing {@link JsonToken#FIELD_NAME}
+     * to caller.
+     *
+     * @return Index of the column; or -1 if end of record was reached (in which case
+     *   current token is {@link JsonToken#END_OBJECT})
+     *
+     * @since 2.6
+     */
+    protected int _nextColumn() throws IOException
+    {
+        _binaryValue = null;
+        JsonToken t;
+        try {
+            t = _handleNextEntry();
+        } catch (SkippedRecordException e) {
+            t = _handleSkippedRecord();
+        }
+        _currToken = t;
+        return (t == JsonToken.FIELD_NAME) ? _columnIndex : -1;
+    }
+
+    /**
+     * Method used by {@link CsvRowBinder} and {@link CsvColumnBatchReader} for reading
+     * value of the column that {@link #_nextColumn()} moved to.
+     *
+     * @since 2.6
+     */
+    protected JsonToken _nextColumnValue() throws IOException
+    {
+        _binaryValue = null;
+        try {
+            return (_currToken = _handleNamedValue());
+        } catch (SkippedRecordException e) {
+            return (_currToken = _handleSkippedRecord());
+        }
+    }
+
+    /**
+     * Helper method for checking whether name of the current column matches
+     * given name: since column names are interned, and pre-encoded instances
+     * shared, this can usually be determined by identity comparison.
+     */
+    private final boolean _nameMatches(SerializableString str)
+    {
+        if ((_columnIndex < _columnCount)
+                && (str == _schema.column(_columnIndex).getSerializedName())) {
+            return true;
+        }
+        String name = str.getValue();
+        return (name == _currentName) || name.equals(_currentName);
     }
 
     @Override
@@ -518,7 +1113,12 @@ public class CsvParser
         // Optimize for expected case of getting FIELD_NAME:
         if (_state == STATE_NEXT_ENTRY) {
             _binaryValue = null;
-            JsonToken t = _handleNextEntry();
+            JsonToken t;
+            try {
+                t = _handleNextEntry();
+            } catch (SkippedRecordException e) {
+                t = _handleSkippedRecord();
+            }
             _currToken = t;
             if (t == JsonToken.FIELD_NAME) {
                 return _currentName;
@@ -534,18 +1134,16 @@ public class CsvParser
     {
         _binaryValue = null;
         JsonToken t;
-        if (_state == STATE_NAMED_VALUE) {
-            _currToken = t = _handleNamedValue();
-            if (t == JsonToken.VALUE_STRING) {
-                return _currentValue;
-            }
-        } else if (_state == STATE_UNNAMED_VALUE) {
-            _currToken = t = _handleUnnamedValue();
-            if (t == JsonToken.VALUE_STRING) {
-                return _currentValue;
+        try {
+            if (_state == STATE_NAMED_VALUE) {
+                _currToken = t = _handleNamedValue();
+            } else if (_state == STATE_UNNAMED_VALUE) {
+                _currToken = t = _handleUnnamedValue();
+            } else {
+                t = nextToken();
             }
-        } else {
-            t = nextToken();
+        } catch (SkippedRecordException e) {
+            _currToken = t = _handleSkippedRecord();
         }
         return (t == JsonToken.VALUE_STRING) ? getText() : null;
     }
@@ -562,6 +1160,19 @@ public class CsvParser
      */
     protected JsonToken _handleStartDoc() throws IOException
     {
+        // with non-blocking content, need header line(s) and the first record first
+        if (_nonBlocking) {
+            int count = 1;
+            if (_schema.usesHeader()) {
+                ++count;
+            }
+            if (_schema.skipsFirstDataRow()) {
+                ++count;
+            }
+            if (!_reader.hasCompleteRecords(count)) {
+                return JsonToken.NOT_AVAILABLE;
+            }
+        }
         // also, if comments enabled, may need to skip leading ones
         _reader.skipLeadingComments();
         // First things first: are we expecting header line? If so, read, process
@@ -595,12 +1206,24 @@ public class CsvParser
             return JsonToken.START_ARRAY;
         }
         // otherwise, same as regular new entry...
+        _state = STATE_RECORD_START;
         return _handleRecordStart();
     }
 
     protected JsonToken _handleRecordStart() throws IOException
     {
         _columnIndex = 0;
+        _bufferedCount = 0;
+        _bufferedRecordEnd = false;
+        if (_rowMatchers == null && _errorCollector == null) {
+            _reader.markRecordStart();
+        } else if (!_findMatchingRecord()) {
+            if (_state == STATE_NEXT_RECORD) { // need more non-blocking content
+                return JsonToken.NOT_AVAILABLE;
+            }
+            _state = STATE_DOC_END;
+            return _handleDocEnd();
+        }
         if (_columnCount == 0) { // no schema; exposed as an array
             _state = STATE_UNNAMED_VALUE;
             _parsingContext = _reader.childArrayContext(_parsingContext);
@@ -612,25 +1235,152 @@ public class CsvParser
         return JsonToken.START_OBJECT;
     }
 
-    protected JsonToken _handleNextEntry() throws IOException
+    /**
+     * Helper method called at the start of a record when schema has a row filter,
+     * or lenient parsing is enabled: values of the record are decoded up to the last
+     * column with conditions (or, with lenient parsing, all values), and buffered;
+     * records that do not match are skipped, without decoding their remaining values.
+     *
+     * @return True if a matching record was found; false if end of input was reached
+     *   (or, for non-blocking parsing, if next record is not yet available, in which
+     *   case state is set to {@link #STATE_NEXT_RECORD})
+     */
+    protected boolean _findMatchingRecord() throws IOException
     {
-        // NOTE: only called when we do have real Schema
+        final CsvRowFilter.ValueMatcher[] matchers = _rowMatchers;
+        final int matcherCount = (matchers == null) ? 0 : matchers.length;
+        // with lenient parsing, problems must be found before exposing anything
+        final boolean bufferAll = (_errorCollector != null);
+        final int columnCount = _columnCount;
+        final boolean[] skipped = _skippedColumns;
+        final boolean trimSpaces = isEnabled(Feature.TRIM_SPACES);
+        if (_bufferedChars == null) {
+            _bufferedChars = new char[200];
+            _bufferedEnds = new int[Math.max(matcherCount, Math.max(columnCount, 8))];
+        }
+
+        while (true) {
+            _reader.markRecordStart();
+            boolean matches = true;
+            boolean recordEnd = false;
+            int ix = 0;
+            for (; bufferAll || ix < matcherCount; ++ix) {
+                if (ix == columnCount && columnCount > 0) { // only with lenient parsing
+                    _skipEmptyExtraValue();
+                    recordEnd = true;
+                    break;
+                }
+                final CsvRowFilter.ValueMatcher matcher = (ix < matcherCount) ? matchers[ix] : null;
+                if (matcher == null && skipped != null && skipped[ix]) {
+                    if (!_reader.skipValue()) {
+                        recordEnd = true;
+                        break;
+                    }
+                    _bufferValue(ix, null, 0, 0);
+                    continue;
+                }
+                // decode value as it would be for the column type
+                boolean trim = trimSpaces;
+                if (columnCount > 0) {
+                    CsvSchema.ColumnType type = _schema.column(ix).getType();
+                    trim |= (type != CsvSchema.ColumnType.STRING && type != CsvSchema.ColumnType.ARRAY);
+                }
+                if (!_reader.decodeValue(trim)) {
+                    recordEnd = true;
+                    break;
+                }
+                final char[] buf = _textBuffer.getTextBuffer();
+                final int offset = _textBuffer.getTextOffset();
+                final int len = _textBuffer.size();
+                if (matcher != null && !matcher.matches(buf, offset, len)) {
+                    matches = false;
+                    break;
+                }
+                _bufferValue(ix, buf, offset, len);
+            }
+            _bufferedCount = ix;
+            if (matches) {
+                if (!recordEnd) {
+                    return true;
+                }
+                // short record: missing values are considered empty
+                _bufferedRecordEnd = true;
+                for (; ix < matcherCount; ++ix) {
+                    if (matchers[ix] != null && !matchers[ix].matches(_bufferedChars, 0, 0)) {
+                        matches = false;
+                        break;
+                    }
+                }
+                if (matches) {
+                    return true;
+                }
+            } else {
+                while (_reader.skipValue()) { }
+            }
+            _bufferedCount = 0;
+            _bufferedRecordEnd = false;
+            if (!_reader.hasCompleteRecords(1)) {
+                _state = STATE_NEXT_RECORD;
+                return false;
+            }
+            if (!_reader.startNewLine()) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Helper method called (with lenient parsing) after buffering values of all columns
+     * of a record, to verify that the record has no more values: as with regular
+     * decoding, a single all-whitespace value is allowed.
+     */
+    private final void _skipEmptyExtraValue() throws IOException
+    {
+        if (!_reader.hasMoreValues()) {
+            return;
+        }
         String next = _reader.nextString();
+        if (next != null && next.trim().length() == 0) {
+            next = _reader.nextString();
+        }
+        if (next != null) {
+            _reportRecordError("Too many entries: expected at most "+_columnCount+" (value #"+_columnCount+" ("+next.length()+" chars) \""+next+"\")");
+        }
+    }
 
-        if (next == null) { // end of record or input...
+    private final void _bufferValue(int index, char[] buf, int offset, int len)
+    {
+        if (index >= _bufferedEnds.length) {
+            _bufferedEnds = Arrays.copyOf(_bufferedEnds, Math.max(index+1, _bufferedEnds.length * 2));
+        }
+        int start = (index == 0) ? 0 : _bufferedEnds[index-1];
+        int end = start + len;
+        if (end > _bufferedChars.length) {
+            _bufferedChars = Arrays.copyOf(_bufferedChars, Math.max(end, _bufferedChars.length * 2));
+        }
+        if (len > 0) {
+            System.arraycopy(buf, offset, _bufferedChars, start, len);
+        }
+        _bufferedEnds[index] = end;
+    }
+
+    protected JsonToken _handleNextEntry() throws IOException
+    {
+        // NOTE: only called when we do have real Schema
+        // 
+        // Also note that value itself is only decoded when requested, since
+        // its type depends on the column type; and values of columns not included
+        // in projection are not decoded at all
+        if (!_skipExcludedColumns() || !_hasMoreValues()) { // end of record or input...
             _parsingContext = _parsingContext.getParent();
             // let's handle EOF or linefeed
-            if (!_reader.startNewLine()) {
-                _state = STATE_DOC_END;
-            } else {
-                // no, just end of record
-                _state = STATE_RECORD_START;
-            }
+            _handleRecordEnd();
             return JsonToken.END_OBJECT;
         }
         _state = STATE_NAMED_VALUE;
-        _currentValue = next;
         if (_columnIndex >= _columnCount) {
+            String next = _reader.nextString();
+            _currentValue = next;
             _currentName = null;
             /* 14-Mar-2012, tatu: As per [Issue-1], let's allow one specific
              *  case of extra: if we get just one all-whitespace entry, that
@@ -645,55 +1395,127 @@ public class CsvParser
                     return _handleNextEntryExpectEOL();
                 }
             }
-            _reportError("Too many entries: expected at most "+_columnCount+" (value #"+_columnCount+" ("+next.length()+" chars) \""+next+"\")");
+            _reportRecordError("Too many entries: expected at most "+_columnCount+" (value #"+_columnCount+" ("+next.length()+" chars) \""+next+"\")");
         }
         _currentName = _schema.columnName(_columnIndex);
         return JsonToken.FIELD_NAME;
     }
 
+    /**
+     * Helper method called to skip values of columns (starting with current one)
+     * that are not included in projection of the schema, if any.
+     *
+     * @return True if there may be more values in the current record; false
+     *   if end of record was reached
+     */
+    protected boolean _skipExcludedColumns() throws IOException
+    {
+        final boolean[] skipped = _skippedColumns;
+        if (skipped != null) {
+            while (_columnIndex < _columnCount && skipped[_columnIndex]) {
+                if (_columnIndex >= _bufferedCount) {
+                    if (_bufferedRecordEnd || !_reader.skipValue()) {
+                        return false;
+                    }
+                }
+                ++_columnIndex;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Helper method for checking whether current record has more values,
+     * either buffered (for evaluating row filter) or still to be decoded.
+     */
+    protected boolean _hasMoreValues() throws IOException
+    {
+        if (_columnIndex < _bufferedCount) {
+            return true;
+        }
+        return !_bufferedRecordEnd && _reader.hasMoreValues();
+    }
+
     protected JsonToken _handleNextEntryExpectEOL() throws IOException
     {
         String next = _reader.nextString();
 
         if (next != null) { // should end of record or input
-            _reportError("Too many entries: expected at most "+_columnCount+" (value #"+_columnCount+" ("+next.length()+" chars) \""+next+"\")");
+            _reportRecordError("Too many entries: expected at most "+_columnCount+" (value #"+_columnCount+" ("+next.length()+" chars) \""+next+"\")");
         }
         _parsingContext = _parsingContext.getParent();
-        if (!_reader.startNewLine()) {
-            _state = STATE_DOC_END;
-        } else {
-            _state = STATE_RECORD_START;
-        }
+        _handleRecordEnd();
         return JsonToken.END_OBJECT;
     }
     
     protected JsonToken _handleNamedValue() throws IOException
     {
         CsvSchema.Column column = _schema.column(_columnIndex);
+        _state = STATE_NEXT_ENTRY;
+        if (_columnIndex < _bufferedCount) {
+            return _handleBufferedValue(column, _columnIndex++);
+        }
         ++_columnIndex;
-        if (column.isArray()) {
+        JsonToken t;
+
+        switch (column.getType()) {
+        case NUMBER:
+            t = _reader.nextNumber();
+            break;
+        case NUMBER_OR_STRING:
+            t = _reader.nextNumberOrString();
+            break;
+        case STRING_OR_LITERAL:
+            t = _reader.nextStringOrLiteral();
+            break;
+        case BOOLEAN:
+            t = _reader.nextBoolean();
+            break;
+        case ARRAY:
+            _reader.nextStringToken();
+            _currentValue = null;
             _startArray(column);
             return JsonToken.START_ARRAY;
+        case STRING:
+        default:
+            t = _reader.nextStringToken();
+            break;
         }
-        _state = STATE_NEXT_ENTRY;
-        return JsonToken.VALUE_STRING;
+        // Contents (textual or numeric) only converted to String if and when needed
+        _currentValue = null;
+        return t;
+    }
+
+    /**
+     * Helper method called to expose value that was buffered when evaluating
+     * row filter.
+     */
+    protected JsonToken _handleBufferedValue(CsvSchema.Column column, int index) throws IOException
+    {
+        int start = (index == 0) ? 0 : _bufferedEnds[index-1];
+        int len = _bufferedEnds[index] - start;
+        if (column.getType() == CsvSchema.ColumnType.ARRAY) {
+            // buffered contents remain unchanged until the next record, so can split directly
+            _startArray(column, _bufferedChars, start, start+len);
+            return JsonToken.START_ARRAY;
+        }
+        _currentValue = null;
+        return _reader.bufferedValue(_bufferedChars, start, len, column.getType());
     }
 
     protected JsonToken _handleUnnamedValue() throws IOException
     {
-        String next = _reader.nextString();
-        if (next == null) { // end of record or input...
+        if (_columnIndex < _bufferedCount) { // buffered with lenient parsing
+            int start = (_columnIndex == 0) ? 0 : _bufferedEnds[_columnIndex-1];
+            _reader.bufferedValue(_bufferedChars, start, _bufferedEnds[_columnIndex] - start,
+                    CsvSchema.ColumnType.STRING);
+        } else if (_bufferedRecordEnd || _reader.nextStringToken() == null) { // end of record or input...
             _parsingContext = _parsingContext.getParent();
-            if (!_reader.startNewLine()) { // end of whole thing...
-                _state = STATE_DOC_END;
-            } else {
-                // no, just end of record
-                _state = STATE_RECORD_START;
-            }
+            _handleRecordEnd();
             return JsonToken.END_ARRAY;
         }
         // state remains the same
-        _currentValue = next;
+        _currentValue = null;
         ++_columnIndex;
         return JsonToken.VALUE_STRING;
     }
@@ -707,32 +1529,121 @@ public class CsvParser
             _state = STATE_NEXT_ENTRY;
              return JsonToken.END_ARRAY;
         }
-        int end = _arrayValue.indexOf(_arraySeparator, offset);
-
-        if (end < 0) { // last value
-            _arrayValueStart = end; // end marker, regardless
+        final char[] buf = _arrayChars;
+        final int cellEnd = _arrayCellEnd;
+        final char sep = _arraySeparator;
+        int end = offset;
+        while (end < cellEnd && buf[end] != sep) {
+            ++end;
+        }
+        if (end == cellEnd) { // last value
+            _arrayValueStart = -1; // end marker, regardless
 
             // 11-Feb-2015, tatu: Tricky, As per [dataformat-csv#66]; empty Strings really
             //     should not emit any values. Not sure if trim
-            if (offset == 0) { // no separator
+            if (offset == _arrayCellStart) { // no separator
                 // for now, let's use trimming for checking
-                if (_arrayValue.isEmpty() || _arrayValue.trim().isEmpty()) {
+                int ptr = offset;
+                while (ptr < end && buf[ptr] <= ' ') {
+                    ++ptr;
+                }
+                if (ptr == end) {
                     _parsingContext = _parsingContext.getParent();
                     _state = STATE_NEXT_ENTRY;
                     return JsonToken.END_ARRAY;
                 }
-                _currentValue = _arrayValue;
-            } else {
-                _currentValue = _arrayValue.substring(offset);
             }
         } else {
-            _currentValue = _arrayValue.substring(offset, end);
             _arrayValueStart = end+1;
         }
-        if (isEnabled(Feature.TRIM_SPACES)) {
-            _currentValue = _currentValue.trim();
+        if (_arrayTrim) { // same as String.trim()
+            while (offset < end && buf[offset] <= ' ') {
+                ++offset;
+            }
+            while (end > offset && buf[end-1] <= ' ') {
+                --end;
+            }
         }
-        return JsonToken.VALUE_STRING;
+        _currentValue = null;
+        return _reader.bufferedValue(buf, offset, end-offset, _arrayElementType);
+    }
+
+    /**
+     * Helper method called after end of a record, to see whether there are
+     * more records.
+     *
+     * @since 2.6
+     */
+    protected void _handleRecordEnd() throws IOException
+    {
+        if (_nonBlocking) { // can only tell once next record is available
+            _state = STATE_NEXT_RECORD;
+        } else if (_reader.startNewLine()) {
+            _state = STATE_RECORD_START;
+        } else {
+            _state = STATE_DOC_END;
+        }
+    }
+
+    /**
+     * Method called with non-blocking content after end of a record, to start
+     * the next record once it is completely available.
+     *
+     * @since 2.6
+     */
+    protected JsonToken _handleNextRecord() throws IOException
+    {
+        if (!_reader.hasCompleteRecords(1)) {
+            return JsonToken.NOT_AVAILABLE;
+        }
+        if (!_reader.startNewLine()) {
+            _state = STATE_DOC_END;
+            return _handleDocEnd();
+        }
+        _state = STATE_RECORD_START;
+        return _handleRecordStart();
+    }
+
+    /**
+     * Method called with lenient parsing, after a problem was found in a record
+     * (and added to error collector) while buffering its values, to skip the rest
+     * of the record and continue from the next one. Since problems are only collected
+     * before the record is exposed, nothing needs to be done for the skipped record itself.
+     *
+     * @since 2.6
+     */
+    protected JsonToken _handleSkippedRecord() throws IOException
+    {
+        while (true) {
+            _reader.skipRestOfRecord();
+            _bufferedCount = 0;
+            _bufferedRecordEnd = false;
+            _handleRecordEnd();
+            try {
+                switch (_state) {
+                case STATE_RECORD_START:
+                    return _handleRecordStart();
+                case STATE_NEXT_RECORD:
+                    return _handleNextRecord();
+                default:
+                    return _handleDocEnd();
+                }
+            } catch (SkippedRecordException e) {
+                // problem in that one as well; skip and try the one after
+            }
+        }
+    }
+
+    protected JsonToken _handleDocEnd() throws IOException
+    {
+        _reader.close();
+        if (_parsingContext.inRoot()) {
+            return null;
+        }
+        // should always be in array, actually... but:
+        boolean inArray = _parsingContext.inArray();
+        _parsingContext = _parsingContext.getParent();
+        return inArray ? JsonToken.END_ARRAY : JsonToken.END_OBJECT;
     }
 
     /**
@@ -751,33 +1662,51 @@ public class CsvParser
             return;
         }
         // case (b); read all
+        List<String> names = new ArrayList<String>();
         String name;
-        // base setting on existing schema, but drop columns
-        CsvSchema.Builder builder = _schema.rebuild().clearColumns();
-        
         while ((name = _reader.nextString()) != null) {
             // one more thing: always trim names, regardless of config settings
-            name = name.trim();
-            
-            // See if "old" schema defined type; if so, use that type...
-            CsvSchema.Column prev = _schema.column(name);
-            if (prev != null) {
-                builder.addColumn(name, prev.getType());
-            } else {
-                builder.addColumn(name);
-            }
+            names.add(name.trim());
         }
         // Ok: did we get any  columns?
-        CsvSchema newSchema = builder.build();
-        int size = newSchema.size();
+        int size = names.size();
         if (size < 2) { // 1 just because we may get 'empty' header name
-            String first = (size == 0) ? "" : newSchema.columnName(0).trim();
+            String first = (size == 0) ? "" : names.get(0);
             if (first.length() == 0) {
                 _reportError("Empty header line: can not bind data");
             }
         }
+        // Same header with same base schema? If so, can reuse schema
+        final LRUMap<HeaderKey,CsvSchema> schemas = _headerSchemas;
+        HeaderKey key = null;
+        CsvSchema newSchema = null;
+        if (schemas != null) {
+            key = new HeaderKey(_schema, names.toArray(new String[size]));
+            synchronized (schemas) {
+                newSchema = schemas.get(key);
+            }
+        }
+        if (newSchema == null) {
+            // base setting on existing schema, but drop columns
+            CsvSchema.Builder builder = _schema.rebuild().clearColumns();
+            for (String colName : names) {
+                builder.addColumn(colName);
+            }
+            newSchema = builder.build();
+            if (schemas != null) {
+                synchronized (schemas) {
+                    schemas.put(key, newSchema);
+                }
+            }
+        }
         // otherwise we will use what we got
-        setSchema(builder.build());
+        CsvSchema base = _schema;
+        try {
+            setSchema(newSchema);
+        } catch (IllegalArgumentException e) { // row filter not matching columns
+            _reportError(e.getMessage());
+        }
+        _headerBaseSchema = base;
     }
 
     /*
@@ -786,10 +1715,9 @@ public class CsvParser
     /**********************************************************
      */
 
-    // For now we do not store char[] representation...
     @Override
     public boolean hasTextCharacters() {
-        if (_currToken == JsonToken.FIELD_NAME) {
+        if (_currToken == JsonToken.FIELD_NAME || _isLiteral(_currToken)) {
             return false;
         }
         return _textBuffer.hasTextAsCharacters();
@@ -797,18 +1725,54 @@ public class CsvParser
 
     @Override
     public String getText() throws IOException {
-        if (_currToken == JsonToken.FIELD_NAME) {
+        JsonToken t = _currToken;
+        if (t == JsonToken.VALUE_STRING) {
+            if (_currentValue == null) {
+                _currentValue = _textValue();
+            }
+            return _currentValue;
+        }
+        if (t == JsonToken.FIELD_NAME) {
             return _currentName;
         }
+        if (t == JsonToken.VALUE_NUMBER_INT || t == JsonToken.VALUE_NUMBER_FLOAT) {
+            return _reader.getText();
+        }
+        if (_isLiteral(t)) {
+            return t.asString();
+        }
         return _currentValue;
     }
 
+    /**
+     * Helper method for constructing String value of the current value token,
+     * canonicalizing it if column has that enabled.
+     */
+    private final String _textValue()
+    {
+        final CanonicalStringCache[] caches = _valueCaches;
+        // note: only for values of columns, not for array elements
+        if ((caches != null) && (_state == STATE_NEXT_ENTRY)) {
+            final int ix = _columnIndex - 1;
+            if ((ix >= 0) && (ix < caches.length) && (caches[ix] != null)
+                    && _textBuffer.hasTextAsCharacters()) {
+                return caches[ix].canonicalize(_textBuffer.getTextBuffer(),
+                        _textBuffer.getTextOffset(), _textBuffer.size());
+            }
+        }
+        return _reader.getText();
+    }
+
     @Override
     public char[] getTextCharacters() throws IOException {
         if (_currToken == JsonToken.FIELD_NAME) {
             return _currentName.toCharArray();
         }
-        return _textBuffer.contentsAsArray();
+        if (_isLiteral(_currToken)) {
+            return _currToken.asCharArray();
+        }
+        // may be a segment of the input buffer, so no copying needed
+        return _textBuffer.getTextBuffer();
     }
 
     @Override
@@ -816,12 +1780,18 @@ public class CsvParser
         if (_currToken == JsonToken.FIELD_NAME) {
             return _currentName.length();
         }
+        if (_isLiteral(_currToken)) {
+            return _currToken.asCharArray().length;
+        }
         return _textBuffer.size();
     }
 
     @Override
     public int getTextOffset() throws IOException {
-        return 0;
+        if (_currToken == JsonToken.FIELD_NAME || _isLiteral(_currToken)) {
+            return 0;
+        }
+        return _textBuffer.getTextOffset();
     }
 
     /*
@@ -845,7 +1815,7 @@ public class CsvParser
                 _reportError("Current token ("+_currToken+") not VALUE_STRING, can not access as binary");
             }
             ByteArrayBuilder builder = _getByteArrayBuilder();
-            _decodeBase64(_currentValue, builder, variant);
+            _decodeBase64(getText(), builder, variant);
             _binaryValue = builder.toByteArray();
         }
         return _binaryValue;
@@ -920,10 +1890,45 @@ public class CsvParser
         super._reportError(msg);
     }
 
-    public void _reportUnexpectedCsvChar(int ch, String msg)  throws JsonParseException {
+    public void _reportUnexpectedCsvChar(int ch, String msg) throws IOException {
+        if (_collectsRecordErrors()) {
+            _reportRecordError("Unexpected character ("+_getCharDesc(ch)+"): "+msg);
+        }
         super._reportUnexpectedChar(ch, msg);
     }
+
+    /**
+     * Method called to report a problem in contents of a record: with lenient
+     * parsing, problem is added to error collector, and the record
+     * skipped; otherwise reported as an exception.
+     *
+     * @since 2.6
+     */
+    public void _reportRecordError(String msg) throws IOException
+    {
+        if (!_collectsRecordErrors()) {
+            super._reportError(msg);
+        }
+        JsonLocation loc = _reader.getCurrentLocation();
+        long offset = loc.getByteOffset();
+        if (offset < 0L) {
+            offset = loc.getCharOffset();
+        }
+        _errorCollector.add(loc.getLineNr(), offset, msg);
+        throw SkippedRecordException.instance;
+    }
     
+    /**
+     * Helper method for checking whether a problem found in a record can be
+     * collected (instead of being reported as an exception): this is the case
+     * with lenient parsing, while values of a record are being buffered before
+     * exposing the record (but not for header line, or a record that was started
+     * before lenient parsing was enabled).
+     */
+    private final boolean _collectsRecordErrors() {
+        return (_errorCollector != null) && (_state == STATE_RECORD_START);
+    }
+
     /*
     /**********************************************************************
     /* Internal methods
@@ -940,18 +1945,121 @@ public class CsvParser
         return _byteArrayBuilder;
     }
 
+    /**
+     * Helper method for checking whether given token is one of literals
+     * that may be exposed for typed columns ("null", "true", "false")
+     */
+    protected final static boolean _isLiteral(JsonToken t) {
+        return (t == JsonToken.VALUE_NULL) || (t == JsonToken.VALUE_TRUE)
+                || (t == JsonToken.VALUE_FALSE);
+    }
+
+    /**
+     * Method called to start exposing the current value as an array: contents
+     * are copied from {@link #_textBuffer} (or from {@link #_currentValue}, if
+     * already accessed), since text buffer is then used for exposing elements.
+     */
     protected void _startArray(CsvSchema.Column column)
+    {
+        char[] buf;
+        int len;
+        if (_currentValue != null) {
+            len = _currentValue.length();
+            buf = _arrayBuffer(len);
+            _currentValue.getChars(0, len, buf, 0);
+        } else {
+            len = _textBuffer.size();
+            buf = _arrayBuffer(len);
+            System.arraycopy(_textBuffer.getTextBuffer(), _textBuffer.getTextOffset(), buf, 0, len);
+        }
+        _startArray(column, buf, 0, len);
+    }
+
+    /**
+     * @since 2.6
+     */
+    protected void _startArray(CsvSchema.Column column, char[] buf, int start, int end)
     {
         _currToken = JsonToken.START_ARRAY;
         _parsingContext = _parsingContext.createChildArrayContext(_reader.getCurrentRow(),
                 _reader.getCurrentColumn());
         _state = STATE_IN_ARRAY;
-        _arrayValueStart = 0;
-        _arrayValue = _currentValue;
+        _arrayChars = buf;
+        _arrayCellStart = start;
+        _arrayCellEnd = end;
+        _arrayValueStart = start;
         int sep = column.getArrayElementSeparator();
         if (sep <= 0) {
             sep = _schema.getArrayElementSeparator();
         }
         _arraySeparator = (char) sep;
+        _arrayElementType = column.getArrayElementType();
+        _arrayTrim = (_arrayElementType != CsvSchema.ColumnType.STRING)
+                || Feature.TRIM_SPACES.enabledIn(_formatFeatures);
+    }
+
+    private final char[] _arrayBuffer(int len)
+    {
+        if (_arrayBuffer == null || _arrayBuffer.length < len) {
+            _arrayBuffer = new char[Math.max(len, 100)];
+        }
+        return _arrayBuffer;
+    }
+
+    /**
+     * Key for {@link #_headerSchemas}: names of header line, along with base
+     * schema (of which only settings are compared, since it has no columns).
+     *
+     * @since 2.6
+     */
+    protected final static class HeaderKey
+    {
+        private final CsvSchema _base;
+
+        private final String[] _names;
+
+        private final int _hashCode;
+
+        public HeaderKey(CsvSchema base, String[] names)
+        {
+            _base = base;
+            _names = names;
+            _hashCode = base._settingsHash() ^ Arrays.hashCode(names);
+        }
+
+        @Override
+        public int hashCode() { return _hashCode; }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (o == this) return true;
+            if (o == null || o.getClass() != getClass()) return false;
+            HeaderKey other = (HeaderKey) o;
+            return Arrays.equals(other._names, _names) && other._base._sameSettings(_base);
+        }
+    }
+
+    /**
+     * Exception used for unwinding from decoding of a record with a problem,
+     * with lenient parsing: since it is only used internally, a shared instance
+     * without stack trace is used.
+     *
+     * @since 2.6
+     */
+    protected final static class SkippedRecordException extends IOException
+    {
+        private static final long serialVersionUID = 1L;
+
+        final static SkippedRecordException instance = new SkippedRecordException();
+
+        private SkippedRecordException() {
+            super("Record skipped");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
     }
 }
@@ -0,0 +1,217 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+/**
+ * Deserializer used for binding CSV records into POJOs by column index,
+ * if {@link CsvParser.Feature#BIND_BY_COLUMN_INDEX} is enabled: properties that match
+ * columns of schema are resolved once per schema, after which values of each record
+ * are bound to properties in column order, without exposing
+ * {@link JsonToken#FIELD_NAME}s or looking up properties by name.
+ *<p>
+ * Binding is only done for POJOs that are constructed using the default constructor and
+ * that have "simple" properties (no Object or external type ids, unwrapped or injected values,
+ * or managed references); and only if all columns included by schema match a property.
+ * Otherwise, or if feature is not enabled, standard {@link BeanDeserializer} is used.
+ *
+ * @since 2.6
+ */
+public class CsvRowBinder extends DelegatingDeserializer
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Properties resolved for the most recently used schema
+     */
+    protected transient volatile Bindings _bindings;
+
+    public CsvRowBinder(JsonDeserializer<?> delegatee) {
+        super(delegatee);
+    }
+
+    @Override
+    protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+        return new CsvRowBinder(newDelegatee);
+    }
+
+    /*
+    /**********************************************************************
+    /* Deserialization
+    /**********************************************************************
+     */
+
+    @Override
+    public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException
+    {
+        if ((p instanceof CsvParser) && (p.getCurrentToken() == JsonToken.START_OBJECT)
+                && (ctxt.getActiveView() == null)) {
+            CsvParser csvP = (CsvParser) p;
+            if (csvP.isEnabled(CsvParser.Feature.BIND_BY_COLUMN_INDEX)) {
+                SettableBeanProperty[] props = _propertiesFor(csvP.getSchema());
+                if (props != null) {
+                    return _bind(csvP, ctxt, props);
+                }
+            }
+        }
+        return _delegatee.deserialize(p, ctxt);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public JsonDeserializer<Object> unwrappingDeserializer(NameTransformer unwrapper) {
+        // no index-based binding for unwrapped values
+        return (JsonDeserializer<Object>) _delegatee.unwrappingDeserializer(unwrapper);
+    }
+
+    protected Object _bind(CsvParser p, DeserializationContext ctxt, SettableBeanProperty[] props)
+        throws IOException
+    {
+        final Object bean = ((BeanDeserializer) _delegatee).getValueInstantiator().createUsingDefault(ctxt);
+        p.setCurrentValue(bean);
+        int ix;
+        while ((ix = p._nextColumn()) >= 0) {
+            SettableBeanProperty prop = props[ix];
+            p._nextColumnValue();
+            try {
+                prop.deserializeAndSet(p, ctxt, bean);
+            } catch (Exception e) {
+                _wrapAndThrow(e, bean, prop.getName(), ctxt);
+            }
+        }
+        return bean;
+    }
+
+    /**
+     * Helper method for resolving properties to bind values of columns of
+     * given schema to.
+     *
+     * @return Array of properties indexed by column index (with nulls for columns
+     *    excluded by projection); or null if binding by column index can not be used
+     */
+    protected SettableBeanProperty[] _propertiesFor(CsvSchema schema)
+    {
+        Bindings b = _bindings;
+        if (b == null || b.schema != schema) {
+            b = new Bindings(schema, _resolveProperties(schema));
+            _bindings = b;
+        }
+        return b.properties;
+    }
+
+    protected SettableBeanProperty[] _resolveProperties(CsvSchema schema)
+    {
+        final int count = schema.size();
+        if ((count == 0) || (_delegatee.getClass() != BeanDeserializer.class)) {
+            return null;
+        }
+        BeanDeserializer deser = (BeanDeserializer) _delegatee;
+        ValueInstantiator inst = deser.getValueInstantiator();
+        if ((deser.getObjectIdReader() != null) || !inst.canCreateUsingDefault()
+                || inst.canCreateFromObjectWith()) {
+            return null;
+        }
+        SettableBeanProperty[] props = new SettableBeanProperty[count];
+        for (int i = 0; i < count; ++i) {
+            String name = schema.columnName(i);
+            if (!schema.includesColumn(name)) {
+                continue;
+            }
+            SettableBeanProperty prop = deser.findProperty(name);
+            if (prop == null) { // unknown (or ignored) column; let deserializer handle it
+                return null;
+            }
+            if (prop.hasValueTypeDeserializer()
+                    && prop.getValueTypeDeserializer().getTypeInclusion() == JsonTypeInfo.As.EXTERNAL_PROPERTY) {
+                return null;
+            }
+            props[i] = prop;
+        }
+        return props;
+    }
+
+    protected void _wrapAndThrow(Throwable t, Object bean, String propName, DeserializationContext ctxt)
+        throws IOException
+    {
+        boolean wrap = ctxt.isEnabled(DeserializationFeature.WRAP_EXCEPTIONS);
+        if (t instanceof IOException) {
+            if (!wrap || !(t instanceof JsonProcessingException)) {
+                throw (IOException) t;
+            }
+        } else if (!wrap && (t instanceof RuntimeException)) {
+            throw (RuntimeException) t;
+        }
+        throw JsonMappingException.wrapWithPath(t, bean, propName);
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper classes
+    /**********************************************************************
+     */
+
+    protected final static class Bindings
+    {
+        public final CsvSchema schema;
+
+        public final SettableBeanProperty[] properties;
+
+        public Bindings(CsvSchema schema, SettableBeanProperty[] properties) {
+            this.schema = schema;
+            this.properties = properties;
+        }
+    }
+
+    /**
+     * Modifier that {@link CsvMapper} registers for using {@link CsvRowBinder}s
+     * for POJO types that may be bound by column index.
+     */
+    public static class Modifier extends BeanDeserializerModifier
+        implements java.io.Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config,
+                BeanDescription beanDesc, JsonDeserializer<?> deserializer)
+        {
+            if ((deserializer.getClass() == BeanDeserializer.class) && _canBind(config, beanDesc)) {
+                return new CsvRowBinder(deserializer);
+            }
+            return deserializer;
+        }
+
+        protected boolean _canBind(DeserializationConfig config, BeanDescription beanDesc)
+        {
+            if ((beanDesc.getObjectIdInfo() != null) || _hasEntries(beanDesc.findInjectables())
+                    || _hasEntries(beanDesc.findBackReferenceProperties())) {
+                return false;
+            }
+            final AnnotationIntrospector intr = config.getAnnotationIntrospector();
+            for (BeanPropertyDefinition prop : beanDesc.findProperties()) {
+                AnnotatedMember m = prop.getPrimaryMember();
+                if (m != null && intr.findUnwrappingNameTransformer(m) != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean _hasEntries(java.util.Map<?,?> map) {
+            return (map != null) && !map.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.util.*;
+
+import com.fasterxml.jackson.dataformat.csv.impl.NumberInput;
+
+/**
+ * Filter used for only reading records (rows) with column values that match
+ * all given conditions (see {@link CsvSchema#withRowFilter}). Conditions are evaluated
+ * by parser against decoded text of values, as soon as a value has been decoded:
+ * as soon as one condition fails, rest of the record is skipped without decoding it,
+ * and no tokens are exposed for the record.
+ *<p>
+ * Values of a record are decoded up to the last column that has a condition, and values
+ * of columns before it are buffered, to be exposed if the record matches: so it is
+ * beneficial to order columns so that the most selective conditions are on columns
+ * near the beginning of records.
+ *<p>
+ * Note that conditions are evaluated against values as they would be exposed for the column:
+ * trimmed if {@link CsvParser.Feature#TRIM_SPACES} is enabled, or if column has other type
+ * than {@link CsvSchema.ColumnType#STRING} (or {@link CsvSchema.ColumnType#ARRAY}).
+ * Values missing from short records are considered empty.
+ * Filter is only applied when schema has columns (either defined or read from the header line).
+ *
+ * @since 2.6
+ */
+public class CsvRowFilter
+    implements java.io.Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Interface for conditions on decoded text of a single value.
+     * Since filters are part of {@link CsvSchema}, which is serializable,
+     * custom implementations should be serializable as well.
+     */
+    public abstract static class ValueMatcher
+        implements java.io.Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        public abstract boolean matches(char[] buffer, int offset, int len);
+    }
+
+    protected final String[] _columns;
+
+    protected final ValueMatcher[] _matchers;
+
+    protected CsvRowFilter(String[] columns, ValueMatcher[] matchers) {
+        _columns = columns;
+        _matchers = matchers;
+    }
+
+    /*
+    /**********************************************************************
+    /* Factory methods
+    /**********************************************************************
+     */
+
+    /**
+     * Factory method for constructing a filter with custom condition for values of
+     * given column.
+     */
+    public static CsvRowFilter matching(String column, ValueMatcher matcher) {
+        return new CsvRowFilter(new String[] { column }, new ValueMatcher[] { matcher });
+    }
+
+    /**
+     * Factory method for constructing a filter that only accepts records where
+     * value of given column is exactly the given String.
+     */
+    public static CsvRowFilter equalTo(String column, String value) {
+        return matching(column, new EqualTo(value));
+    }
+
+    /**
+     * Factory method for constructing a filter that only accepts records where
+     * value of given column starts with given prefix.
+     */
+    public static CsvRowFilter startsWith(String column, String prefix) {
+        return matching(column, new StartsWith(prefix));
+    }
+
+    /**
+     * Factory method for constructing a filter that only accepts records where
+     * value of given column is one of given Strings.
+     */
+    public static CsvRowFilter in(String column, String... values) {
+        return in(column, Arrays.asList(values));
+    }
+
+    public static CsvRowFilter in(String column, Collection<String> values) {
+        return matching(column, new In(new HashSet<String>(values)));
+    }
+
+    /**
+     * Factory method for constructing a filter that only accepts records where
+     * value of given column is a number within given (inclusive) range.
+     * Values that are not numbers do not match.
+     */
+    public static CsvRowFilter between(String column, double min, double max) {
+        return matching(column, new Between(min, max));
+    }
+
+    /**
+     * Method for constructing a filter that only accepts records accepted by both
+     * this filter and the given one.
+     */
+    public CsvRowFilter and(CsvRowFilter other)
+    {
+        final int len = _columns.length;
+        String[] columns = Arrays.copyOf(_columns, len + other._columns.length);
+        ValueMatcher[] matchers = Arrays.copyOf(_matchers, columns.length);
+        System.arraycopy(other._columns, 0, columns, len, other._columns.length);
+        System.arraycopy(other._matchers, 0, matchers, len, other._matchers.length);
+        return new CsvRowFilter(columns, matchers);
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    /**
+     * Method for resolving conditions to use for columns of given schema.
+     *
+     * @return Array with one entry per column of schema (up to the last column
+     *   with condition): either matcher for values of the column, or null
+     *   if the column has no conditions
+     *
+     * @throws IllegalArgumentException If a condition refers to a column that
+     *    schema does not have
+     */
+    public ValueMatcher[] matchersFor(CsvSchema schema)
+    {
+        ValueMatcher[] result = new ValueMatcher[0];
+        for (int i = 0; i < _columns.length; ++i) {
+            CsvSchema.Column column = schema.column(_columns[i]);
+            if (column == null) {
+                throw new IllegalArgumentException("Row filter refers to column \""+_columns[i]
+                        +"\", which is not included in schema");
+            }
+            int index = column.getIndex();
+            if (index >= result.length) {
+                result = Arrays.copyOf(result, index+1);
+            }
+            ValueMatcher prev = result[index];
+            result[index] = (prev == null) ? _matchers[i] : new Both(prev, _matchers[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "[CsvRowFilter: columns "+Arrays.toString(_columns)+"]";
+    }
+
+    /*
+    /**********************************************************************
+    /* Standard matchers
+    /**********************************************************************
+     */
+
+    protected final static class EqualTo extends ValueMatcher
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final char[] _value;
+
+        public EqualTo(String value) { _value = value.toCharArray(); }
+
+        @Override
+        public boolean matches(char[] buffer, int offset, int len) {
+            return (len == _value.length) && _matchesStart(buffer, offset, _value);
+        }
+    }
+
+    protected final static class StartsWith extends ValueMatcher
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final char[] _prefix;
+
+        public StartsWith(String prefix) { _prefix = prefix.toCharArray(); }
+
+        @Override
+        public boolean matches(char[] buffer, int offset, int len) {
+            return (len >= _prefix.length) && _matchesStart(buffer, offset, _prefix);
+        }
+    }
+
+    /**
+     * Matcher that uses a hash table of values, with hash calculated over the
+     * decoded chars, so that values can be compared in place, without constructing
+     * Strings.
+     */
+    protected final static class In extends ValueMatcher
+    {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Values, in buckets indexed by hash code (masked with {@link #_mask})
+         */
+        private final char[][][] _buckets;
+
+        private final int _mask;
+
+        public In(Set<String> values)
+        {
+            int size = 4;
+            while (size < values.size()) {
+                size += size;
+            }
+            _mask = size - 1;
+            List<List<char[]>> buckets = new ArrayList<List<char[]>>(size);
+            for (int i = 0; i < size; ++i) {
+                buckets.add(null);
+            }
+            for (String value : values) {
+                int ix = _mask & value.hashCode();
+                List<char[]> bucket = buckets.get(ix);
+                if (bucket == null) {
+                    bucket = new ArrayList<char[]>(2);
+                    buckets.set(ix, bucket);
+                }
+                bucket.add(value.toCharArray());
+            }
+            _buckets = new char[size][][];
+            for (int i = 0; i < size; ++i) {
+                List<char[]> bucket = buckets.get(i);
+                if (bucket != null) {
+                    _buckets[i] = bucket.toArray(new char[bucket.size()][]);
+                }
+            }
+        }
+
+        @Override
+        public boolean matches(char[] buffer, int offset, int len)
+        {
+            // same hash as String.hashCode(), to use for building buckets
+            int hash = 0;
+            final int end = offset+len;
+            for (int i = offset; i < end; ++i) {
+                hash = 31 * hash + buffer[i];
+            }
+            char[][] bucket = _buckets[hash & _mask];
+            if (bucket != null) {
+                for (char[] value : bucket) {
+                    if ((len == value.length) && _matchesStart(buffer, offset, value)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    protected final static class Between extends ValueMatcher
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final double _min, _max;
+
+        public Between(double min, double max) {
+            _min = min;
+            _max = max;
+        }
+
+        @Override
+        public boolean matches(char[] buffer, int offset, int len)
+        {
+            if (len == 0) {
+                return false;
+            }
+            double value;
+            // Common case of (short enough) integral values is easy to parse
+            final int end = offset+len;
+            int ptr = offset;
+            boolean negative = (buffer[ptr] == '-');
+            if (negative) {
+                if (++ptr == end) {
+                    return false;
+                }
+            }
+            long l = 0L;
+            if ((end - ptr) <= 18) {
+                for (; ptr < end; ++ptr) {
+                    int c = buffer[ptr] - '0';
+                    if (c < 0 || c > 9) {
+                        break;
+                    }
+                    l = (l * 10) + c;
+                }
+            }
+            if (ptr == end) {
+                value = negative ? -l : l;
+            } else {
+                try {
+                    value = NumberInput.parseDouble(buffer, offset, len);
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+            return (value >= _min) && (value <= _max);
+        }
+    }
+
+    protected final static class Both extends ValueMatcher
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final ValueMatcher _first, _second;
+
+        public Both(ValueMatcher first, ValueMatcher second) {
+            _first = first;
+            _second = second;
+        }
+
+        @Override
+        public boolean matches(char[] buffer, int offset, int len) {
+            return _first.matches(buffer, offset, len) && _second.matches(buffer, offset, len);
+        }
+    }
+
+    private final static boolean _matchesStart(char[] buffer, int offset, char[] expected)
+    {
+        for (int i = 0; i < expected.length; ++i) {
+            if (buffer[offset+i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
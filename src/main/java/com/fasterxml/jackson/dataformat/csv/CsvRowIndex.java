@@ -0,0 +1,174 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * Index of byte offsets of data rows of a CSV file, used for accessing
+ * rows by number without having to parse the file from the beginning
+ * (see {@link CsvObjectReader#readValues(File, CsvRowIndex, long, long)}).
+ * To keep index compact, offset is only stored for every Nth row
+ * (where N is the "interval" of the index); other rows are located by
+ * skipping rows from the closest preceding indexed one.
+ *<p>
+ * Index is constructed using {@link CsvObjectReader#buildRowIndex(File, int)},
+ * and may be stored in a separate (sidecar) file using {@link #writeTo(File)}
+ * and loaded using {@link #readFrom(File)}.
+ *<p>
+ * Note that rows are numbered starting from 0 for the first data row: header line
+ * (and skipped first data row, if any) are not counted.
+ *
+ * @since 2.6
+ */
+public class CsvRowIndex
+{
+    /**
+     * Marker at the beginning of stored index files: "CSVX"
+     */
+    protected final static int MAGIC = 0x43535658;
+
+    protected final static int VERSION = 1;
+
+    protected final int _interval;
+
+    protected final long _rowCount;
+
+    /**
+     * Length of the indexed file; used for detecting (some) cases
+     * of index not matching the file.
+     */
+    protected final long _fileLength;
+
+    /**
+     * Byte offsets of rows <code>0</code>, <code>interval</code>,
+     * <code>2*interval</code> and so on.
+     */
+    protected final long[] _offsets;
+
+    public CsvRowIndex(int interval, long rowCount, long fileLength, long[] offsets)
+    {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Invalid interval ("+interval+"): must be positive");
+        }
+        _interval = interval;
+        _rowCount = rowCount;
+        _fileLength = fileLength;
+        _offsets = offsets;
+    }
+
+    /*
+    /**********************************************************************
+    /* Accessors
+    /**********************************************************************
+     */
+
+    public int getInterval() { return _interval; }
+
+    public long getRowCount() { return _rowCount; }
+
+    public long getFileLength() { return _fileLength; }
+
+    /**
+     * @return Number of rows for which offset is stored
+     */
+    public int size() { return _offsets.length; }
+
+    /**
+     * Method for finding byte offset of the closest indexed row at or
+     * before given row.
+     */
+    public long offsetBefore(long row)
+    {
+        if (row < 0L) {
+            throw new IllegalArgumentException("Invalid row number ("+row+")");
+        }
+        if (row >= _rowCount) {
+            return _fileLength;
+        }
+        return _offsets[(int) (row / _interval)];
+    }
+
+    /*
+    /**********************************************************************
+    /* Reading, writing
+    /**********************************************************************
+     */
+
+    public void writeTo(File f) throws IOException
+    {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(f)));
+        try {
+            writeTo(out);
+        } finally {
+            out.close();
+        }
+    }
+
+    public void writeTo(DataOutput out) throws IOException
+    {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(_interval);
+        out.writeLong(_rowCount);
+        out.writeLong(_fileLength);
+        out.writeInt(_offsets.length);
+        for (long offset : _offsets) {
+            out.writeLong(offset);
+        }
+    }
+
+    public static CsvRowIndex readFrom(File f) throws IOException
+    {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(f)));
+        try {
+            return readFrom(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    public static CsvRowIndex readFrom(DataInput in) throws IOException
+    {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Invalid CSV row index: does not start with expected signature");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported CSV row index version ("+version+"): only "+VERSION+" supported");
+        }
+        int interval = in.readInt();
+        long rowCount = in.readLong();
+        long fileLength = in.readLong();
+        long[] offsets = new long[in.readInt()];
+        for (int i = 0; i < offsets.length; ++i) {
+            offsets[i] = in.readLong();
+        }
+        return new CsvRowIndex(interval, rowCount, fileLength, offsets);
+    }
+
+    /*
+    /**********************************************************************
+    /* Standard methods
+    /**********************************************************************
+     */
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o == this) return true;
+        if (o == null || o.getClass() != getClass()) return false;
+        CsvRowIndex other = (CsvRowIndex) o;
+        return (_interval == other._interval) && (_rowCount == other._rowCount)
+                && (_fileLength == other._fileLength) && Arrays.equals(_offsets, other._offsets);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(_offsets) ^ _interval;
+    }
+
+    @Override
+    public String toString() {
+        return "[CsvRowIndex: "+_rowCount+" rows, interval "+_interval+"]";
+    }
+}
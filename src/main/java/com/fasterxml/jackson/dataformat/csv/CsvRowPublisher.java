@@ -0,0 +1,237 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Publisher of values bound from rows of CSV content, following the protocol
+ * of Reactive Streams (and <code>java.util.concurrent.Flow</code> of JDK 9):
+ * rows are only read and bound when subscriber has requested them
+ * (using {@link Subscription#request}), so that a slow subscriber will not
+ * cause content to be buffered.
+ *<p>
+ * Since Flow API is not available on JDK versions this module supports, publisher
+ * defines matching {@link Subscriber} and {@link Subscription} interfaces, which are
+ * easy to adapt to other implementations of the protocol.
+ *<p>
+ * Values are read and passed to subscriber synchronously, by the thread that calls
+ * {@link Subscription#request} (calls made from within {@link Subscriber#onNext}
+ * do not recurse, but just increase demand). Since content can only be read once,
+ * publisher only accepts a single subscriber.
+ * Content is closed (and buffers released) once all values have been read, on error,
+ * or when subscription is cancelled.
+ *
+ * @since 2.6
+ */
+public class CsvRowPublisher<T>
+{
+    /**
+     * Receiver of values; same as <code>java.util.concurrent.Flow.Subscriber</code>.
+     */
+    public interface Subscriber<T>
+    {
+        public void onSubscribe(Subscription subscription);
+
+        public void onNext(T item);
+
+        public void onError(Throwable throwable);
+
+        public void onComplete();
+    }
+
+    /**
+     * Link between publisher and subscriber; same as
+     * <code>java.util.concurrent.Flow.Subscription</code>.
+     */
+    public interface Subscription
+    {
+        public void request(long n);
+
+        public void cancel();
+    }
+
+    protected final ObjectReader _reader;
+
+    protected final InputStream _source;
+
+    protected final AtomicBoolean _subscribed = new AtomicBoolean();
+
+    public CsvRowPublisher(ObjectReader reader, InputStream source)
+    {
+        _reader = reader;
+        _source = source;
+    }
+
+    public void subscribe(Subscriber<? super T> subscriber)
+    {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber may not be null");
+        }
+        if (!_subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) { }
+                @Override
+                public void cancel() { }
+            });
+            subscriber.onError(new IllegalStateException("CsvRowPublisher only allows a single subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new RowSubscription<T>(this, subscriber));
+    }
+
+    protected MappingIterator<T> _open() throws IOException {
+        return _reader.readValues(_source);
+    }
+
+    /*
+    /**********************************************************************
+    /* Subscription implementation
+    /**********************************************************************
+     */
+
+    protected static class RowSubscription<T> implements Subscription
+    {
+        protected final CsvRowPublisher<T> _publisher;
+
+        protected final Subscriber<? super T> _subscriber;
+
+        /**
+         * Number of values requested but not yet emitted; Long.MAX_VALUE
+         * for unbounded demand.
+         */
+        protected final AtomicLong _requested = new AtomicLong();
+
+        /**
+         * Number of calls that need emitting to be checked: only the thread
+         * that increases it from 0 emits values, others just let it know there
+         * is more to do.
+         */
+        protected final AtomicInteger _pending = new AtomicInteger();
+
+        protected volatile boolean _cancelled;
+
+        protected volatile IllegalArgumentException _invalidRequest;
+
+        // // // State only accessed by the emitting thread
+
+        protected MappingIterator<T> _values;
+
+        protected boolean _done;
+
+        public RowSubscription(CsvRowPublisher<T> publisher, Subscriber<? super T> subscriber)
+        {
+            _publisher = publisher;
+            _subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n)
+        {
+            if (n <= 0L) {
+                _invalidRequest = new IllegalArgumentException("Invalid request for "+n+" values: must be positive");
+            } else {
+                while (true) {
+                    long curr = _requested.get();
+                    long next = curr + n;
+                    if (next < 0L) { // overflow, so unbounded
+                        next = Long.MAX_VALUE;
+                    }
+                    if (_requested.compareAndSet(curr, next)) {
+                        break;
+                    }
+                }
+            }
+            _drain();
+        }
+
+        @Override
+        public void cancel()
+        {
+            _cancelled = true;
+            _drain();
+        }
+
+        protected void _drain()
+        {
+            if (_pending.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!_done) {
+                    _emit();
+                }
+                missed = _pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        protected void _emit()
+        {
+            try {
+                if (_cancelled) {
+                    _finish();
+                    return;
+                }
+                if (_invalidRequest != null) {
+                    _finish();
+                    _subscriber.onError(_invalidRequest);
+                    return;
+                }
+                final long requested = _requested.get();
+                if (requested == 0L) {
+                    return;
+                }
+                if (_values == null) {
+                    _values = _publisher._open();
+                }
+                long emitted = 0L;
+                while (emitted != requested) {
+                    if (_cancelled) {
+                        _finish();
+                        return;
+                    }
+                    if (!_values.hasNextValue()) {
+                        _finish();
+                        _subscriber.onComplete();
+                        return;
+                    }
+                    _subscriber.onNext(_values.nextValue());
+                    ++emitted;
+                }
+                if (requested != Long.MAX_VALUE) {
+                    _requested.addAndGet(-emitted);
+                }
+            } catch (Exception e) {
+                boolean cancelled = _cancelled;
+                _finish();
+                if (!cancelled) {
+                    _subscriber.onError(e);
+                }
+            }
+        }
+
+        /**
+         * Method called to close content once no more values are to be emitted.
+         */
+        protected void _finish()
+        {
+            _done = true;
+            try {
+                if (_values != null) {
+                    _values.close();
+                } else {
+                    _publisher._source.close();
+                }
+            } catch (IOException e) {
+                // nothing to do at this point: either complete, or failed already
+            }
+        }
+    }
+}
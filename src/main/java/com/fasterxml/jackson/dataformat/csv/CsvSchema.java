@@ -3,6 +3,9 @@ package com.fasterxml.jackson.dataformat.csv;
 import java.util.*;
 
 import com.fasterxml.jackson.core.FormatSchema;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.InternCache;
 
 /**
  * Simple {@link FormatSchema} sub-type that defines properties of
@@ -170,7 +173,8 @@ public class CsvSchema
          * Value should be a number, but literals "null", "true" and "false"
          * are also understood, and an empty String is considered null.
          * Values are also trimmed (leading/trailing white space)
-         * Other non-numeric Strings may cause parsing exception.
+         * Other non-numeric Strings are exposed as String values, and may
+         * cause data-binding exception.
          */
         NUMBER,
 
@@ -194,8 +198,9 @@ public class CsvSchema
         
         /**
          * Value will be a multi-value sequence, separated by array element
-         * separator. Element type itself may be any scalar type (that is, number
-         * or String) and will not be optimized.
+         * separator. Elements are exposed as Strings by default, but column may
+         * declare another scalar type for them (see {@link Column#getArrayElementType}),
+         * in which case elements are handled as values of columns of that type.
          * Separator may be overridden on per-column basis.
          *<p>
          * Note that this type is used for generic concept of multiple values, and
@@ -219,6 +224,15 @@ public class CsvSchema
         public final static Column PLACEHOLDER = new Column(0, "");
         
         private final String _name;
+
+        /**
+         * Name of the column as pre-encoded (and shared) instance, for efficient
+         * matching against expected names.
+         *
+         * @since 2.6
+         */
+        private final SerializedString _serializedName;
+
         private final int _index;
         private final ColumnType _type;
 
@@ -227,6 +241,21 @@ public class CsvSchema
          */
         private final int _arrayElementSeparator;
 
+        /**
+         * Type of elements of {@link ColumnType#ARRAY} column values.
+         *
+         * @since 2.6
+         */
+        private final ColumnType _arrayElementType;
+
+        /**
+         * Whether textual values of this column are to be canonicalized (see
+         * {@link #withCanonicalValues}).
+         *
+         * @since 2.6
+         */
+        private final boolean _canonicalValues;
+
         /**
          * Link to the next column within schema, if one exists;
          * null for the last column.
@@ -243,12 +272,36 @@ public class CsvSchema
             this(index, name, type, -1);
         }
 
-        public Column(int index, String name, ColumnType type, int arrayElementSep)
+        public Column(int index, String name, ColumnType type, int arrayElementSep) {
+            this(index, name, type, arrayElementSep, ColumnType.STRING);
+        }
+
+        /**
+         * @since 2.6
+         */
+        public Column(int index, String name, ColumnType type, int arrayElementSep,
+                ColumnType arrayElementType)
         {
+            this(index, name, type, arrayElementSep, arrayElementType, false);
+        }
+
+        /**
+         * @since 2.6
+         */
+        public Column(int index, String name, ColumnType type, int arrayElementSep,
+                ColumnType arrayElementType, boolean canonicalValues)
+        {
+            if (arrayElementType == ColumnType.ARRAY) {
+                throw new IllegalArgumentException("Array element type can not be ARRAY");
+            }
             _index = index;
-            _name = name;
+            // names are interned, to allow identity comparisons (with property names too)
+            _name = (name == null) ? null : InternCache.instance.intern(name);
+            _serializedName = (name == null) ? null : new SerializedString(_name);
             _type = type;
             _arrayElementSeparator = arrayElementSep;
+            _arrayElementType = arrayElementType;
+            _canonicalValues = canonicalValues;
             _next = null;
         }
 
@@ -256,8 +309,11 @@ public class CsvSchema
         {
             _index = src._index;
             _name = src._name;
+            _serializedName = src._serializedName;
             _type = src._type;
             _arrayElementSeparator = src._arrayElementSeparator;
+            _arrayElementType = src._arrayElementType;
+            _canonicalValues = src._canonicalValues;
             _next = next;
         }
         
@@ -265,19 +321,48 @@ public class CsvSchema
             if (_name == newName) {
                 return this;
             }
-            return new Column(_index, newName, _type, _arrayElementSeparator);
+            return new Column(_index, newName, _type, _arrayElementSeparator, _arrayElementType, _canonicalValues);
         }
         public Column withType(ColumnType newType) {
             if (newType == _type) {
                 return this;
             }
-            return new Column(_index, _name, newType, _arrayElementSeparator);
+            return new Column(_index, _name, newType, _arrayElementSeparator, _arrayElementType, _canonicalValues);
         }
         public Column withElementSeparator(int sep) {
             if (_arrayElementSeparator == sep) {
                 return this;
             }
-            return new Column(_index, _name, _type, sep);
+            return new Column(_index, _name, _type, sep, _arrayElementType, _canonicalValues);
+        }
+
+        /**
+         * @since 2.6
+         */
+        public Column withArrayElementType(ColumnType type) {
+            if (_arrayElementType == type) {
+                return this;
+            }
+            return new Column(_index, _name, _type, _arrayElementSeparator, type, _canonicalValues);
+        }
+
+        /**
+         * Method for constructing a column definition that differs from this one
+         * with respect to whether textual values are canonicalized: if enabled,
+         * parser returns a shared {@link String} instance for values it has
+         * recently seen for the column, instead of constructing a new one.
+         * This reduces allocation (and memory retained by bound values) for
+         * columns with small number of distinct values, like status codes or
+         * currencies; but only adds overhead for other columns (although parser
+         * stops canonicalizing values of columns for which it finds few duplicates).
+         *
+         * @since 2.6
+         */
+        public Column withCanonicalValues(boolean state) {
+            if (_canonicalValues == state) {
+                return this;
+            }
+            return new Column(_index, _name, _type, _arrayElementSeparator, _arrayElementType, state);
         }
 
         public Column withNext(Column next) {
@@ -289,6 +374,14 @@ public class CsvSchema
         
         public int getIndex() { return _index; }
         public String getName() { return _name; }
+
+        /**
+         * Accessor for name of the column as pre-encoded {@link SerializableString};
+         * same instance is returned for all calls.
+         *
+         * @since 2.6
+         */
+        public SerializableString getSerializedName() { return _serializedName; }
         public ColumnType getType() { return _type; }
 
         public Column getNext() { return _next; }
@@ -298,7 +391,7 @@ public class CsvSchema
          * column is same as given name
          */
         public Column getNextWithName(String name) {
-            if (_next != null && name.equals(_next._name)) {
+            if (_next != null && ((name == _next._name) || name.equals(_next._name))) {
                 return _next;
             }
             return null;
@@ -313,6 +406,20 @@ public class CsvSchema
          */
         public int getArrayElementSeparator() { return _arrayElementSeparator; }
 
+        /**
+         * Accessor for type of elements of {@link ColumnType#ARRAY} values:
+         * elements are exposed the same way as values of a column of
+         * this type would be; by default, {@link ColumnType#STRING}.
+         *
+         * @since 2.6
+         */
+        public ColumnType getArrayElementType() { return _arrayElementType; }
+
+        /**
+         * @since 2.6
+         */
+        public boolean hasCanonicalValues() { return _canonicalValues; }
+
         public boolean isArray() {
             return (_type == ColumnType.ARRAY);
         }
@@ -349,7 +456,17 @@ public class CsvSchema
          * @since 2.5
          */
         protected char[] _nullValue = DEFAULT_NULL_VALUE;
-        
+
+        /**
+         * @since 2.6
+         */
+        protected Set<String> _projection;
+
+        /**
+         * @since 2.6
+         */
+        protected CsvRowFilter _rowFilter;
+
         public Builder() { }
 
         /**
@@ -368,6 +485,8 @@ public class CsvSchema
             _escapeChar = src._escapeChar;
             _lineSeparator = src._lineSeparator;
             _nullValue = src._nullValue;
+            _projection = src._projection;
+            _rowFilter = src._rowFilter;
         }
         
         public Builder addColumn(String name) {
@@ -392,6 +511,13 @@ public class CsvSchema
             int index = _columns.size();
             return addColumn(new Column(index, name, ColumnType.ARRAY, elementSeparator));
         }
+        /**
+         * @since 2.6
+         */
+        public Builder addArrayColumn(String name, int elementSeparator, ColumnType elementType) {
+            int index = _columns.size();
+            return addColumn(new Column(index, name, ColumnType.ARRAY, elementSeparator, elementType));
+        }
         public Builder addNumberColumn(String name) {
             int index = _columns.size();
             return addColumn(new Column(index, name, ColumnType.NUMBER));
@@ -421,6 +547,20 @@ public class CsvSchema
             _checkIndex(index);
             _columns.set(index, _columns.get(index).withElementSeparator(sep));
         }
+        /**
+         * @since 2.6
+         */
+        public void setArrayElementType(int index, ColumnType type) {
+            _checkIndex(index);
+            _columns.set(index, _columns.get(index).withArrayElementType(type));
+        }
+        /**
+         * @since 2.6
+         */
+        public void setCanonicalValues(int index, boolean state) {
+            _checkIndex(index);
+            _columns.set(index, _columns.get(index).withCanonicalValues(state));
+        }
 
         public Builder clearColumns() {
             _columns.clear();
@@ -556,10 +696,14 @@ public class CsvSchema
         public CsvSchema build()
         {
             Column[] cols = _columns.toArray(new Column[_columns.size()]);
-            return new CsvSchema(cols, _features,
+            CsvSchema schema = new CsvSchema(cols, _features,
                     _columnSeparator, _quoteChar, _escapeChar,
                     _lineSeparator, _arrayElementSeparator,
                     _nullValue);
+            if (_projection == null && _rowFilter == null) {
+                return schema;
+            }
+            return new CsvSchema(schema, _projection, _rowFilter);
         }
 
         protected void _checkIndex(int index) {
@@ -605,6 +749,22 @@ public class CsvSchema
      */
     protected final char[] _nullValue;
 
+    /**
+     * Names of columns to include when reading, if only a subset of
+     * columns is needed; values of other columns are skipped without
+     * decoding them. Null if all columns are to be included.
+     *
+     * @since 2.6
+     */
+    protected final Set<String> _projection;
+
+    /**
+     * Filter for records to read, if any.
+     *
+     * @since 2.6
+     */
+    protected final CsvRowFilter _rowFilter;
+
     @Deprecated // in 2.5; remove from 2.6
     public CsvSchema(Column[] columns,
             boolean useHeader, boolean skipFirstDataRow,
@@ -638,6 +798,8 @@ public class CsvSchema
         _escapeChar = escapeChar;
         _lineSeparator = lineSeparator;
         _nullValue = nullValue;
+        _projection = null;
+        _rowFilter = null;
         
         // and then we may need to create a mapping
         if (_columns.length == 0) {
@@ -659,6 +821,23 @@ public class CsvSchema
             char[] lineSeparator, int arrayElementSeparator,
             char[] nullValue,
             Map<String,Column> columnsByName)
+    {
+        this(columns, features, columnSeparator, quoteChar, escapeChar,
+                lineSeparator, arrayElementSeparator, nullValue, columnsByName, null, null);
+    }
+
+    /**
+     * Copy constructor used for creating variants using
+     * <code>withXxx()</code> methods.
+     *
+     * @since 2.6
+     */
+    protected CsvSchema(Column[] columns, int features,
+            char columnSeparator, int quoteChar, int escapeChar,
+            char[] lineSeparator, int arrayElementSeparator,
+            char[] nullValue,
+            Map<String,Column> columnsByName, Set<String> projection,
+            CsvRowFilter rowFilter)
     {
         _columns = columns;
         _features = features;
@@ -669,6 +848,8 @@ public class CsvSchema
         _arrayElementSeparator = arrayElementSeparator;
         _nullValue = nullValue;
         _columnsByName = columnsByName;
+        _projection = projection;
+        _rowFilter = rowFilter;
     }    
 
     /**
@@ -685,6 +866,8 @@ public class CsvSchema
         _arrayElementSeparator = base._arrayElementSeparator;
         _nullValue = base._nullValue;
         _columnsByName = base._columnsByName;
+        _projection = base._projection;
+        _rowFilter = base._rowFilter;
     }
     
     /**
@@ -702,6 +885,28 @@ public class CsvSchema
         _arrayElementSeparator = base._arrayElementSeparator;
         _nullValue = base._nullValue;
         _columnsByName = base._columnsByName;
+        _projection = base._projection;
+        _rowFilter = base._rowFilter;
+    }
+
+    /**
+     * Copy constructor used for creating variants with different
+     * projection or row filter.
+     *
+     * @since 2.6
+     */
+    protected CsvSchema(CsvSchema base, Set<String> projection, CsvRowFilter rowFilter) {
+        _columns = base._columns;
+        _features = base._features;
+        _columnSeparator = base._columnSeparator;
+        _quoteChar = base._quoteChar;
+        _escapeChar = base._escapeChar;
+        _lineSeparator = base._lineSeparator;
+        _arrayElementSeparator = base._arrayElementSeparator;
+        _nullValue = base._nullValue;
+        _columnsByName = base._columnsByName;
+        _projection = projection;
+        _rowFilter = rowFilter;
     }
 
     /**
@@ -822,35 +1027,35 @@ public class CsvSchema
         return (_columnSeparator == sep) ? this :
             new CsvSchema(_columns, _features,
                     sep, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
-                    _nullValue, _columnsByName);
+                    _nullValue, _columnsByName, _projection, _rowFilter);
     }
 
     public CsvSchema withQuoteChar(char c) {
         return (_quoteChar == c) ? this :
             new CsvSchema(_columns, _features,
                     _columnSeparator, c, _escapeChar, _lineSeparator,_arrayElementSeparator,
-                    _nullValue, _columnsByName);
+                    _nullValue, _columnsByName, _projection, _rowFilter);
     }
 
     public CsvSchema withoutQuoteChar() {
         return (_quoteChar == -1) ? this :
             new CsvSchema(_columns, _features,
                     _columnSeparator, -1, _escapeChar, _lineSeparator, _arrayElementSeparator,
-                    _nullValue, _columnsByName);
+                    _nullValue, _columnsByName, _projection, _rowFilter);
     }
 
     public CsvSchema withEscapeChar(char c) {
         return (_escapeChar == c) ? this
                 : new CsvSchema(_columns, _features,
                         _columnSeparator, _quoteChar, c, _lineSeparator, _arrayElementSeparator,
-                        _nullValue, _columnsByName);
+                        _nullValue, _columnsByName, _projection, _rowFilter);
     }
 
     public CsvSchema withoutEscapeChar() {
         return (_escapeChar == -1) ? this
                 : new CsvSchema(_columns, _features,
                         _columnSeparator, _quoteChar, -1, _lineSeparator, _arrayElementSeparator,
-                        _nullValue, _columnsByName);
+                        _nullValue, _columnsByName, _projection, _rowFilter);
     }
 
     /**
@@ -860,7 +1065,7 @@ public class CsvSchema
         return (_arrayElementSeparator == c) ? this
                 : new CsvSchema(_columns, _features,
                         _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, c,
-                        _nullValue, _columnsByName);
+                        _nullValue, _columnsByName, _projection, _rowFilter);
     }
 
     /**
@@ -870,13 +1075,13 @@ public class CsvSchema
         return (_arrayElementSeparator == -1) ? this
                 : new CsvSchema(_columns, _features,
                         _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, -1,
-                        _nullValue, _columnsByName);
+                        _nullValue, _columnsByName, _projection, _rowFilter);
     }
     
     public CsvSchema withLineSeparator(String sep) {
         return new CsvSchema(_columns, _features,
                 _columnSeparator, _quoteChar, _escapeChar, sep.toCharArray(),
-                _arrayElementSeparator, _nullValue, _columnsByName);
+                _arrayElementSeparator, _nullValue, _columnsByName, _projection, _rowFilter);
     }
 
     /**
@@ -887,13 +1092,62 @@ public class CsvSchema
                 _columnSeparator, _quoteChar, _escapeChar, _lineSeparator,
                 _arrayElementSeparator,
                 (nvl == null) ? DEFAULT_NULL_VALUE : nvl.toCharArray(),
-                _columnsByName);
+                _columnsByName, _projection, _rowFilter);
     }
     
     public CsvSchema withoutColumns() {
         return new CsvSchema(NO_COLUMNS, _features,
                 _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
-                _nullValue, _columnsByName);
+                _nullValue, _columnsByName, _projection, _rowFilter);
+    }
+
+    /**
+     * Mutant factory method that will construct a new instance that only
+     * includes columns with given names when reading: values of other columns
+     * are skipped without decoding them, and no tokens are exposed for them.
+     * This is useful when only some columns of a wide file are needed;
+     * especially when column names are read from the header line.
+     *
+     * @since 2.6
+     */
+    public CsvSchema withProjection(String... columnNames) {
+        return withProjection(Arrays.asList(columnNames));
+    }
+
+    /**
+     * @since 2.6
+     */
+    public CsvSchema withProjection(Collection<String> columnNames) {
+        return new CsvSchema(this, Collections.unmodifiableSet(new HashSet<String>(columnNames)),
+                _rowFilter);
+    }
+
+    /**
+     * Mutant factory method that will construct a new instance that includes
+     * all columns when reading.
+     *
+     * @since 2.6
+     */
+    public CsvSchema withoutProjection() {
+        return (_projection == null) ? this : new CsvSchema(this, null, _rowFilter);
+    }
+
+    /**
+     * Mutant factory method that will construct a new instance that only
+     * reads records that match given filter: other records are skipped without
+     * exposing any tokens for them (see {@link CsvRowFilter} for details).
+     *
+     * @since 2.6
+     */
+    public CsvSchema withRowFilter(CsvRowFilter filter) {
+        return (_rowFilter == filter) ? this : new CsvSchema(this, _projection, filter);
+    }
+
+    /**
+     * @since 2.6
+     */
+    public CsvSchema withoutRowFilter() {
+        return withRowFilter(null);
     }
 
     /**
@@ -960,6 +1214,26 @@ public class CsvSchema
     public boolean skipsFirstDataRow() { return (_features & FEATURE_SKIP_FIRST_DATA_ROW) != 0; }
     public boolean allowsComments() { return (_features & FEATURE_ALLOW_COMMENTS) != 0; }
 
+    /**
+     * @since 2.6
+     */
+    public boolean hasProjection() { return (_projection != null); }
+
+    /**
+     * Method for checking whether values of column with given name are
+     * to be included when reading.
+     *
+     * @since 2.6
+     */
+    public boolean includesColumn(String name) {
+        return (_projection == null) || _projection.contains(name);
+    }
+
+    /**
+     * @since 2.6
+     */
+    public CsvRowFilter getRowFilter() { return _rowFilter; }
+
     /**
      * @deprecated Use {@link #usesHeader()} instead
      */
@@ -1063,6 +1337,47 @@ public class CsvSchema
     /**********************************************************************
      */
 
+    /**
+     * Helper method for checking whether given schema has the same settings as
+     * this schema, not counting column definitions (row filters are compared
+     * by identity).
+     *
+     * @since 2.6
+     */
+    protected boolean _sameSettings(CsvSchema other)
+    {
+        if (other == this) {
+            return true;
+        }
+        return (other._features == _features)
+                && (other._columnSeparator == _columnSeparator)
+                && (other._arrayElementSeparator == _arrayElementSeparator)
+                && (other._quoteChar == _quoteChar)
+                && (other._escapeChar == _escapeChar)
+                && Arrays.equals(other._lineSeparator, _lineSeparator)
+                && Arrays.equals(other._nullValue, _nullValue)
+                && ((_projection == null) ? (other._projection == null) : _projection.equals(other._projection))
+                && (other._rowFilter == _rowFilter);
+    }
+
+    /**
+     * Hash code matching {@link #_sameSettings}.
+     *
+     * @since 2.6
+     */
+    protected int _settingsHash()
+    {
+        int h = _features;
+        h = 31 * h + _columnSeparator;
+        h = 31 * h + _arrayElementSeparator;
+        h = 31 * h + _quoteChar;
+        h = 31 * h + _escapeChar;
+        h = 31 * h + Arrays.hashCode(_lineSeparator);
+        h = 31 * h + Arrays.hashCode(_nullValue);
+        h = 31 * h + ((_projection == null) ? 0 : _projection.hashCode());
+        return 31 * h + System.identityHashCode(_rowFilter);
+    }
+
     @Override
     public String toString()
     {
@@ -0,0 +1,106 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.util.Arrays;
+
+/**
+ * Helper class used for canonicalizing textual values of a single column
+ * (see {@link com.fasterxml.jackson.dataformat.csv.CsvSchema.Column#withCanonicalValues}):
+ * value is hashed and compared in place, and a previously constructed
+ * {@link String} is returned if one matches.
+ *<p>
+ * Cache is a simple direct-mapped table, so its size is bounded and a new
+ * value simply evicts whatever value had the same slot. Since canonicalization
+ * only pays off if values repeat, hit rate is checked periodically and if
+ * it is low, cache disables itself, after which Strings are constructed as usual.
+ *<p>
+ * Instances are not thread-safe, and are used by a single parser.
+ *
+ * @since 2.6
+ */
+public final class CanonicalStringCache
+{
+    /**
+     * Number of slots in table; needs to be a power of two.
+     */
+    private final static int SIZE = 64;
+
+    /**
+     * Longest value to canonicalize: values with few distinct values
+     * are typically short.
+     */
+    private final static int MAX_LENGTH = 32;
+
+    /**
+     * Number of lookups after which hit rate is checked.
+     */
+    private final static int CHECK_INTERVAL = 1024;
+
+    /**
+     * Minimum number of hits (per {@link #CHECK_INTERVAL} lookups) needed
+     * to keep canonicalizing.
+     */
+    private final static int MIN_HITS = CHECK_INTERVAL / 8;
+
+    private final String[] _values = new String[SIZE];
+
+    private int _lookups;
+
+    private int _hits;
+
+    private boolean _disabled;
+
+    /**
+     * Method for getting a String with given contents; either a cached
+     * instance or a new one.
+     */
+    public String canonicalize(char[] buf, int offset, int len)
+    {
+        if (_disabled || (len > MAX_LENGTH)) {
+            return new String(buf, offset, len);
+        }
+        final int end = offset + len;
+        int hash = len;
+        for (int i = offset; i < end; ++i) {
+            hash = (hash * 31) + buf[i];
+        }
+        final int ix = (hash ^ (hash >>> 16)) & (SIZE - 1);
+        String str = _values[ix];
+        if ((str != null) && _matches(str, buf, offset, len)) {
+            ++_hits;
+        } else {
+            str = new String(buf, offset, len);
+            _values[ix] = str;
+        }
+        if (++_lookups == CHECK_INTERVAL) {
+            if (_hits < MIN_HITS) {
+                _disabled = true;
+                // no need to retain values any more
+                Arrays.fill(_values, null);
+            }
+            _lookups = 0;
+            _hits = 0;
+        }
+        return str;
+    }
+
+    /**
+     * @return True if hit rate has been so low that cache no longer
+     *    canonicalizes values
+     */
+    public boolean isDisabled() {
+        return _disabled;
+    }
+
+    private final static boolean _matches(String str, char[] buf, int offset, int len)
+    {
+        if (str.length() != len) {
+            return false;
+        }
+        for (int i = 0; i < len; ++i) {
+            if (str.charAt(i) != buf[offset+i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -18,11 +18,11 @@ import com.fasterxml.jackson.dataformat.csv.CsvSchema;
  */
 public class CsvDecoder
 {
-    private final static int INT_SPACE = 0x0020;
+    protected final static int INT_SPACE = 0x0020;
 
-    private final static int INT_CR = '\r';
-    private final static int INT_LF = '\n';
-    private final static int INT_HASH = '#';
+    protected final static int INT_CR = '\r';
+    protected final static int INT_LF = '\n';
+    protected final static int INT_HASH = '#';
 
     /*
     /**********************************************************************
@@ -78,6 +78,15 @@ public class CsvDecoder
 
     protected int _escapeChar;
 
+    /**
+     * Flag set if schema has neither quote nor escape character, in which
+     * case only separators and linefeeds are structural, and specialized
+     * decoding loops that only check for those are used.
+     *
+     * @since 2.6
+     */
+    protected boolean _plainValues;
+
     /*
     /**********************************************************************
     /* Input handling, state
@@ -166,6 +175,15 @@ public class CsvDecoder
      */
     protected int _tokenInputCol = 0;
 
+    /**
+     * Whether location of each value (and linefeeds within quoted values) is
+     * tracked; if not (see {@link CsvParser.Feature#SKIP_LOCATION_TRACKING}),
+     * token location is only updated at start of each record.
+     *
+     * @since 2.6
+     */
+    protected final boolean _trackLocation;
+
     /*
     /**********************************************************************
     /* Constants and fields of former 'JsonNumericParserBase'
@@ -283,27 +301,39 @@ public class CsvDecoder
     /**********************************************************************
      */
 
-    /* 21-Nov-2012, tatu: Should be resolved; is only included to retain
-     *   number-handling code (copied from other parsers), but not
-     *   working as expected.
+    /**
+     * Type of the value token most recently decoded; needed by number-handling
+     * code (copied from other parsers) to know whether value is integral
+     * or floating-point.
      */
-    // !!!! Only to allow compilation to succeed; remove once done!
     protected JsonToken _currToken = null;
 
     public CsvDecoder(CsvParser owner, IOContext ctxt, Reader r, CsvSchema schema, TextBuffer textBuffer,
             boolean autoCloseInput, boolean trimSpaces)
+    {
+        this(owner, ctxt, schema, textBuffer, autoCloseInput, trimSpaces);
+        _inputSource = r;
+        _inputBuffer = ctxt.allocTokenBuffer();
+        _bufferRecyclable = true; // since we allocated it
+    }
+
+    /**
+     * Constructor used by sub-classes that read input from something other
+     * than a {@link Reader}, and hence need no character input buffer.
+     *
+     * @since 2.6
+     */
+    protected CsvDecoder(CsvParser owner, IOContext ctxt, CsvSchema schema, TextBuffer textBuffer,
+            boolean autoCloseInput, boolean trimSpaces)
     {
         _owner = owner;
         _ioContext = ctxt;
-        _inputSource = r;
         _textBuffer = textBuffer;
         _autoCloseInput = autoCloseInput;
         _trimSpaces = trimSpaces;
-        _inputBuffer = ctxt.allocTokenBuffer();
-        _bufferRecyclable = true; // since we allocated it
-        _inputSource = r;
         _tokenInputRow = -1;
         _tokenInputCol = -1;
+        _trackLocation = !owner.isEnabled(CsvParser.Feature.SKIP_LOCATION_TRACKING);
         _allowComments = owner.isEnabled(JsonParser.Feature.ALLOW_YAML_COMMENTS);
         setSchema(schema);
     }
@@ -319,8 +349,51 @@ public class CsvDecoder
         max = Math.max(max, '\r');
         max = Math.max(max, '\n');
         _maxSpecialChar = max;
+        _plainValues = (_quoteChar < 0) && (_escapeChar < 0);
     }
-    
+
+    /**
+     * Method called by parser to start decoding a new document read from given
+     * {@link Reader}, reusing buffers of this decoder. Previous input source is
+     * closed the same way as with {@link #close} (if owned or auto-closed), but
+     * buffers are retained (or re-allocated if already released).
+     *
+     * @since 2.6
+     */
+    public void reset(Reader r) throws IOException
+    {
+        _closeInput();
+        _inputSource = r;
+        if (_inputBuffer == null) {
+            _inputBuffer = _ioContext.allocTokenBuffer();
+            _bufferRecyclable = true;
+        }
+        _inputEnd = 0;
+        _resetState(0);
+    }
+
+    /**
+     * Helper method for resetting all decoding and location state, for
+     * decoding a new document starting at given offset of input buffer.
+     *
+     * @since 2.6
+     */
+    protected void _resetState(int start)
+    {
+        _inputPtr = start;
+        _pendingLF = 0;
+        _closed = false;
+        _currInputProcessed = -start;
+        _currInputRow = 1;
+        _currInputRowStart = start;
+        _tokenInputTotal = 0L;
+        _tokenInputRow = -1;
+        _tokenInputCol = -1;
+        _numTypesValid = NR_UNKNOWN;
+        _currToken = null;
+        _textBuffer.reset();
+    }
+
     /*
     /**********************************************************************
     /* JsonParser implementations passed-through by CsvParser
@@ -359,6 +432,28 @@ public class CsvDecoder
         return count;
     }
 
+    /**
+     * @return -1, since buffered content is not available as bytes
+     *
+     * @since 2.6
+     */
+    public int releaseBuffered(OutputStream out) throws IOException {
+        return -1;
+    }
+
+    /**
+     * Method called by parser when a new record is about to be started,
+     * to make token location point to the start of the record.
+     *
+     * @since 2.6
+     */
+    public void markRecordStart()
+    {
+        _tokenInputTotal = _currInputProcessed + _inputPtr;
+        _tokenInputRow = _currInputRow;
+        _tokenInputCol = _inputPtr - _currInputRowStart;
+    }
+
     public JsonReadContext childArrayContext(JsonReadContext context)
     {
         int col = _inputPtr - _currInputRowStart + 1; // 1-based
@@ -448,7 +543,7 @@ public class CsvDecoder
         }
     }
     
-    protected final boolean loadMore() throws IOException
+    protected boolean loadMore() throws IOException
     {
         _currInputProcessed += _inputEnd;
         _currInputRowStart -= _inputEnd;
@@ -494,6 +589,18 @@ public class CsvDecoder
         return loadMore();
     }
 
+    /**
+     * Method called by non-blocking parser to check whether given number of
+     * complete records is available in buffered input, so that they can be decoded
+     * without needing more input. Blocking decoders can always read more input,
+     * so they always return true.
+     *
+     * @since 2.6
+     */
+    public boolean hasCompleteRecords(int count) throws IOException {
+        return true;
+    }
+
     /**
      * Method called to handle details of starting a new line, which may
      * include skipping a linefeed.
@@ -581,140 +688,574 @@ public class CsvDecoder
         return false;
     }
     
+    /**
+     * Method called to skip the rest of the current record after a problem was
+     * found in it: unlike {@link #skipLine}, nothing is skipped if the end of
+     * the record was already reached.
+     *
+     * @since 2.6
+     */
+    public void skipRestOfRecord() throws IOException
+    {
+        if (_pendingLF == 0) {
+            skipLine();
+        }
+    }
+
+    /**
+     * Method that may be called to check whether the current record has
+     * one more value available, without decoding it. If not, possible
+     * end-of-line is handled similar to {@link #nextString} returning null.
+     *
+     * @return True if there is another value in the current record; false
+     *   to indicate end of line of input
+     *
+     * @since 2.6
+     */
+    public boolean hasMoreValues() throws IOException
+    {
+        if (_pendingLF > 0) { // either pendingLF, or closed
+            if (_inputSource != null) {
+                _handleLF();
+            }
+            return false;
+        }
+        // value will start from here (modulo leading white space)
+        if (_trackLocation) {
+            _tokenInputTotal = _currInputProcessed + _inputPtr;
+            _tokenInputRow = _currInputRow;
+            _tokenInputCol = _inputPtr - _currInputRowStart;
+        }
+        return true;
+    }
+
     /**
      * Method called to parse the next token when we don't have any type
      * information, so that all tokens are exposed as basic String
      * values.
-     * 
+     *
      * @return Column value if more found; null to indicate end of line
      *  of input
      */
     public String nextString() throws IOException
     {
         _numTypesValid = NR_UNKNOWN;
-        
+        _currToken = JsonToken.VALUE_STRING;
+        if (!_nextValue(_trimSpaces)) {
+            return null;
+        }
+        return _textBuffer.contentsAsString();
+    }
+
+    /**
+     * Method similar to {@link #nextString}, but one that does not construct
+     * a {@link String} for the value: instead, contents are left in
+     * {@link TextBuffer}, from which they may be accessed as characters
+     * (without copying, if value was contained within the input buffer), or
+     * converted to a String if and when needed.
+     *
+     * @return {@link JsonToken#VALUE_STRING} if more values found; null to indicate end
+     *  of line of input
+     *
+     * @since 2.6
+     */
+    public JsonToken nextStringToken() throws IOException
+    {
+        _numTypesValid = NR_UNKNOWN;
+        if (!_nextValue(_trimSpaces)) {
+            return null;
+        }
+        return (_currToken = JsonToken.VALUE_STRING);
+    }
+
+    /**
+     * Method called to skip the next value of the current record without
+     * decoding it: only structural characters (quotes, escapes, separators and
+     * linefeeds) are checked, and nothing is copied.
+     *
+     * @return True if a value was skipped; false to indicate end of line
+     *  of input
+     *
+     * @since 2.6
+     */
+    public boolean skipValue() throws IOException
+    {
+        if (_pendingLF > 0) { // either pendingLF, or closed
+            if (_inputSource != null) {
+                _handleLF();
+            }
+            return false;
+        }
+        int i = _trimSpaces ? _skipLeadingSpace() : _nextChar();
+        if (i < 0) { // EOF at this point signifies empty value
+            return true;
+        }
+        if (i == INT_CR || i == INT_LF) {
+            _pendingLF = i;
+            return true;
+        }
+        if (i == _quoteChar) {
+            _skipQuotedValue();
+        } else if (i != _separatorChar) {
+            _skipUnquotedValue();
+        }
+        return true;
+    }
+
+    /**
+     * Method called to parse the next token for a column that may contain
+     * literals ("null", "true", "false"), which will be exposed as matching
+     * tokens; other values are exposed as String values. Value is always trimmed.
+     *
+     * @return Type of the value token if more found; null to indicate end
+     *  of line of input
+     */
+    public JsonToken nextStringOrLiteral() throws IOException
+    {
+        _numTypesValid = NR_UNKNOWN;
+        if (!_nextValue(true)) {
+            return null;
+        }
+        return (_currToken = _typedToken(CsvSchema.ColumnType.STRING_OR_LITERAL));
+    }
+
+    /**
+     * Method called to parse the next token for a boolean column: similar to
+     * {@link #nextStringOrLiteral}, except that an empty value is considered
+     * to be null.
+     *
+     * @since 2.6
+     */
+    public JsonToken nextBoolean() throws IOException
+    {
+        _numTypesValid = NR_UNKNOWN;
+        if (!_nextValue(true)) {
+            return null;
+        }
+        return (_currToken = _typedToken(CsvSchema.ColumnType.BOOLEAN));
+    }
+
+    /**
+     * Method called to parse the next token for a numeric column. Digits are
+     * scanned directly from the decoded characters, and value is only parsed
+     * (without constructing a String) if and when accessed.
+     * In addition to numbers, literals are recognized, and an empty value is
+     * considered to be null. Values that are neither are exposed as
+     * String values, leaving coercion (or reporting of problems) to caller.
+     *
+     * @return Type of the value token if more found; null to indicate end
+     *  of line of input
+     */
+    public JsonToken nextNumber() throws IOException
+    {
+        _numTypesValid = NR_UNKNOWN;
+        if (!_nextValue(true)) {
+            return null;
+        }
+        return (_currToken = _typedToken(CsvSchema.ColumnType.NUMBER));
+    }
+
+    /**
+     * Method called to parse the next token for a column that may contain
+     * either numbers or Strings (or literals): unlike {@link #nextNumber},
+     * empty value is exposed as an empty String.
+     *
+     * @return Type of the value token if more found; null to indicate end
+     *  of line of input
+     */
+    public JsonToken nextNumberOrString() throws IOException
+    {
+        _numTypesValid = NR_UNKNOWN;
+        if (!_nextValue(true)) {
+            return null;
+        }
+        return (_currToken = _typedToken(CsvSchema.ColumnType.NUMBER_OR_STRING));
+    }
+
+    /**
+     * Method called to decode the next value into {@link TextBuffer}, without
+     * determining its type: used when caller needs to check contents before
+     * deciding how to expose the value (if at all).
+     *
+     * @param trim Whether leading and trailing white space (outside of quotes)
+     *    is to be trimmed
+     *
+     * @return True if a value was decoded; false to indicate end of line of input
+     *
+     * @since 2.6
+     */
+    public boolean decodeValue(boolean trim) throws IOException
+    {
+        _numTypesValid = NR_UNKNOWN;
+        return _nextValue(trim);
+    }
+
+    /**
+     * Method called to expose a value that was decoded earlier (and retained by
+     * caller) as the current value, with token type determined the same way
+     * as type-specific <code>nextXxx()</code> methods do for given column type.
+     * Given buffer must not be modified while value is being accessed.
+     *
+     * @since 2.6
+     */
+    public JsonToken bufferedValue(char[] buffer, int offset, int len, CsvSchema.ColumnType type)
+    {
+        _numTypesValid = NR_UNKNOWN;
+        _textBuffer.resetWithShared(buffer, offset, len);
+        return (_currToken = _typedToken(type));
+    }
+
+    /**
+     * Helper method for determining type of token to expose for value decoded into
+     * {@link TextBuffer}, for a column of given type.
+     */
+    protected JsonToken _typedToken(CsvSchema.ColumnType type)
+    {
+        JsonToken t;
+        switch (type) {
+        case NUMBER:
+            t = _numberFromText();
+            if (t == null) {
+                t = _literalFromText(true);
+            }
+            break;
+        case NUMBER_OR_STRING:
+            t = _numberFromText();
+            if (t == null) {
+                t = _literalFromText(false);
+            }
+            break;
+        case STRING_OR_LITERAL:
+            t = _literalFromText(false);
+            break;
+        case BOOLEAN:
+            t = _literalFromText(true);
+            break;
+        default:
+            t = null;
+        }
+        return (t == null) ? JsonToken.VALUE_STRING : t;
+    }
+
+    /*
+    /**********************************************************************
+    /* Actual parsing, private helper methods
+    /**********************************************************************
+     */
+
+    /**
+     * Method that decodes the next value into {@link TextBuffer}, without
+     * constructing a {@link String} out of it.
+     *
+     * @param trim Whether leading and trailing white space (outside of quotes)
+     *    is to be trimmed
+     *
+     * @return True if a value was decoded; false to indicate end of line of input
+     */
+    protected boolean _nextValue(boolean trim) throws IOException
+    {
+        if (_plainValues) {
+            return _nextPlainValue(trim);
+        }
         if (_pendingLF > 0) { // either pendingLF, or closed
             if (_inputSource != null) { // if closed, we just need to return null
                 _handleLF();
             }
-            return null; // end of line without new value
+            return false; // end of line without new value
         }
         int i;
 
-        if (_trimSpaces) {
+        if (trim) {
             i = _skipLeadingSpace();
         } else {
             i = _nextChar();
         }
         // First, need to ensure we know the starting location of token
-        _tokenInputTotal = _currInputProcessed + _inputPtr - 1;
-        _tokenInputRow = _currInputRow;
-        _tokenInputCol = _inputPtr - _currInputRowStart - 1;
+        if (_trackLocation) {
+            _tokenInputTotal = _currInputProcessed + _inputPtr - 1;
+            _tokenInputRow = _currInputRow;
+            _tokenInputCol = _inputPtr - _currInputRowStart - 1;
+        }
 
         if (i < 0) { // EOF at this point signifies empty value
-            return "";
+            _textBuffer.resetWithString("");
+            return true;
         }
 
         if (i == INT_CR || i == INT_LF) { // end-of-line means end of record; but also need to handle LF later on
             _pendingLF = i;
-            return "";
+            _textBuffer.resetWithString("");
+            return true;
         }
         // two modes: quoted, unquoted
         if (i == _quoteChar) { // offline quoted case (longer)
-            return _nextQuotedString();
+            _nextQuotedString();
+            return true;
         }
         if (i == _separatorChar) {
             _textBuffer.resetWithString("");
-            return "";
+            return true;
         }
-        
-        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
-        outBuf[0] = (char) i;
-        int outPtr = 1;
 
+        // Fast path: if the whole value is within input buffer and has no escapes,
+        // no need to copy it; can just share the input buffer segment
+        final char[] inputBuffer = _inputBuffer;
         int ptr = _inputPtr;
-        if (ptr >= _inputEnd) {
-            if (!loadMore()) { // ok to have end-of-input but...
-                return _textBuffer.finishAndReturn(outPtr, _trimSpaces);
-            }
-            ptr = _inputPtr;
-        }
-        final int end;
-        
         {
-            int max = Math.min(_inputEnd - ptr, outBuf.length - outPtr);
-            end = ptr + max;
+            final int end = _inputEnd;
+            while (ptr < end) {
+                char c = inputBuffer[ptr++];
+                if (c <= _maxSpecialChar) {
+                    if (c == _separatorChar) { // end of value, yay!
+                        _shareValue(_inputPtr - 1, ptr - 1, trim);
+                        _inputPtr = ptr;
+                        return true;
+                    }
+                    if (c == '\r' || c == '\n') {
+                        _pendingLF = c;
+                        _shareValue(_inputPtr - 1, ptr - 1, trim);
+                        _inputPtr = ptr;
+                        return true;
+                    }
+                    if (c == _escapeChar) {
+                        break;
+                    }
+                }
+            }
         }
 
-        // handle unquoted case locally if it can be handled without
-        // crossing buffer boundary...
-        char[] inputBuffer = _inputBuffer;
+        // If not, need to copy contents, starting from the first character
+        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
+        outBuf[0] = (char) i;
+        _nextUnquotedString(outBuf, 1, trim);
+        return true;
+    }
 
+    /**
+     * Specialized version of {@link #_nextValue} used when values can not be
+     * quoted or escaped: only separators and linefeeds need to be checked.
+     *
+     * @since 2.6
+     */
+    protected boolean _nextPlainValue(boolean trim) throws IOException
+    {
+        if (_pendingLF > 0) { // either pendingLF, or closed
+            if (_inputSource != null) {
+                _handleLF();
+            }
+            return false;
+        }
+        int i = trim ? _skipLeadingSpace() : _nextChar();
+        if (_trackLocation) {
+            _tokenInputTotal = _currInputProcessed + _inputPtr - 1;
+            _tokenInputRow = _currInputRow;
+            _tokenInputCol = _inputPtr - _currInputRowStart - 1;
+        }
+        if (i < 0) { // EOF at this point signifies empty value
+            _textBuffer.resetWithString("");
+            return true;
+        }
+        if (i == INT_CR || i == INT_LF) {
+            _pendingLF = i;
+            _textBuffer.resetWithString("");
+            return true;
+        }
+        final int sep = _separatorChar;
+        if (i == sep) {
+            _textBuffer.resetWithString("");
+            return true;
+        }
+        // Fast path, as with general case: share if contained within input buffer
+        final char[] inputBuffer = _inputBuffer;
+        final int maxSpecial = _maxSpecialChar;
+        final int end = _inputEnd;
+        int ptr = _inputPtr;
         while (ptr < end) {
             char c = inputBuffer[ptr++];
-            if (c <= _maxSpecialChar) {
-                if (c == _separatorChar) { // end of value, yay!
+            if (c <= maxSpecial) {
+                if (c == sep) {
+                    _shareValue(_inputPtr - 1, ptr - 1, trim);
                     _inputPtr = ptr;
-                    return _textBuffer.finishAndReturn(outPtr, _trimSpaces);
+                    return true;
                 }
                 if (c == '\r' || c == '\n') {
                     _pendingLF = c;
+                    _shareValue(_inputPtr - 1, ptr - 1, trim);
                     _inputPtr = ptr;
-                    return _textBuffer.finishAndReturn(outPtr, _trimSpaces);
-                }
-                if (c == _escapeChar) {
-                    --ptr;
-                    break;
+                    return true;
                 }
             }
-            outBuf[outPtr++] = c;
         }
-        // ok, either input or output across buffer boundary, offline
-        _inputPtr = ptr;
-        return _nextUnquotedString(outBuf, outPtr);
+        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
+        outBuf[0] = (char) i;
+        _nextPlainString(outBuf, 1, trim);
+        return true;
     }
 
-    public JsonToken nextStringOrLiteral() throws IOException
+    /**
+     * Helper method called to expose a value contained within input buffer
+     * without copying.
+     *
+     * @param start Index of the first character of the value
+     * @param end Index after the last character of the value
+     */
+    private final void _shareValue(int start, int end, boolean trim)
     {
-        _numTypesValid = NR_UNKNOWN;
-        // !!! TODO: implement properly
-        String value = nextString();
-        if (value == null) {
-            return null;
+        if (trim) {
+            while (end > start && _inputBuffer[end-1] <= INT_SPACE) {
+                --end;
+            }
         }
-        return JsonToken.VALUE_STRING;
+        _textBuffer.resetWithShared(_inputBuffer, start, end - start);
     }
 
-    public JsonToken nextNumber() throws IOException
+    /**
+     * Helper method called to check whether decoded value is one of
+     * literals ("null", "true", "false").
+     *
+     * @param emptyAsNull Whether empty value should be considered null as well
+     *
+     * @return Matching literal token, if any; null if not
+     */
+    protected JsonToken _literalFromText(boolean emptyAsNull)
     {
-        _numTypesValid = NR_UNKNOWN;
-        // !!! TODO: implement properly
-        String value = nextString();
-        if (value == null) {
+        final int len = _textBuffer.size();
+        if (len == 0) {
+            return emptyAsNull ? JsonToken.VALUE_NULL : null;
+        }
+        if (len < 4 || len > 5) {
             return null;
         }
-        return JsonToken.VALUE_STRING;
+        final char[] buf = _textBuffer.getTextBuffer();
+        final int offset = _textBuffer.getTextOffset();
+        switch (buf[offset]) {
+        case 'n':
+            if (_matches(buf, offset, len, "null")) {
+                return JsonToken.VALUE_NULL;
+            }
+            break;
+        case 't':
+            if (_matches(buf, offset, len, "true")) {
+                return JsonToken.VALUE_TRUE;
+            }
+            break;
+        case 'f':
+            if (_matches(buf, offset, len, "false")) {
+                return JsonToken.VALUE_FALSE;
+            }
+            break;
+        }
+        return null;
     }
-    public JsonToken nextNumberOrString() throws IOException
+
+    private final static boolean _matches(char[] buf, int offset, int len, String literal)
     {
-        _numTypesValid = NR_UNKNOWN;
-        // !!! TODO: implement properly
-        String value = nextString();
-        if (value == null) {
-            return null;
+        if (len != literal.length()) {
+            return false;
         }
-        return JsonToken.VALUE_STRING;
+        for (int i = 1; i < len; ++i) {
+            if (buf[offset+i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
     }
-    
-    /*
-    /**********************************************************************
-    /* Actual parsing, private helper methods
-    /**********************************************************************
+
+    /**
+     * Helper method called to check whether decoded value is a valid
+     * (as per JSON specification) number; and if so, to set up state
+     * for lazily parsing it.
+     *
+     * @return {@link JsonToken#VALUE_NUMBER_INT} or {@link JsonToken#VALUE_NUMBER_FLOAT}
+     *   if value is a number; null if not
      */
-    
-    protected String _nextUnquotedString(char[] outBuf, int outPtr) throws IOException
+    protected JsonToken _numberFromText()
+    {
+        final int len = _textBuffer.size();
+        if (len == 0) {
+            return null;
+        }
+        final char[] buf = _textBuffer.getTextBuffer();
+        int ptr = _textBuffer.getTextOffset();
+        final int end = ptr + len;
+
+        final boolean negative = (buf[ptr] == INT_MINUS);
+        if (negative) {
+            if (++ptr == end) {
+                return null;
+            }
+        }
+        final int intStart = ptr;
+        char c = buf[ptr];
+        if (c == INT_0) { // no leading zeroes allowed
+            if (++ptr < end) {
+                c = buf[ptr];
+                if (c >= INT_0 && c <= INT_9) {
+                    return null;
+                }
+            }
+        } else {
+            while (c >= INT_0 && c <= INT_9) {
+                if (++ptr == end) {
+                    break;
+                }
+                c = buf[ptr];
+            }
+        }
+        final int intLen = ptr - intStart;
+        if (intLen == 0) {
+            return null;
+        }
+        _numberNegative = negative;
+        _intLength = intLen;
+        if (ptr == end) { // common case: integral number
+            _fractLength = 0;
+            _expLength = 0;
+            return JsonToken.VALUE_NUMBER_INT;
+        }
+        int fractLen = 0;
+        if (c == INT_DECIMAL_POINT) {
+            while (++ptr < end) {
+                c = buf[ptr];
+                if (c < INT_0 || c > INT_9) {
+                    break;
+                }
+                ++fractLen;
+            }
+            if (fractLen == 0) { // must have at least one digit after decimal point
+                return null;
+            }
+        }
+        int expLen = 0;
+        if (ptr < end && (c == INT_e || c == INT_E)) {
+            if (++ptr < end) {
+                c = buf[ptr];
+                if (c == INT_MINUS || c == INT_PLUS) {
+                    ++ptr;
+                }
+            }
+            while (ptr < end) {
+                c = buf[ptr];
+                if (c < INT_0 || c > INT_9) {
+                    break;
+                }
+                ++expLen;
+                ++ptr;
+            }
+            if (expLen == 0) {
+                return null;
+            }
+        }
+        if (ptr != end) { // trailing garbage
+            return null;
+        }
+        _fractLength = fractLen;
+        _expLength = expLen;
+        return JsonToken.VALUE_NUMBER_FLOAT;
+    }
+
+    protected void _nextUnquotedString(char[] outBuf, int outPtr, boolean trim) throws IOException
     {
-        int c;
         final char[] inputBuffer = _inputBuffer;
         
         main_loop:
@@ -732,34 +1273,126 @@ public class CsvDecoder
                 outPtr = 0;
             }
             final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
+            // First find the end of run of non-special characters, then copy it all at once
+            final int start = ptr;
+            char c = 0;
             while (ptr < max) {
-                c = inputBuffer[ptr++];
+                c = inputBuffer[ptr];
                 if (c <= _maxSpecialChar) {
-                    if (c == _separatorChar) { // end of value, yay!
-                        _inputPtr = ptr;
-                        break main_loop;
-                    }
-                    if (c == '\r' || c == '\n') { // end of line is end of value as well
-                        _inputPtr = ptr;
-                        _pendingLF = c;
-                        break main_loop;
-                    }
-                    if (c == _escapeChar) {
-                        _inputPtr = ptr;
-                        outBuf[outPtr++] = _unescape();
-                        // May have passed input boundary, need to re-set
-                        continue main_loop;
+                    if (c == _separatorChar || c == '\r' || c == '\n' || c == _escapeChar) {
+                        break;
                     }
                 }
-                outBuf[outPtr++] = (char) c;
+                ++ptr;
             }
-            _inputPtr = ptr;
+            if (ptr > start) {
+                System.arraycopy(inputBuffer, start, outBuf, outPtr, ptr - start);
+                outPtr += (ptr - start);
+            }
+            if (ptr == max) { // need more input, or more room
+                _inputPtr = ptr;
+                continue main_loop;
+            }
+            _inputPtr = ++ptr;
+            if (c == _separatorChar) { // end of value, yay!
+                break main_loop;
+            }
+            if (c == '\r' || c == '\n') { // end of line is end of value as well
+                _pendingLF = c;
+                break main_loop;
+            }
+            // must be escape, then
+            outBuf[outPtr++] = _unescape();
+            // May have passed input boundary, need to re-set
         }
-        return _textBuffer.finishAndReturn(outPtr, _trimSpaces);
+        _textBuffer.finish(outPtr, trim);
     }
-    
-    protected String _nextQuotedString() throws IOException
+
+    /**
+     * Specialized version of {@link #_nextUnquotedString} used when values can not
+     * be quoted or escaped.
+     *
+     * @since 2.6
+     */
+    protected void _nextPlainString(char[] outBuf, int outPtr, boolean trim) throws IOException
+    {
+        final char[] inputBuffer = _inputBuffer;
+        final int sep = _separatorChar;
+        final int maxSpecial = _maxSpecialChar;
+
+        while (true) {
+            int ptr = _inputPtr;
+            if (ptr >= _inputEnd) {
+                if (!loadMore()) {
+                    break;
+                }
+                ptr = _inputPtr;
+            }
+            if (outPtr >= outBuf.length) {
+                outBuf = _textBuffer.finishCurrentSegment();
+                outPtr = 0;
+            }
+            final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
+            final int start = ptr;
+            char c = 0;
+            while (ptr < max) {
+                c = inputBuffer[ptr];
+                if ((c <= maxSpecial) && (c == sep || c == '\r' || c == '\n')) {
+                    break;
+                }
+                ++ptr;
+            }
+            if (ptr > start) {
+                System.arraycopy(inputBuffer, start, outBuf, outPtr, ptr - start);
+                outPtr += (ptr - start);
+            }
+            if (ptr == max) { // need more input, or more room
+                _inputPtr = ptr;
+                continue;
+            }
+            _inputPtr = ptr+1;
+            if (c != sep) {
+                _pendingLF = c;
+            }
+            break;
+        }
+        _textBuffer.finish(outPtr, trim);
+    }
+
+    protected void _nextQuotedString() throws IOException
     {
+        // Fast path: if the whole value is within input buffer, and contains no
+        // escapes, doubled quotes or linefeeds (if they need to be counted), we can just share it
+        final boolean countLFs = _trackLocation;
+        {
+            final char[] inputBuffer = _inputBuffer;
+            final int start = _inputPtr;
+            final int end = _inputEnd - 1; // need to see char after closing quote too
+            for (int ptr = start; ptr < end; ++ptr) {
+                char c = inputBuffer[ptr];
+                if (c <= _maxSpecialChar) {
+                    if (c == _quoteChar) {
+                        // must not need more input to skip trailing space, since
+                        // that would overwrite contents; so only for the common case
+                        // of quote directly followed by separator or linefeed
+                        int next = inputBuffer[ptr+1];
+                        if (next == _separatorChar) {
+                            _inputPtr = ptr+2;
+                        } else if (next == INT_CR || next == INT_LF) {
+                            _pendingLF = next;
+                            _inputPtr = ptr+2;
+                        } else {
+                            break;
+                        }
+                        _textBuffer.resetWithShared(inputBuffer, start, ptr - start);
+                        return;
+                    }
+                    if (c == _escapeChar || (countLFs && (c == '\r' || c == '\n'))) {
+                        break;
+                    }
+                }
+            }
+        }
         char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
         int outPtr = 0;
 
@@ -771,75 +1404,193 @@ public class CsvDecoder
             int ptr = _inputPtr;
             if (ptr >= _inputEnd) {
                 if (!loadMore()) { // not ok, missing end quote
-                    _owner._reportCsvError("Missing closing quote for value"); // should indicate start position?
+                    _owner._reportRecordError("Missing closing quote for value"); // should indicate start position?
                 }
                 ptr = _inputPtr;
-                if (checkLF && inputBuffer[ptr] == '\n') {
-                    // undo earlier advancement, to keep line number correct
-                    --_currInputRow;
+                if (checkLF) { // had a "hanging" CR in parse loop; check now
+                    checkLF = false;
+                    if (inputBuffer[ptr] == '\n') {
+                        // undo earlier advancement, to keep line number correct
+                        --_currInputRow;
+                    }
                 }
             }
-            if (checkLF) { // had a "hanging" CR in parse loop; check now
-            }
             if (outPtr >= outBuf.length) {
                 outBuf = _textBuffer.finishCurrentSegment();
                 outPtr = 0;
             }
             final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
+            // First find the end of run of non-special characters, then copy it all at once
+            final int start = ptr;
+            char c = 0;
+            while (ptr < max) {
+                c = inputBuffer[ptr];
+                if (c <= _maxSpecialChar) {
+                    if (c == _quoteChar || c == _escapeChar
+                            || (countLFs && (c == '\r' || c == '\n'))) {
+                        break;
+                    }
+                }
+                ++ptr;
+            }
+            if (ptr > start) {
+                System.arraycopy(inputBuffer, start, outBuf, outPtr, ptr - start);
+                outPtr += (ptr - start);
+            }
+            if (ptr == max) { // need more input, or more room
+                _inputPtr = ptr;
+                continue main_loop;
+            }
+            _inputPtr = ++ptr;
+            if (c == _quoteChar) {
+                // check if it's doubled up, or end of value:
+                if (_inputPtr < _inputEnd || loadMore()) { 
+                    if (_inputBuffer[_inputPtr] == _quoteChar) { // doubled up, append
+                        // note: should have enough room, is safe
+                        outBuf[outPtr++] = (char) _quoteChar;
+                        ++_inputPtr;
+                        continue main_loop;
+                    }
+                }
+                // Not doubled; leave next char as is
+                break;
+            }
+            if (c == _escapeChar) {
+                outBuf[outPtr++] = _unescape();
+                // May have passed input boundary, need to re-set
+                continue main_loop;
+            }
+            // Embedded linefeeds are fine (only get here if they are counted)
+            if (c == '\r') {
+                if (ptr >= _inputEnd) {
+                    checkLF = true; // will need to be checked in beginning of next loop
+                    ++_currInputRow;
+                    _currInputRowStart = ptr;
+                } else if (inputBuffer[ptr] != '\n') {
+                    ++_currInputRow;
+                    _currInputRowStart = ptr;
+                }
+            } else {
+                ++_currInputRow;
+                _currInputRowStart = ptr;
+            }
+            outBuf[outPtr++] = c;
+        }
+        // note: do NOT trim from within quoted Strings
+        _textBuffer.finish(outPtr, false);
+        _skipAfterQuotedValue();
+    }
 
-            inner_loop:
-            while (true) {
+    /**
+     * Helper method called to skip the rest of an unquoted value, up to
+     * and including separator (or linefeed, which is left pending).
+     */
+    protected void _skipUnquotedValue() throws IOException
+    {
+        final char[] inputBuffer = _inputBuffer;
+
+        main_loop:
+        while (_inputPtr < _inputEnd || loadMore()) {
+            int ptr = _inputPtr;
+            final int end = _inputEnd;
+            while (ptr < end) {
                 char c = inputBuffer[ptr++];
                 if (c <= _maxSpecialChar) {
-                    if (c == _quoteChar) {
+                    if (c == _separatorChar) {
                         _inputPtr = ptr;
-                        break;
+                        return;
                     }
-                    // Embedded linefeeds are fine
-                    if (c == '\r') {
-                        // bit crappy check but has to do:
-                        if (ptr >= max) {
-                            checkLF = true; // will need to be checked in beginning of next loop
-                            ++_currInputRow;
-                            _currInputRowStart = ptr;
-                        } else if (inputBuffer[ptr] != '\n') {
-                            ++_currInputRow;
-                            _currInputRowStart = ptr;
-                        }
-                    } else if (c == '\n') {
-                        ++_currInputRow;
-                        _currInputRowStart = ptr;
-                    } else if (c == _escapeChar) {
+                    if (c == '\r' || c == '\n') {
+                        _pendingLF = c;
+                        _inputPtr = ptr;
+                        return;
+                    }
+                    if (c == _escapeChar) {
                         _inputPtr = ptr;
-                        c = _unescape();
-                        outBuf[outPtr++] = c;
-                        // May have passed input boundary, need to re-set
+                        _unescape();
                         continue main_loop;
                     }
                 }
-                outBuf[outPtr++] = c;
-                if (ptr >= max) {
-                    _inputPtr = ptr;
-                    continue main_loop;
+            }
+            _inputPtr = ptr;
+        }
+    }
+
+    /**
+     * Helper method called to skip the rest of a quoted value, including
+     * closing quote and trailing space and separator.
+     */
+    protected void _skipQuotedValue() throws IOException
+    {
+        final char[] inputBuffer = _inputBuffer;
+        boolean checkLF = false; // marker for split CR+LF
+
+        main_loop:
+        while (true) {
+            if (_inputPtr >= _inputEnd) {
+                if (!loadMore()) { // not ok, missing end quote
+                    _owner._reportRecordError("Missing closing quote for value");
+                }
+                if (checkLF) {
+                    checkLF = false;
+                    if (inputBuffer[_inputPtr] == '\n') {
+                        // undo earlier advancement, to keep line number correct
+                        --_currInputRow;
+                    }
                 }
-                continue inner_loop;
             }
-            // We get here if we hit a quote: check if it's doubled up, or end of value:
-            if (_inputPtr < _inputEnd || loadMore()) { 
-                if (_inputBuffer[_inputPtr] == _quoteChar) { // doubled up, append
-                    // note: should have enough room, is safe
-                    outBuf[outPtr++] = (char) _quoteChar;
-                    ++_inputPtr;
+            int ptr = _inputPtr;
+            final int end = _inputEnd;
+            while (ptr < end) {
+                char c = inputBuffer[ptr++];
+                if (c > _maxSpecialChar) {
+                    continue;
+                }
+                if (c == _quoteChar) {
+                    _inputPtr = ptr;
+                    // doubled up, or end of value?
+                    if (_inputPtr < _inputEnd || loadMore()) {
+                        if (inputBuffer[_inputPtr] == _quoteChar) {
+                            ++_inputPtr;
+                            continue main_loop;
+                        }
+                    }
+                    _skipAfterQuotedValue();
+                    return;
+                }
+                if (c == _escapeChar) {
+                    _inputPtr = ptr;
+                    _unescape();
                     continue main_loop;
                 }
+                // Embedded linefeeds are fine, just need to be counted
+                if (!_trackLocation) {
+                    continue;
+                }
+                if (c == '\r') {
+                    if (ptr >= end) {
+                        checkLF = true;
+                        ++_currInputRow;
+                        _currInputRowStart = ptr;
+                    } else if (inputBuffer[ptr] != '\n') {
+                        ++_currInputRow;
+                        _currInputRowStart = ptr;
+                    }
+                } else if (c == '\n') {
+                    ++_currInputRow;
+                    _currInputRowStart = ptr;
+                }
             }
-            // Not doubled; leave next char as is
-            break;
+            _inputPtr = ptr;
         }
-        // note: do NOT trim from within quoted Strings
-        String result = _textBuffer.finishAndReturn(outPtr, false);
+    }
 
-        // good, but we also need to locate and skip trailing space, separator
+    /**
+     * Helper method called after closing quote of a quoted value, to
+     * locate and skip trailing space and separator.
+     */
+    protected final void _skipAfterQuotedValue() throws IOException
+    {
         // (note: space outside quotes never included, but must be skipped)
         while (_inputPtr < _inputEnd || loadMore()) { // end-of-input is fine
             int ch = _inputBuffer[_inputPtr++];
@@ -855,10 +1606,9 @@ public class CsvDecoder
             }
             _owner._reportUnexpectedCsvChar(ch, "Expected separator ("+_getCharDesc(_quoteChar)+") or end-of-line");
         }
-        return result;
     }
     
-    protected final void _handleLF() throws IOException
+    protected void _handleLF() throws IOException
     {
         // already skipped past first part; but may get \r\n so skip the other char too?
         if (_pendingLF == INT_CR) {
@@ -877,7 +1627,7 @@ public class CsvDecoder
     {
         if (_inputPtr >= _inputEnd) {
             if (!loadMore()) {
-                _reportError("Unexpected EOF in escaped character");
+                _owner._reportRecordError("Unexpected EOF in escaped character");
             }
         }
         // Some characters are more special than others, so:
@@ -896,7 +1646,7 @@ public class CsvDecoder
         return c;
     }
     
-    protected final int _nextChar() throws IOException
+    protected int _nextChar() throws IOException
     {
         if (_inputPtr >= _inputEnd) {
             if (!loadMore()) {
@@ -906,7 +1656,7 @@ public class CsvDecoder
         return _inputBuffer[_inputPtr++];
     }
     
-    protected final int _skipLeadingSpace() throws IOException
+    protected int _skipLeadingSpace() throws IOException
     {
         while (true) {
             if (_inputPtr >= _inputEnd) {
@@ -41,7 +41,7 @@ public class CsvEncoder
     /**
      * Underlying {@link Writer} used for output.
      */
-    final protected Writer _out;
+    protected Writer _out;
     
     final protected char _cfgColumnSeparator;
 
@@ -138,7 +138,7 @@ public class CsvEncoder
      * Offset to index after the last valid index in {@link #_outputBuffer}.
      * Typically same as length of the buffer.
      */
-    protected final int _outputEnd;
+    protected int _outputEnd;
     
     /**
      * Let's keep track of how many bytes have been output, may prove useful
@@ -217,6 +217,27 @@ public class CsvEncoder
         return new CsvEncoder(this, schema);
     }
 
+    /**
+     * Method called by generator to start writing a new document using
+     * given {@link Writer}, reusing output buffer (or re-allocating it,
+     * if already released). Previous output must have been closed.
+     *
+     * @since 2.6
+     */
+    public void reset(Writer out)
+    {
+        _out = out;
+        if (_outputBuffer == null) {
+            _outputBuffer = _ioContext.allocConcatBuffer();
+            _bufferRecyclable = true;
+            _outputEnd = _outputBuffer.length;
+        }
+        _outputTail = 0;
+        _charsWritten = 0;
+        _nextColumnToWrite = 0;
+        _lastBuffered = -1;
+    }
+
     public CsvEncoder setFeatures(int feat) {
         if (feat != _csvFeatures) {
             _csvFeatures = feat;
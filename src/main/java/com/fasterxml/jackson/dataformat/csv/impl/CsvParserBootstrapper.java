@@ -114,6 +114,8 @@ public final class CsvParserBootstrapper
     public CsvParser constructParser(int baseFeatures, int csvFeatures) throws IOException
     {
         boolean foundEncoding = false;
+        // byte offsets are from the beginning of content, including possible BOM
+        final int contentStart = _inputPtr;
 
         // First things first: BOM handling
         if (ensureLoaded(4)) {
@@ -157,6 +159,12 @@ public final class CsvParserBootstrapper
             throw new RuntimeException("Internal error"); // should never get here
         }
         _context.setEncoding(enc);
+        // UTF-8 content can be decoded directly from bytes, no need for a Reader
+        if (enc == JsonEncoding.UTF8) {
+            // (buffer is only recyclable if we allocated it, i.e. have a stream)
+            return new CsvParser((CsvIOContext) _context, baseFeatures, csvFeatures, _codec,
+                    _in, _inputBuffer, contentStart, _inputPtr, _inputEnd, (_in != null));
+        }
         return new CsvParser((CsvIOContext) _context, baseFeatures, csvFeatures, _codec,
                 _createReader(enc));
     }
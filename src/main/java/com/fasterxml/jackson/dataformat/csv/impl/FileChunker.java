@@ -0,0 +1,281 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Helper class used for splitting a CSV file into byte ranges that begin and end
+ * at record boundaries, so that ranges can be parsed independently.
+ * Boundaries are located in two passes, both of which are done in parallel:
+ *<ol>
+ * <li>File is split into ranges of (about) same size and quote characters in each
+ *   range are counted: parity of counts of preceding ranges tells whether the start of a
+ *   range is within a quoted value.
+ *  </li>
+ * <li>Starting from beginning of each range, linefeeds are scanned until one outside of
+ *   quoted value is found: record boundary is right after the linefeed.
+ *  </li>
+ *</ol>
+ * This only works for content where quote characters are only used for quoting whole values
+ * (with doubled quotes for quote characters within), and that has no escape characters
+ * or comments. Content is also expected to use an ASCII-compatible encoding, usually UTF-8.
+ *
+ * @since 2.6
+ */
+public class FileChunker
+{
+    protected final static int BUFFER_SIZE = 64000;
+
+    protected final File _file;
+
+    /**
+     * Quote character used; or -1 if none
+     */
+    protected final int _quoteChar;
+
+    protected final long _length;
+
+    public FileChunker(File f, int quoteChar)
+    {
+        _file = f;
+        _quoteChar = quoteChar;
+        _length = f.length();
+    }
+
+    public long getLength() {
+        return _length;
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    /**
+     * Method for finding boundaries of given number of ranges.
+     *
+     * @param chunkCount Number of ranges to split file into
+     * @param firstStart Offset before which no range (other than the first one)
+     *    may start; used for ensuring that the header line stays in the first range
+     *
+     * @return Array of <code>chunkCount+1</code> offsets: range <code>i</code> starts
+     *   at offset <code>i</code> (inclusive) and ends at offset <code>i+1</code> (exclusive).
+     *   Some ranges may be empty.
+     */
+    public long[] findBoundaries(int chunkCount, long firstStart, ExecutorService executor)
+        throws IOException
+    {
+        if (chunkCount < 1) {
+            throw new IllegalArgumentException("Invalid chunk count ("+chunkCount+"): must be positive");
+        }
+        final long[] nominal = new long[chunkCount+1];
+        for (int i = 0; i <= chunkCount; ++i) {
+            nominal[i] = (_length / chunkCount) * i + (_length % chunkCount) * i / chunkCount;
+        }
+        final RandomAccessFile raf = new RandomAccessFile(_file, "r");
+        try {
+            final FileChannel channel = raf.getChannel();
+
+            // First pass: quote parity at start of each range
+            final boolean[] inQuotes = new boolean[chunkCount];
+            // (note: on failure, tasks are cancelled and waited for, before file is closed)
+            if (_quoteChar >= 0) {
+                TaskGroup<Boolean> oddCounts = new TaskGroup<Boolean>(executor);
+                for (int i = 1; i < chunkCount; ++i) {
+                    final long start = nominal[i-1];
+                    final long end = nominal[i];
+                    oddCounts.submit(new Callable<Boolean>() {
+                        @Override
+                        public Boolean call() throws IOException {
+                            return _hasOddQuoteCount(channel, start, end);
+                        }
+                    });
+                }
+                for (int i = 1; i < chunkCount; ++i) {
+                    inQuotes[i] = inQuotes[i-1] ^ oddCounts.getResult(i-1).booleanValue();
+                }
+            }
+
+            // Second pass: record boundaries
+            TaskGroup<Long> starts = new TaskGroup<Long>(executor);
+            for (int i = 1; i < chunkCount; ++i) {
+                final long start = nominal[i];
+                final boolean quoted = inQuotes[i];
+                starts.submit(new Callable<Long>() {
+                    @Override
+                    public Long call() throws IOException {
+                        return _findRecordEnd(channel, start, quoted);
+                    }
+                });
+            }
+            final long[] result = new long[chunkCount+1];
+            result[chunkCount] = _length;
+            for (int i = 1; i < chunkCount; ++i) {
+                long start = starts.getResult(i-1).longValue();
+                result[i] = Math.min(_length, Math.max(start, Math.max(firstStart, result[i-1])));
+            }
+            return result;
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Method for finding the end of the record that contains given offset:
+     * that is, offset at which the following record starts.
+     *
+     * @param inQuotes Whether given offset is within a quoted value
+     */
+    public long findRecordEnd(long offset, boolean inQuotes) throws IOException
+    {
+        RandomAccessFile raf = new RandomAccessFile(_file, "r");
+        try {
+            return _findRecordEnd(raf.getChannel(), offset, inQuotes);
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Method for checking whether given range has odd number of quote
+     * characters: if so, and range starts outside of a quoted value, it ends
+     * within one.
+     */
+    public boolean hasOddQuoteCount(long start, long end) throws IOException
+    {
+        if (_quoteChar < 0) {
+            return false;
+        }
+        RandomAccessFile raf = new RandomAccessFile(_file, "r");
+        try {
+            return _hasOddQuoteCount(raf.getChannel(), start, end);
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Method for estimating average length of records in bytes, based on
+     * the first records of the file.
+     */
+    public double estimateRecordLength() throws IOException
+    {
+        final long end = Math.min(_length, BUFFER_SIZE);
+        long offset = 0L;
+        int count = 0;
+        RandomAccessFile raf = new RandomAccessFile(_file, "r");
+        try {
+            final FileChannel channel = raf.getChannel();
+            while (offset < end) {
+                offset = _findRecordEnd(channel, offset, false);
+                ++count;
+            }
+        } finally {
+            raf.close();
+        }
+        return (count == 0) ? 1.0 : ((double) offset / count);
+    }
+
+    /**
+     * Helper method for accessing result of a task, unwrapping exception
+     * it may have thrown.
+     */
+    public static <T> T getResult(Future<T> future) throws IOException
+    {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a task to complete");
+        } catch (ExecutionException e) {
+            Throwable t = e.getCause();
+            if (t instanceof IOException) {
+                throw (IOException) t;
+            }
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            throw new IOException(t);
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected boolean _hasOddQuoteCount(FileChannel channel, long start, long end)
+        throws IOException
+    {
+        final byte quote = (byte) _quoteChar;
+        final ByteBuffer bb = ByteBuffer.allocate(BUFFER_SIZE);
+        final byte[] buffer = bb.array();
+        boolean odd = false;
+
+        while (start < end) {
+            int count = _read(channel, bb, start, end);
+            if (count < 0) {
+                break;
+            }
+            for (int i = 0; i < count; ++i) {
+                if (buffer[i] == quote) {
+                    odd = !odd;
+                }
+            }
+            start += count;
+        }
+        return odd;
+    }
+
+    protected long _findRecordEnd(FileChannel channel, long offset, boolean inQuotes)
+        throws IOException
+    {
+        final int quote = _quoteChar;
+        final ByteBuffer bb = ByteBuffer.allocate(BUFFER_SIZE);
+        final byte[] buffer = bb.array();
+        boolean gotCR = false;
+
+        while (offset < _length) {
+            int count = _read(channel, bb, offset, _length);
+            if (count < 0) {
+                break;
+            }
+            for (int i = 0; i < count; ++i) {
+                int c = buffer[i];
+                if (gotCR) { // CR followed by LF is a single linefeed
+                    return (c == '\n') ? (offset+i+1) : (offset+i);
+                }
+                if (c == quote) {
+                    inQuotes = !inQuotes;
+                } else if (!inQuotes) {
+                    if (c == '\n') {
+                        return offset+i+1;
+                    }
+                    if (c == '\r') {
+                        gotCR = true;
+                    }
+                }
+            }
+            offset += count;
+        }
+        return _length;
+    }
+
+    private int _read(FileChannel channel, ByteBuffer bb, long offset, long end)
+        throws IOException
+    {
+        bb.clear();
+        if ((end - offset) < bb.capacity()) {
+            bb.limit((int) (end - offset));
+        }
+        return channel.read(bb, offset);
+    }
+}
@@ -0,0 +1,88 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * {@link InputStream} implementation that exposes a byte range of a file.
+ *
+ * @since 2.6
+ */
+public class FileRangeInputStream extends InputStream
+{
+    protected final RandomAccessFile _file;
+
+    protected final FileChannel _channel;
+
+    /**
+     * Offset of the next byte to read
+     */
+    protected long _offset;
+
+    /**
+     * Offset after the last byte of the range
+     */
+    protected final long _end;
+
+    public FileRangeInputStream(File f, long start, long end) throws IOException
+    {
+        if (start < 0L || end < start) {
+            throw new IllegalArgumentException("Invalid range ["+start+", "+end+")");
+        }
+        _file = new RandomAccessFile(f, "r");
+        _channel = _file.getChannel();
+        _offset = start;
+        _end = end;
+    }
+
+    @Override
+    public int read() throws IOException
+    {
+        byte[] b = new byte[1];
+        return (read(b, 0, 1) < 0) ? -1 : (b[0] & 0xFF);
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int len) throws IOException
+    {
+        if (len == 0) {
+            return 0;
+        }
+        long left = _end - _offset;
+        if (left <= 0L) {
+            return -1;
+        }
+        if (len > left) {
+            len = (int) left;
+        }
+        int count = _channel.read(ByteBuffer.wrap(buffer, offset, len), _offset);
+        if (count < 0) { // file truncated?
+            _offset = _end;
+            return -1;
+        }
+        _offset += count;
+        return count;
+    }
+
+    @Override
+    public long skip(long n)
+    {
+        if (n <= 0L) {
+            return 0L;
+        }
+        n = Math.min(n, _end - _offset);
+        _offset += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, _end - _offset);
+    }
+
+    @Override
+    public void close() throws IOException {
+        _file.close();
+    }
+}
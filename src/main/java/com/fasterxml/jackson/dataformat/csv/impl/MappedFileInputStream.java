@@ -0,0 +1,142 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * {@link InputStream} implementation that exposes contents of a file using
+ * memory-mapping: file is mapped in windows of at most {@link #MAX_WINDOW_SIZE}
+ * bytes, and reads are served by bulk copies from the mapped buffer, without
+ * system calls. This is efficient for files that are (likely to be) in page
+ * cache; for others, reads result in page faults instead of <code>read()</code>
+ * calls.
+ *<p>
+ * Note that there is no way to explicitly unmap buffers: mapped windows are released
+ * when they are garbage collected.
+ *
+ * @since 2.6
+ */
+public class MappedFileInputStream extends InputStream
+{
+    /**
+     * Maximum size of a mapped window; limited by maximum size of
+     * a {@link java.nio.ByteBuffer}.
+     */
+    public final static int MAX_WINDOW_SIZE = Integer.MAX_VALUE;
+
+    protected final FileChannel _channel;
+
+    protected final long _fileLength;
+
+    protected final int _windowSize;
+
+    /**
+     * Offset within file of the start of the current window
+     */
+    protected long _windowStart;
+
+    protected MappedByteBuffer _window;
+
+    public MappedFileInputStream(File f) throws IOException {
+        this(f, MAX_WINDOW_SIZE);
+    }
+
+    public MappedFileInputStream(File f, int windowSize) throws IOException
+    {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Invalid window size ("+windowSize+"): must be positive");
+        }
+        RandomAccessFile raf = new RandomAccessFile(f, "r");
+        _channel = raf.getChannel();
+        _windowSize = windowSize;
+        try {
+            _fileLength = _channel.size();
+            _windowStart = 0L;
+            _window = _map(0L);
+        } catch (IOException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* InputStream implementation
+    /**********************************************************************
+     */
+
+    @Override
+    public int read() throws IOException
+    {
+        if (!_window.hasRemaining() && !_nextWindow()) {
+            return -1;
+        }
+        return _window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int len) throws IOException
+    {
+        if (len == 0) {
+            return 0;
+        }
+        if (!_window.hasRemaining() && !_nextWindow()) {
+            return -1;
+        }
+        len = Math.min(len, _window.remaining());
+        _window.get(buffer, offset, len);
+        return len;
+    }
+
+    @Override
+    public long skip(long n) throws IOException
+    {
+        if (n <= 0L) {
+            return 0L;
+        }
+        long pos = _windowStart + _window.position();
+        n = Math.min(n, _fileLength - pos);
+        pos += n;
+        if (pos < _windowStart + _window.limit()) {
+            _window.position((int) (pos - _windowStart));
+        } else {
+            _windowStart = pos;
+            _window = _map(pos);
+        }
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return _window.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        _channel.close();
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected boolean _nextWindow() throws IOException
+    {
+        long next = _windowStart + _window.limit();
+        if (next >= _fileLength) {
+            return false;
+        }
+        _windowStart = next;
+        _window = _map(next);
+        return true;
+    }
+
+    protected MappedByteBuffer _map(long offset) throws IOException
+    {
+        long size = Math.min(_windowSize, _fileLength - offset);
+        return _channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+    }
+}
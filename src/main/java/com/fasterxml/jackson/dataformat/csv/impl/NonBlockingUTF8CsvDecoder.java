@@ -0,0 +1,310 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.io.IOContext;
+
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * {@link UTF8CsvDecoder} for non-blocking parsing: instead of reading
+ * input from a stream, caller feeds content using {@link #feedInput}, and
+ * indicates end of content with {@link #endOfInput}.
+ *<p>
+ * Decoding itself is done exactly as with blocking decoders; but parser only
+ * starts decoding a record once {@link #hasCompleteRecords} indicates that
+ * the whole record is buffered, so that decoding never needs more input than
+ * what has been fed. To find record boundaries, buffered content is scanned
+ * for linefeeds, keeping track of quoted values (which may contain linefeeds);
+ * scanning is resumed from where it was left when more content is fed.
+ * Scanning is done on bytes, so if separator, quote or escape character is not
+ * a single-byte character, no records are decoded before end of input.
+ *
+ * @since 2.6
+ */
+public class NonBlockingUTF8CsvDecoder extends UTF8CsvDecoder
+{
+    private final static int SCAN_LINE_START = 0;
+    private final static int SCAN_VALUE_START = 1;
+    private final static int SCAN_UNQUOTED = 2;
+    private final static int SCAN_QUOTED = 3;
+    private final static int SCAN_COMMENT = 4;
+
+    /**
+     * Flag set when caller has indicated that no more content will be fed.
+     */
+    protected boolean _inputEnded;
+
+    /**
+     * Flag set once possible UTF-8 BOM at the start of content has been skipped.
+     */
+    protected boolean _bomChecked;
+
+    /**
+     * Value of {@link #_inputPtr} when scanning for complete records started;
+     * -1 if no scanning has been done since schema was set.
+     */
+    protected int _scanStart = -1;
+
+    /**
+     * Pointer to the next byte to scan
+     */
+    protected int _scanPtr;
+
+    /**
+     * State of scanning at {@link #_scanPtr}; one of <code>SCAN_</code> constants.
+     */
+    protected int _scanState;
+
+    /**
+     * Number of complete records found between {@link #_scanStart} and
+     * {@link #_scanPtr}.
+     */
+    protected int _scanRecords;
+
+    public NonBlockingUTF8CsvDecoder(CsvParser owner, IOContext ctxt,
+            CsvSchema schema, TextBuffer textBuffer, boolean trimSpaces)
+    {
+        super(owner, ctxt, null, ctxt.allocReadIOBuffer(), 0, 0, 0, true,
+                schema, textBuffer, false, trimSpaces);
+    }
+
+    @Override
+    public void setSchema(CsvSchema schema)
+    {
+        super.setSchema(schema);
+        // separators may have changed, so need to rescan
+        _scanStart = -1;
+    }
+
+    /*
+    /**********************************************************************
+    /* Feeding input
+    /**********************************************************************
+     */
+
+    /**
+     * Method for appending given content to buffered input. Content that
+     * has already been decoded is dropped from the buffer at this point.
+     */
+    public void feedInput(byte[] buf, int start, int end) throws IOException
+    {
+        if (_inputEnded) {
+            _reportError("Already closed, can not feed more input");
+        }
+        if (end < start) {
+            _reportError("Input end ("+end+") may not be before start ("+start+")");
+        }
+        final int shift = _inputPtr;
+        if (shift > 0) {
+            int remaining = _inputEnd - shift;
+            if (remaining > 0) {
+                System.arraycopy(_inputBytes, shift, _inputBytes, 0, remaining);
+            }
+            _currInputProcessed += shift;
+            _currInputRowStart -= shift;
+            if (_scanStart >= 0) {
+                _scanStart -= shift;
+                _scanPtr -= shift;
+            }
+            _inputPtr = 0;
+            _inputEnd = remaining;
+        }
+        int len = end - start;
+        int needed = _inputEnd + len;
+        if (needed > _inputBytes.length) {
+            byte[] old = _inputBytes;
+            _inputBytes = Arrays.copyOf(old, Math.max(needed, old.length + (old.length >> 1)));
+            if (_bufferRecyclable) {
+                _bufferRecyclable = false;
+                _ioContext.releaseReadIOBuffer(old);
+            }
+        }
+        System.arraycopy(buf, start, _inputBytes, _inputEnd, len);
+        _inputEnd = needed;
+    }
+
+    /**
+     * Method called to indicate that no more content will be fed.
+     */
+    public void endOfInput() {
+        _inputEnded = true;
+    }
+
+    public boolean isEndOfInput() {
+        return _inputEnded;
+    }
+
+    @Override
+    protected boolean loadMore() throws IOException
+    {
+        // Nothing more to load before more input is fed: parser only decodes
+        // complete records, so this should only be reached at the end of input
+        if (!_inputEnded) {
+            return false;
+        }
+        return super.loadMore();
+    }
+
+    /*
+    /**********************************************************************
+    /* Scanning for complete records
+    /**********************************************************************
+     */
+
+    @Override
+    public boolean hasCompleteRecords(int count) throws IOException
+    {
+        if (!_bomChecked && !_skipBOM()) {
+            return false;
+        }
+        if (_inputEnded) {
+            return true;
+        }
+        if (_maxSpecialChar > 0x7F) {
+            return false;
+        }
+        if (_scanStart != _inputPtr) {
+            int ptr = _inputPtr;
+            // need to know if CR of previous record is followed by LF
+            if (_pendingLF == INT_CR) {
+                if (ptr >= _inputEnd) {
+                    _scanStart = -1;
+                    return false;
+                }
+                if (_inputBytes[ptr] == INT_LF) {
+                    ++ptr;
+                }
+            }
+            _scanStart = _inputPtr;
+            _scanPtr = ptr;
+            _scanState = SCAN_LINE_START;
+            _scanRecords = 0;
+        }
+        if (_scanRecords < count) {
+            _scan(count);
+        }
+        return (_scanRecords >= count);
+    }
+
+    private void _scan(int count)
+    {
+        final byte[] buf = _inputBytes;
+        final int end = _inputEnd;
+        final int sep = _separatorChar;
+        final int quote = _quoteChar;
+        final int esc = _escapeChar;
+        int ptr = _scanPtr;
+        int state = _scanState;
+        int records = _scanRecords;
+
+        scan_loop:
+        while ((records < count) && (ptr < end)) {
+            int c = buf[ptr] & 0xFF;
+            switch (state) {
+            case SCAN_LINE_START:
+                if (_allowComments && c == INT_HASH) {
+                    state = SCAN_COMMENT;
+                    ++ptr;
+                    continue;
+                }
+                state = SCAN_VALUE_START;
+                // fall through
+            case SCAN_VALUE_START:
+                if (c == quote) {
+                    state = SCAN_QUOTED;
+                    ++ptr;
+                    continue;
+                }
+                if (_trimSpaces && c <= INT_SPACE && c != INT_CR && c != INT_LF) {
+                    ++ptr;
+                    continue;
+                }
+                state = SCAN_UNQUOTED;
+                // fall through
+            case SCAN_UNQUOTED:
+                if (c == sep) {
+                    state = SCAN_VALUE_START;
+                    ++ptr;
+                    continue;
+                }
+                if (c == esc) {
+                    if (ptr+1 >= end) {
+                        break scan_loop;
+                    }
+                    ptr += 2;
+                    continue;
+                }
+                break;
+            case SCAN_QUOTED:
+                if (c == quote) {
+                    // need to see whether quote is doubled
+                    if (ptr+1 >= end) {
+                        break scan_loop;
+                    }
+                    if ((buf[ptr+1] & 0xFF) == quote) {
+                        ptr += 2;
+                    } else { // anything until separator is skipped
+                        state = SCAN_UNQUOTED;
+                        ++ptr;
+                    }
+                    continue;
+                }
+                if (c == esc) {
+                    if (ptr+1 >= end) {
+                        break scan_loop;
+                    }
+                    ptr += 2;
+                    continue;
+                }
+                ++ptr;
+                continue;
+            }
+            // Unquoted value or comment: linefeed ends record
+            if (c == INT_CR || c == INT_LF) {
+                if (c == INT_CR) { // need to see whether CR is followed by LF
+                    if (ptr+1 >= end) {
+                        break scan_loop;
+                    }
+                    if (buf[ptr+1] == INT_LF) {
+                        ++ptr;
+                    }
+                }
+                if (state != SCAN_COMMENT) {
+                    ++records;
+                }
+                state = SCAN_LINE_START;
+            }
+            ++ptr;
+        }
+        _scanPtr = ptr;
+        _scanState = state;
+        _scanRecords = records;
+    }
+
+    /**
+     * Helper method for skipping UTF-8 BOM, if content starts with one.
+     *
+     * @return True if BOM was skipped or there is none; false if more content
+     *   is needed to know
+     */
+    private boolean _skipBOM()
+    {
+        int avail = _inputEnd - _inputPtr;
+        if (avail < 3 && !_inputEnded) {
+            if (avail == 0 || _inputBytes[_inputPtr] == (byte) 0xEF) {
+                return false;
+            }
+        } else if (avail >= 3 && _inputBytes[_inputPtr] == (byte) 0xEF
+                && _inputBytes[_inputPtr+1] == (byte) 0xBB
+                && _inputBytes[_inputPtr+2] == (byte) 0xBF) {
+            // BOM is skipped, but still included in byte offsets (not in columns)
+            _inputPtr += 3;
+            _currInputRowStart += 3;
+        }
+        _bomChecked = true;
+        return true;
+    }
+}
@@ -0,0 +1,493 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.*;
+import java.util.concurrent.*;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * {@link InputStream} that decompresses gzip-compressed content using a separate
+ * read-ahead thread, so that decompression overlaps with processing of the
+ * decompressed content. Content may consist of multiple gzip members (which
+ * are simply concatenated); and for members that specify their compressed size
+ * (as done by BGZF, "blocked gzip" used by bioinformatics tools, and some
+ * parallel compressors), read-ahead thread only reads compressed data, and
+ * members are inflated in parallel using given executor. Other members are
+ * inflated by the read-ahead thread itself.
+ *<p>
+ * Decompressed content is passed in chunks (at most {@link #MAX_PENDING_CHUNKS}
+ * of which are pending at any time, to bound memory usage), always in order.
+ * If content does not start with gzip header, it is passed as is.
+ *<p>
+ * Stream should always be closed, even if not all content is read, to stop
+ * read-ahead thread.
+ *
+ * @since 2.6
+ */
+public class ParallelGzipInputStream extends InputStream
+{
+    /**
+     * Maximum number of decompressed (or being decompressed) chunks
+     * read-ahead thread may have pending.
+     */
+    public final static int MAX_PENDING_CHUNKS = 16;
+
+    protected final static int CHUNK_SIZE = 64000;
+
+    protected final static int INPUT_BUFFER_SIZE = 16000;
+
+    /**
+     * Maximum uncompressed size of a member inflated in parallel: 64k
+     * for BGZF, but let's allow bit more for other compressors.
+     */
+    protected final static int MAX_MEMBER_SIZE = 4 * 1024 * 1024;
+
+    private final static int FHCRC = 0x02;
+    private final static int FEXTRA = 0x04;
+    private final static int FNAME = 0x08;
+    private final static int FCOMMENT = 0x10;
+
+    /**
+     * Marker for end of content.
+     */
+    private final static byte[] END_MARKER = new byte[0];
+
+    protected final InputStream _in;
+
+    /**
+     * Executor used for inflating members in parallel, if any; if null,
+     * read-ahead thread inflates all members.
+     */
+    protected final ExecutorService _executor;
+
+    /**
+     * Whether underlying stream is to be closed when this stream is closed
+     */
+    protected final boolean _closeSource;
+
+    protected final BlockingQueue<Future<byte[]>> _chunks
+        = new ArrayBlockingQueue<Future<byte[]>>(MAX_PENDING_CHUNKS);
+
+    protected final Thread _readAhead;
+
+    protected volatile boolean _closed;
+
+    /**
+     * Flag set when end of content (or a problem) has been reached by reader
+     */
+    protected boolean _endOfInput;
+
+    protected byte[] _chunk = END_MARKER;
+
+    protected int _chunkPtr;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    /**
+     * @param in Stream to read compressed content from
+     * @param executor Executor used for inflating members in parallel, if any
+     * @param closeSource Whether given stream is to be closed when this stream is closed
+     */
+    public ParallelGzipInputStream(InputStream in, ExecutorService executor, boolean closeSource)
+    {
+        _in = in;
+        _executor = executor;
+        _closeSource = closeSource;
+        _readAhead = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                _readAhead();
+            }
+        }, "csv-gzip-read-ahead");
+        _readAhead.setDaemon(true);
+        _readAhead.start();
+    }
+
+    /*
+    /**********************************************************************
+    /* InputStream implementation
+    /**********************************************************************
+     */
+
+    @Override
+    public int read() throws IOException
+    {
+        if ((_chunkPtr >= _chunk.length) && !_nextChunk()) {
+            return -1;
+        }
+        return _chunk[_chunkPtr++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int len) throws IOException
+    {
+        if (len == 0) {
+            return 0;
+        }
+        if ((_chunkPtr >= _chunk.length) && !_nextChunk()) {
+            return -1;
+        }
+        int count = Math.min(len, _chunk.length - _chunkPtr);
+        System.arraycopy(_chunk, _chunkPtr, buffer, offset, count);
+        _chunkPtr += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return _chunk.length - _chunkPtr;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if (!_closed) {
+            _closed = true;
+            _endOfInput = true;
+            _chunk = END_MARKER;
+            _readAhead.interrupt();
+            Future<byte[]> f;
+            while ((f = _chunks.poll()) != null) {
+                f.cancel(false);
+            }
+            if (_closeSource) {
+                _in.close();
+            }
+        }
+    }
+
+    protected boolean _nextChunk() throws IOException
+    {
+        while (!_endOfInput) {
+            Future<byte[]> f;
+            try {
+                f = _chunks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for decompressed content");
+            }
+            byte[] chunk;
+            try {
+                chunk = FileChunker.getResult(f);
+            } catch (IOException e) {
+                _endOfInput = true;
+                throw e;
+            }
+            if (chunk == END_MARKER) {
+                _endOfInput = true;
+            } else if (chunk.length > 0) {
+                _chunk = chunk;
+                _chunkPtr = 0;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+    /**********************************************************************
+    /* Read-ahead
+    /**********************************************************************
+     */
+
+    protected void _readAhead()
+    {
+        try {
+            _readMembers(new PushbackInputStream(_in, INPUT_BUFFER_SIZE));
+            _put(END_MARKER);
+        } catch (final Throwable t) {
+            if (!_closed) {
+                FutureTask<byte[]> f = new FutureTask<byte[]>(new Callable<byte[]>() {
+                    @Override
+                    public byte[] call() throws Exception {
+                        if (t instanceof Error) {
+                            throw (Error) t;
+                        }
+                        throw (Exception) t;
+                    }
+                });
+                f.run();
+                // must block (not drop) if queue is full: reader is waiting for it;
+                // but if stream gets closed, reader is gone
+                try {
+                    _put(f);
+                } catch (InterruptedException e) { }
+            }
+        }
+    }
+
+    protected void _readMembers(PushbackInputStream in)
+        throws IOException, InterruptedException
+    {
+        final byte[] buffer = new byte[INPUT_BUFFER_SIZE];
+        boolean first = true;
+        while (!_closed) {
+            int b1 = in.read();
+            if (b1 < 0) {
+                return;
+            }
+            int b2 = in.read();
+            if ((b1 != 0x1F) || (b2 != 0x8B)) {
+                if (first) { // not compressed; just pass as is
+                    if (b2 >= 0) {
+                        in.unread(b2);
+                    }
+                    in.unread(b1);
+                    _copy(in);
+                }
+                // otherwise, trailing garbage after the last member; ignore, like JDK does
+                return;
+            }
+            first = false;
+            int memberSize = _readHeader(in, buffer);
+            if (memberSize < 0) {
+                _inflateMember(in, buffer);
+            } else {
+                final byte[] data = new byte[memberSize];
+                _readFully(in, data, 0, memberSize);
+                if (_executor == null) {
+                    _put(_inflateMember(data));
+                } else {
+                    _put(_executor.submit(new Callable<byte[]>() {
+                        @Override
+                        public byte[] call() throws IOException {
+                            return _inflateMember(data);
+                        }
+                    }));
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method for reading rest of the member header (after magic bytes)
+     *
+     * @return Size of compressed data and trailer of the member, if known; -1 if not
+     */
+    protected int _readHeader(InputStream in, byte[] buffer) throws IOException
+    {
+        _readFully(in, buffer, 0, 8);
+        if (buffer[0] != 8) {
+            throw new IOException("Unsupported compression method ("+(buffer[0] & 0xFF)+") for gzip content");
+        }
+        final int flags = buffer[1] & 0xFF;
+        int headerSize = 10;
+        int blockSize = -1;
+        if ((flags & FEXTRA) != 0) {
+            _readFully(in, buffer, 0, 2);
+            final int extraLen = _uint16(buffer, 0);
+            _readFully(in, buffer, 0, extraLen);
+            headerSize += 2 + extraLen;
+            // Look for BGZF subfield: 'B', 'C', length 2, (block size - 1)
+            for (int i = 0; (i + 4) <= extraLen; ) {
+                int subLen = _uint16(buffer, i+2);
+                if ((buffer[i] == 'B') && (buffer[i+1] == 'C') && (subLen == 2) && ((i + 6) <= extraLen)) {
+                    blockSize = _uint16(buffer, i+4) + 1;
+                }
+                i += 4 + subLen;
+            }
+        }
+        if ((flags & FNAME) != 0) {
+            headerSize += _skipZeroTerminated(in);
+        }
+        if ((flags & FCOMMENT) != 0) {
+            headerSize += _skipZeroTerminated(in);
+        }
+        if ((flags & FHCRC) != 0) {
+            _readFully(in, buffer, 0, 2);
+            headerSize += 2;
+        }
+        if (blockSize < 0) {
+            return -1;
+        }
+        int memberSize = blockSize - headerSize;
+        if (memberSize < 8) {
+            throw new IOException("Invalid BGZF block size ("+blockSize+")");
+        }
+        return memberSize;
+    }
+
+    /**
+     * Helper method for inflating a member of unknown size by read-ahead
+     * thread, passing decompressed content in chunks.
+     */
+    protected void _inflateMember(PushbackInputStream in, byte[] buffer)
+        throws IOException, InterruptedException
+    {
+        final Inflater inflater = new Inflater(true);
+        final CRC32 crc = new CRC32();
+        try {
+            byte[] chunk = new byte[CHUNK_SIZE];
+            int chunkPtr = 0;
+            int inputLen = 0;
+            while (!inflater.finished()) {
+                if (inflater.needsInput()) {
+                    inputLen = in.read(buffer, 0, buffer.length);
+                    if (inputLen < 0) {
+                        throw new EOFException("Unexpected end of gzip content");
+                    }
+                    inflater.setInput(buffer, 0, inputLen);
+                } else if (inflater.needsDictionary()) {
+                    throw new IOException("Corrupt gzip content: preset dictionary not supported");
+                }
+                try {
+                    chunkPtr += inflater.inflate(chunk, chunkPtr, chunk.length - chunkPtr);
+                } catch (DataFormatException e) {
+                    throw new IOException("Corrupt gzip content: "+e.getMessage());
+                }
+                if (chunkPtr == chunk.length) {
+                    crc.update(chunk, 0, chunkPtr);
+                    _put(chunk);
+                    chunk = new byte[CHUNK_SIZE];
+                    chunkPtr = 0;
+                }
+            }
+            if (chunkPtr > 0) {
+                crc.update(chunk, 0, chunkPtr);
+                _put(_copyOf(chunk, chunkPtr));
+            }
+            // whatever was not needed belongs to trailer (and possibly next member)
+            int remaining = inflater.getRemaining();
+            if (remaining > 0) {
+                in.unread(buffer, inputLen - remaining, remaining);
+            }
+            _readFully(in, buffer, 0, 8);
+            _verifyTrailer(buffer, 0, crc.getValue(), inflater.getBytesWritten());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Helper method for inflating a member (compressed data and trailer)
+     * of known size; called from executor, or read-ahead thread.
+     */
+    protected static byte[] _inflateMember(byte[] data) throws IOException
+    {
+        final int dataLen = data.length - 8;
+        final int size = _int32(data, dataLen + 4);
+        if ((size < 0) || (size > MAX_MEMBER_SIZE)) {
+            throw new IOException("Invalid uncompressed size ("+(size & 0xFFFFFFFFL)+") for BGZF block");
+        }
+        final byte[] result = new byte[size];
+        final Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data, 0, dataLen);
+            int count = 0;
+            while (count < size) {
+                int n = inflater.inflate(result, count, size - count);
+                if ((n == 0) && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                count += n;
+            }
+            if (count < size) {
+                throw new IOException("Corrupt gzip content: block shorter than its declared size");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt gzip content: "+e.getMessage());
+        } finally {
+            inflater.end();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(result, 0, size);
+        _verifyTrailer(data, dataLen, crc.getValue(), size);
+        return result;
+    }
+
+    protected void _copy(InputStream in) throws IOException, InterruptedException
+    {
+        while (!_closed) {
+            byte[] chunk = new byte[CHUNK_SIZE];
+            int count = in.read(chunk, 0, CHUNK_SIZE);
+            if (count < 0) {
+                return;
+            }
+            _put((count == CHUNK_SIZE) ? chunk : _copyOf(chunk, count));
+        }
+    }
+
+    protected void _put(byte[] chunk) throws InterruptedException {
+        _chunks.put(_completed(chunk));
+    }
+
+    protected void _put(Future<byte[]> f) throws InterruptedException {
+        _chunks.put(f);
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    private static FutureTask<byte[]> _completed(final byte[] value)
+    {
+        FutureTask<byte[]> f = new FutureTask<byte[]>(new Callable<byte[]>() {
+            @Override
+            public byte[] call() {
+                return value;
+            }
+        });
+        f.run();
+        return f;
+    }
+
+    private static void _verifyTrailer(byte[] buffer, int offset, long crc, long size)
+        throws IOException
+    {
+        if ((_int32(buffer, offset) & 0xFFFFFFFFL) != crc) {
+            throw new IOException("Corrupt gzip content: CRC mismatch");
+        }
+        if ((_int32(buffer, offset+4) & 0xFFFFFFFFL) != (size & 0xFFFFFFFFL)) {
+            throw new IOException("Corrupt gzip content: size mismatch");
+        }
+    }
+
+    private static void _readFully(InputStream in, byte[] buffer, int offset, int len)
+        throws IOException
+    {
+        while (len > 0) {
+            int count = in.read(buffer, offset, len);
+            if (count < 0) {
+                throw new EOFException("Unexpected end of gzip content");
+            }
+            offset += count;
+            len -= count;
+        }
+    }
+
+    private static int _skipZeroTerminated(InputStream in) throws IOException
+    {
+        int count = 0;
+        int b;
+        do {
+            b = in.read();
+            if (b < 0) {
+                throw new EOFException("Unexpected end of gzip content");
+            }
+            ++count;
+        } while (b != 0);
+        return count;
+    }
+
+    private static byte[] _copyOf(byte[] buffer, int len)
+    {
+        byte[] result = new byte[len];
+        System.arraycopy(buffer, 0, result, 0, len);
+        return result;
+    }
+
+    private static int _uint16(byte[] buffer, int offset) {
+        return (buffer[offset] & 0xFF) | ((buffer[offset+1] & 0xFF) << 8);
+    }
+
+    private static int _int32(byte[] buffer, int offset) {
+        return _uint16(buffer, offset) | (_uint16(buffer, offset+2) << 16);
+    }
+}
@@ -0,0 +1,122 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Helper class for running a group of related tasks using an executor, such
+ * that if one of them fails, others are cancelled, and caller only gets the
+ * failure once none of them is running any more (so that no task is still
+ * using resources caller is about to release, or calling back caller code).
+ *<p>
+ * Instances are used by a single caller thread.
+ *
+ * @since 2.6
+ */
+public class TaskGroup<T>
+{
+    protected final ExecutorService _executor;
+
+    protected final List<Future<T>> _futures = new ArrayList<Future<T>>();
+
+    protected final Object _lock = new Object();
+
+    /**
+     * Number of tasks currently running; guarded by {@link #_lock}
+     */
+    protected int _running;
+
+    /**
+     * Flag set when group has been cancelled, after which no more tasks
+     * are started; guarded by {@link #_lock}
+     */
+    protected boolean _cancelled;
+
+    public TaskGroup(ExecutorService executor) {
+        _executor = executor;
+    }
+
+    /**
+     * Method for submitting a task to the executor.
+     *
+     * @return Index of the task, to pass to {@link #getResult}
+     */
+    public int submit(final Callable<T> task)
+    {
+        Future<T> f = _executor.submit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                synchronized (_lock) {
+                    if (_cancelled) {
+                        throw new CancellationException();
+                    }
+                    ++_running;
+                }
+                try {
+                    return task.call();
+                } finally {
+                    synchronized (_lock) {
+                        --_running;
+                        _lock.notifyAll();
+                    }
+                }
+            }
+        });
+        _futures.add(f);
+        return _futures.size() - 1;
+    }
+
+    public int size() {
+        return _futures.size();
+    }
+
+    /**
+     * Method for waiting for result of given task, unwrapping exception it may
+     * have thrown (see {@link FileChunker#getResult}). If task failed (or waiting
+     * was interrupted), all tasks of the group are cancelled, and exception is
+     * only thrown once none of them is running.
+     */
+    public T getResult(int index) throws IOException
+    {
+        boolean ok = false;
+        try {
+            T result = FileChunker.getResult(_futures.get(index));
+            ok = true;
+            return result;
+        } finally {
+            if (!ok) {
+                cancel();
+            }
+        }
+    }
+
+    /**
+     * Method for cancelling all tasks of the group (interrupting ones that are
+     * running), and waiting until none of them is running.
+     */
+    public void cancel()
+    {
+        synchronized (_lock) {
+            _cancelled = true;
+        }
+        for (Future<T> f : _futures) {
+            f.cancel(true);
+        }
+        boolean interrupted = false;
+        synchronized (_lock) {
+            while (_running > 0) {
+                try {
+                    _lock.wait();
+                } catch (InterruptedException e) {
+                    // need to wait regardless; but retain the status
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
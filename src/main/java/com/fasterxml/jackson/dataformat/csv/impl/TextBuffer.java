@@ -334,7 +334,11 @@ public final class TextBuffer
     public double contentsAsDouble()
         throws NumberFormatException
     {
-        return NumberInput.parseDouble(contentsAsString());
+        // If we already have String, no need to re-scan characters
+        if (_resultString != null) {
+            return NumberInput.parseDouble(_resultString);
+        }
+        return NumberInput.parseDouble(getTextBuffer(), getTextOffset(), size());
     }
 
     /*
@@ -410,26 +414,39 @@ public final class TextBuffer
      * @param trimTrailingSpaces Whether trailing spaces should be trimmed or not
      */
     public String finishAndReturn(int lastSegmentEnd, boolean trimTrailingSpaces)
+    {
+        finish(lastSegmentEnd, trimTrailingSpaces);
+        return contentsAsString();
+    }
+
+    /**
+     * Alternative to {@link #finishAndReturn} that only marks end of content,
+     * without constructing a {@link String}; used when caller can access
+     * contents as characters (or only needs to check them).
+     *
+     * @since 2.6
+     */
+    public void finish(int lastSegmentEnd, boolean trimTrailingSpaces)
     {
         if (trimTrailingSpaces) {
             // First, see if it's enough to trim end of current segment:
             int ptr = lastSegmentEnd - 1;
             if (ptr < 0 || _currentSegment[ptr] <= 0x0020) {
-                return _doTrim(ptr);
+                _doTrim(ptr);
+                return;
             }
         }
         _currentSize = lastSegmentEnd;
-        return contentsAsString();
     }
 
-    private String _doTrim(int ptr)
+    private void _doTrim(int ptr)
     {
         while (true) {
             final char[] curr = _currentSegment;
             while (--ptr >= 0) {
                 if (curr[ptr] > 0x0020) { // found the ending non-space char, all done:
                     _currentSize = ptr+1;
-                    return contentsAsString();
+                    return;
                 }
             }
             // nope: need to handle previous segment; if there is one:
@@ -438,22 +455,12 @@ public final class TextBuffer
             }
             _currentSegment = _segments.removeLast();
             ptr = _currentSegment.length;
+            _segmentSize -= ptr;
         }
         // we get here if everything was trimmed, so:
         _currentSize = 0;
         _hasSegments = false;
-        return contentsAsString();
-    }
-    
-    /*
-    public void finish(int lastSegmentEnd, boolean trimTrailingSpaces)
-    {
-        _currentSize = lastSegmentEnd;
-        if (trimTrailingSpaces) {
-            // !!! TODO
-        }
     }
-    */
     
     public char[] finishCurrentSegment()
     {
@@ -0,0 +1,986 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.*;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.io.IOContext;
+
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * {@link CsvDecoder} implementation that reads UTF-8 encoded content directly
+ * from a byte source, instead of using a {@link Reader} to first decode
+ * content into characters. Since all structural characters (linefeeds, and
+ * usually separator, quote and escape characters as well) are single-byte
+ * characters, scanning can be done on bytes; multi-byte characters are only
+ * decoded when copying them into the value being built.
+ *<p>
+ * Note that since input is read as bytes, location information (offsets and
+ * columns) is also expressed in bytes, not characters.
+ *
+ * @since 2.6
+ */
+public class UTF8CsvDecoder extends CsvDecoder
+{
+    /*
+    /**********************************************************************
+    /* Input handling
+    /**********************************************************************
+     */
+
+    /**
+     * Input stream that can be used for reading more content, if one
+     * in use. May be null, if input comes just as a full buffer,
+     * or if the stream has been closed.
+     */
+    protected InputStream _inputStream;
+
+    /**
+     * Current buffer from which data is read; generally data is read into
+     * buffer from input source, but in some cases pre-loaded buffer
+     * is handed to the parser.
+     */
+    protected byte[] _inputBytes;
+
+    /**
+     * Flag set when end of input has been reached, or input closed;
+     * needed since {@link #_inputStream} is null from the beginning
+     * for in-memory content.
+     */
+    protected boolean _endOfInput;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    public UTF8CsvDecoder(CsvParser owner, IOContext ctxt, InputStream in,
+            byte[] inputBuffer, int contentStart, int start, int end, boolean bufferRecyclable,
+            CsvSchema schema, TextBuffer textBuffer,
+            boolean autoCloseInput, boolean trimSpaces)
+    {
+        super(owner, ctxt, schema, textBuffer, autoCloseInput, trimSpaces);
+        _inputStream = in;
+        _inputBytes = inputBuffer;
+        _inputPtr = start;
+        _inputEnd = end;
+        _bufferRecyclable = bufferRecyclable;
+        // If we have offset, need to omit that from byte offset (but not skipped BOM), so:
+        _currInputRowStart = start;
+        _currInputProcessed = -contentStart;
+    }
+
+    /**
+     * Method called by parser to start decoding a new document read from given
+     * stream, reusing buffers of this decoder. Content is assumed to be UTF-8
+     * encoded; a possible byte order mark is skipped.
+     *
+     * @since 2.6
+     */
+    public void reset(InputStream in) throws IOException
+    {
+        _closeInput();
+        _inputStream = in;
+        if (_inputBytes == null || !_bufferRecyclable) {
+            _inputBytes = _ioContext.allocReadIOBuffer();
+            _bufferRecyclable = true;
+        }
+        _inputEnd = 0;
+        // need the first 3 bytes to check for BOM, similar to bootstrapper
+        while (_inputEnd < 3) {
+            int count = in.read(_inputBytes, _inputEnd, _inputBytes.length - _inputEnd);
+            if (count < 1) {
+                break;
+            }
+            _inputEnd += count;
+        }
+        _endOfInput = false;
+        _resetState(_bomLength(_inputBytes, 0, _inputEnd));
+        // skipped BOM is still included in byte offsets
+        _currInputProcessed = 0L;
+    }
+
+    /**
+     * Method called by parser to start decoding a new document contained in given
+     * buffer, which is used as is (not copied). Content is assumed to be UTF-8
+     * encoded; a possible byte order mark is skipped.
+     *
+     * @since 2.6
+     */
+    public void reset(byte[] data, int offset, int len) throws IOException
+    {
+        _closeInput();
+        // our own buffer, if any, can be returned; will be re-allocated if needed
+        if (_bufferRecyclable && (_inputBytes != null)) {
+            _ioContext.releaseReadIOBuffer(_inputBytes);
+        }
+        _inputBytes = data;
+        _bufferRecyclable = false;
+        _inputEnd = offset + len;
+        _endOfInput = false;
+        _resetState(offset + _bomLength(data, offset, _inputEnd));
+        _currInputProcessed = -offset;
+    }
+
+    @Override
+    public void reset(Reader r) throws IOException {
+        throw new IllegalStateException("Can not decode content of a Reader as UTF-8 bytes");
+    }
+
+    private final static int _bomLength(byte[] buf, int start, int end)
+    {
+        if ((end - start) >= 3 && buf[start] == (byte) 0xEF
+                && buf[start+1] == (byte) 0xBB && buf[start+2] == (byte) 0xBF) {
+            return 3;
+        }
+        return 0;
+    }
+
+    /*
+    /**********************************************************************
+    /* JsonParser implementations passed-through by CsvParser
+    /**********************************************************************
+     */
+
+    @Override
+    public Object getInputSource() {
+        return _inputStream;
+    }
+
+    @Override
+    public int releaseBuffered(Writer out) throws IOException {
+        // can't release bytes as characters
+        return -1;
+    }
+
+    @Override
+    public int releaseBuffered(OutputStream out) throws IOException
+    {
+        int count = _inputEnd - _inputPtr;
+        if (count < 1) {
+            return 0;
+        }
+        out.write(_inputBytes, _inputPtr, count);
+        return count;
+    }
+
+    @Override
+    public JsonLocation getTokenLocation()
+    {
+        return new JsonLocation(_inputStream, getTokenCharacterOffset(), -1L,
+                getTokenLineNr(), getTokenColumnNr());
+    }
+
+    @Override
+    public JsonLocation getCurrentLocation()
+    {
+        int ptr = _inputPtr;
+        if (_pendingLF > 1) { // 1 is used as marker for end-of-input
+            --ptr;
+        }
+        int col = ptr - _currInputRowStart + 1; // 1-based
+        return new JsonLocation(_inputStream, _currInputProcessed + ptr - 1, -1L,
+                _currInputRow, col);
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods, input handling
+    /**********************************************************************
+     */
+
+    @Override
+    protected void releaseBuffers() throws IOException
+    {
+        super.releaseBuffers();
+        if (_bufferRecyclable) {
+            byte[] buf = _inputBytes;
+            if (buf != null) {
+                _inputBytes = null;
+                _ioContext.releaseReadIOBuffer(buf);
+            }
+        }
+    }
+
+    @Override
+    protected void _closeInput() throws IOException
+    {
+        super._closeInput();
+        _endOfInput = true;
+        if (_inputStream != null) {
+            if (_autoCloseInput || _ioContext.isResourceManaged()) {
+                _inputStream.close();
+            }
+            _inputStream = null;
+        }
+    }
+
+    @Override
+    protected boolean loadMore() throws IOException
+    {
+        if (_inputStream != null) {
+            int count = _inputStream.read(_inputBytes, 0, _inputBytes.length);
+            if (count > 0) {
+                _currInputProcessed += _inputEnd;
+                _currInputRowStart -= _inputEnd;
+                _inputPtr = 0;
+                _inputEnd = count;
+                return true;
+            }
+            // Should never return 0, so let's fail
+            if (count == 0) {
+                throw new IOException("InputStream.read() returned 0 characters when trying to read "+_inputBytes.length+" bytes");
+            }
+        }
+        /* End of input; close here --  but note, do NOT yet call releaseBuffers()
+         * as there may be buffered input to handle
+         */
+        if (!_endOfInput) {
+            _closeInput();
+        }
+        return false;
+    }
+
+    /*
+    /**********************************************************************
+    /* Actual parsing, access methods
+    /**********************************************************************
+     */
+
+    @Override
+    public boolean startNewLine() throws IOException
+    {
+        // first: if pending LF, skip it
+        if (_pendingLF != 0) {
+            if (_endOfInput) {
+                return false;
+            }
+            _handleLF();
+        }
+        if ((_inputPtr >= _inputEnd) && !loadMore()) {
+            return false;
+        }
+        if (_allowComments && _inputBytes[_inputPtr] == '#') {
+            int i = _skipCommentLines();
+            // end-of-input?
+            if (i < 0) {
+                return false;
+            }
+            // otherwise push last read char back
+            --_inputPtr;
+        }
+        return true;
+    }
+
+    @Override
+    public void skipLeadingComments() throws IOException
+    {
+        if (_allowComments) {
+            if ((_inputPtr < _inputEnd) || loadMore()) {
+                if (_inputBytes[_inputPtr] == '#') {
+                    _skipCommentLines();
+                    --_inputPtr;
+                }
+            }
+        }
+    }
+
+    @Override
+    protected int _skipCommentLines() throws IOException
+    {
+        while ((_inputPtr < _inputEnd) || loadMore()) {
+            // note: bytes of multi-byte characters never match linefeeds
+            int ch = _inputBytes[_inputPtr++];
+            if (ch != INT_CR && ch != INT_LF) {
+                continue;
+            }
+            _pendingLF = ch;
+            _handleLF();
+
+            // Ok, skipped the end of the line. Check next one...
+            int i = _nextChar();
+            if (i != INT_HASH) {
+                return i;
+            }
+        }
+        return -1; // end of input
+    }
+
+    @Override
+    public boolean skipValue() throws IOException
+    {
+        // Scanning bytes only works if all structural characters are single-byte
+        if (_maxSpecialChar > 0x7F) {
+            return _nextValue(_trimSpaces);
+        }
+        if (_pendingLF > 0) { // either pendingLF, or closed
+            if (!_endOfInput) {
+                _handleLF();
+            }
+            return false;
+        }
+        int i = _trimSpaces ? _skipLeadingSpace() : _nextChar();
+        if (i < 0) { // EOF at this point signifies empty value
+            return true;
+        }
+        if (i == INT_CR || i == INT_LF) {
+            _pendingLF = i;
+            return true;
+        }
+        if (i == _quoteChar) {
+            _skipQuotedValue();
+        } else if (i != _separatorChar) {
+            _skipUnquotedValue();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean skipLine() throws IOException
+    {
+        if (_pendingLF != 0) {
+            if (_endOfInput) {
+                return false;
+            }
+            _handleLF();
+        }
+        while (_inputPtr < _inputEnd || loadMore()) {
+            int c = _inputBytes[_inputPtr++];
+            if (c == INT_CR || c == INT_LF) {
+                // important: handle trailing linefeed now, so caller need not bother
+                _pendingLF = c;
+                _handleLF();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasMoreValues() throws IOException
+    {
+        if (_pendingLF > 0) { // either pendingLF, or closed
+            if (!_endOfInput) {
+                _handleLF();
+            }
+            return false;
+        }
+        if (_trackLocation) {
+            _tokenInputTotal = _currInputProcessed + _inputPtr;
+            _tokenInputRow = _currInputRow;
+            _tokenInputCol = _inputPtr - _currInputRowStart;
+        }
+        return true;
+    }
+
+    /*
+    /**********************************************************************
+    /* Actual parsing, private helper methods
+    /**********************************************************************
+     */
+
+    @Override
+    protected boolean _nextValue(boolean trim) throws IOException
+    {
+        if (_plainValues) {
+            return _nextPlainValue(trim);
+        }
+        if (_pendingLF > 0) { // either pendingLF, or closed
+            if (!_endOfInput) { // if closed, we just need to return null
+                _handleLF();
+            }
+            return false; // end of line without new value
+        }
+        int i;
+
+        if (trim) {
+            i = _skipLeadingSpace();
+        } else {
+            i = _nextChar();
+        }
+        // First, need to ensure we know the starting location of token
+        if (_trackLocation) {
+            _tokenInputTotal = _currInputProcessed + _inputPtr - 1;
+            _tokenInputRow = _currInputRow;
+            _tokenInputCol = _inputPtr - _currInputRowStart - 1;
+        }
+
+        if (i < 0) { // EOF at this point signifies empty value
+            _textBuffer.resetWithString("");
+            return true;
+        }
+        if (i == INT_CR || i == INT_LF) { // end-of-line means end of record; but also need to handle LF later on
+            _pendingLF = i;
+            _textBuffer.resetWithString("");
+            return true;
+        }
+        if (i > 0x7F) {
+            i = _decodeMultiByte(i);
+        }
+        // two modes: quoted, unquoted
+        if (i == _quoteChar) { // offline quoted case (longer)
+            _nextQuotedString();
+            return true;
+        }
+        if (i == _separatorChar) {
+            _textBuffer.resetWithString("");
+            return true;
+        }
+        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
+        int outPtr = 0;
+        if (i > 0xFFFF) { // need a surrogate pair; new segment has room for both
+            i -= 0x10000;
+            outBuf[outPtr++] = (char) (0xD800 | (i >> 10));
+            i = 0xDC00 | (i & 0x3FF);
+        }
+        outBuf[outPtr++] = (char) i;
+        _nextUnquotedString(outBuf, outPtr, trim);
+        return true;
+    }
+
+    @Override
+    protected boolean _nextPlainValue(boolean trim) throws IOException
+    {
+        if (_pendingLF > 0) { // either pendingLF, or closed
+            if (!_endOfInput) {
+                _handleLF();
+            }
+            return false;
+        }
+        int i = trim ? _skipLeadingSpace() : _nextChar();
+        if (_trackLocation) {
+            _tokenInputTotal = _currInputProcessed + _inputPtr - 1;
+            _tokenInputRow = _currInputRow;
+            _tokenInputCol = _inputPtr - _currInputRowStart - 1;
+        }
+        if (i < 0) { // EOF at this point signifies empty value
+            _textBuffer.resetWithString("");
+            return true;
+        }
+        if (i == INT_CR || i == INT_LF) {
+            _pendingLF = i;
+            _textBuffer.resetWithString("");
+            return true;
+        }
+        if (i > 0x7F) {
+            i = _decodeMultiByte(i);
+        }
+        if (i == _separatorChar) {
+            _textBuffer.resetWithString("");
+            return true;
+        }
+        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
+        int outPtr = 0;
+        if (i > 0xFFFF) { // need a surrogate pair; new segment has room for both
+            i -= 0x10000;
+            outBuf[outPtr++] = (char) (0xD800 | (i >> 10));
+            i = 0xDC00 | (i & 0x3FF);
+        }
+        outBuf[outPtr++] = (char) i;
+        _nextPlainString(outBuf, outPtr, trim);
+        return true;
+    }
+
+    @Override
+    protected void _nextUnquotedString(char[] outBuf, int outPtr, boolean trim) throws IOException
+    {
+        final byte[] inputBuffer = _inputBytes;
+
+        main_loop:
+        while (true) {
+            int ptr = _inputPtr;
+            if (ptr >= _inputEnd) {
+                if (!loadMore()) { // ok to have end-of-input, are done
+                    break main_loop;
+                }
+                ptr = _inputPtr;
+            }
+            if (outPtr >= outBuf.length) {
+                outBuf = _textBuffer.finishCurrentSegment();
+                outPtr = 0;
+            }
+            final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
+            while (ptr < max) {
+                int c = inputBuffer[ptr++];
+                // note: bytes of multi-byte characters are negative, so also included
+                if (c <= _maxSpecialChar) {
+                    if (c == _separatorChar) { // end of value, yay!
+                        _inputPtr = ptr;
+                        break main_loop;
+                    }
+                    if (c == INT_CR || c == INT_LF) { // end of line is end of value as well
+                        _inputPtr = ptr;
+                        _pendingLF = c;
+                        break main_loop;
+                    }
+                    // (note: must check before escape char, which may be -1 for "none")
+                    if (c < 0) {
+                        _inputPtr = ptr;
+                        c = _decodeMultiByte(c);
+                        // separator and escape may be non-ASCII characters too
+                        if (c == _separatorChar) {
+                            break main_loop;
+                        }
+                        if (c == _escapeChar) {
+                            c = _decodeEscaped();
+                        }
+                    } else if (c == _escapeChar) {
+                        _inputPtr = ptr;
+                        c = _decodeEscaped();
+                    } else {
+                        outBuf[outPtr++] = (char) c;
+                        continue;
+                    }
+                    if (c > 0xFFFF) { // need a surrogate pair
+                        c -= 0x10000;
+                        outBuf[outPtr++] = (char) (0xD800 | (c >> 10));
+                        c = 0xDC00 | (c & 0x3FF);
+                        if (outPtr >= outBuf.length) {
+                            outBuf = _textBuffer.finishCurrentSegment();
+                            outPtr = 0;
+                        }
+                    }
+                    outBuf[outPtr++] = (char) c;
+                    // May have passed input boundary, need to re-set
+                    continue main_loop;
+                }
+                outBuf[outPtr++] = (char) c;
+            }
+            _inputPtr = ptr;
+        }
+        _textBuffer.finish(outPtr, trim);
+    }
+
+    @Override
+    protected void _nextPlainString(char[] outBuf, int outPtr, boolean trim) throws IOException
+    {
+        final byte[] inputBuffer = _inputBytes;
+        final int sep = _separatorChar;
+        final int maxSpecial = _maxSpecialChar;
+
+        main_loop:
+        while (true) {
+            int ptr = _inputPtr;
+            if (ptr >= _inputEnd) {
+                if (!loadMore()) {
+                    break main_loop;
+                }
+                ptr = _inputPtr;
+            }
+            if (outPtr >= outBuf.length) {
+                outBuf = _textBuffer.finishCurrentSegment();
+                outPtr = 0;
+            }
+            final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
+            while (ptr < max) {
+                int c = inputBuffer[ptr++];
+                // note: bytes of multi-byte characters are negative, so also included
+                if (c <= maxSpecial) {
+                    if (c == sep) {
+                        _inputPtr = ptr;
+                        break main_loop;
+                    }
+                    if (c == INT_CR || c == INT_LF) {
+                        _inputPtr = ptr;
+                        _pendingLF = c;
+                        break main_loop;
+                    }
+                    if (c < 0) {
+                        _inputPtr = ptr;
+                        c = _decodeMultiByte(c);
+                        if (c == sep) {
+                            break main_loop;
+                        }
+                        if (c > 0xFFFF) { // need a surrogate pair
+                            c -= 0x10000;
+                            outBuf[outPtr++] = (char) (0xD800 | (c >> 10));
+                            c = 0xDC00 | (c & 0x3FF);
+                            if (outPtr >= outBuf.length) {
+                                outBuf = _textBuffer.finishCurrentSegment();
+                                outPtr = 0;
+                            }
+                        }
+                        outBuf[outPtr++] = (char) c;
+                        // May have passed input boundary, need to re-set
+                        continue main_loop;
+                    }
+                }
+                outBuf[outPtr++] = (char) c;
+            }
+            _inputPtr = ptr;
+        }
+        _textBuffer.finish(outPtr, trim);
+    }
+
+    @Override
+    protected void _nextQuotedString() throws IOException
+    {
+        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
+        int outPtr = 0;
+
+        final byte[] inputBuffer = _inputBytes;
+        boolean checkLF = false; // marker for CR at the end of input buffer
+
+        main_loop:
+        while (true) {
+            int ptr = _inputPtr;
+            if (ptr >= _inputEnd) {
+                if (!loadMore()) { // not ok, missing end quote
+                    _owner._reportRecordError("Missing closing quote for value"); // should indicate start position?
+                }
+                ptr = _inputPtr;
+                if (checkLF) {
+                    checkLF = false;
+                    if (inputBuffer[ptr] == INT_LF) {
+                        // undo earlier advancement, to keep line number correct
+                        --_currInputRow;
+                    }
+                }
+            }
+            if (outPtr >= outBuf.length) {
+                outBuf = _textBuffer.finishCurrentSegment();
+                outPtr = 0;
+            }
+            final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
+            while (ptr < max) {
+                int c = inputBuffer[ptr++];
+                if (c <= _maxSpecialChar) {
+                    if (c < 0) { // multi-byte character; quote and escape may be non-ASCII too
+                        _inputPtr = ptr;
+                        c = _decodeMultiByte(c);
+                        ptr = _inputPtr;
+                        if (c != _quoteChar && c != _escapeChar) {
+                            if (c > 0xFFFF) { // need a surrogate pair
+                                c -= 0x10000;
+                                outBuf[outPtr++] = (char) (0xD800 | (c >> 10));
+                                c = 0xDC00 | (c & 0x3FF);
+                                if (outPtr >= outBuf.length) {
+                                    outBuf = _textBuffer.finishCurrentSegment();
+                                    outPtr = 0;
+                                }
+                            }
+                            outBuf[outPtr++] = (char) c;
+                            continue main_loop;
+                        }
+                    }
+                    if (c == _quoteChar) {
+                        _inputPtr = ptr;
+                        // need to see if it's doubled up, or end of value
+                        int next = _nextChar();
+                        if (next > 0x7F) {
+                            next = _decodeMultiByte(next);
+                        }
+                        if (next == _quoteChar) { // doubled up, append
+                            outBuf[outPtr++] = (char) c;
+                            continue main_loop;
+                        }
+                        // note: do NOT trim from within quoted Strings
+                        _textBuffer.finish(outPtr, false);
+                        _skipAfterQuotedValue(next);
+                        return;
+                    }
+                    // Embedded linefeeds are fine (but counted only if tracking location)
+                    if (c == INT_CR) {
+                        if (_trackLocation) {
+                            ++_currInputRow;
+                            _currInputRowStart = ptr;
+                            if (ptr >= _inputEnd) { // may get LF from next buffer
+                                checkLF = true;
+                            } else if (inputBuffer[ptr] == INT_LF) { // will be counted by LF
+                                --_currInputRow;
+                            }
+                        }
+                    } else if (c == INT_LF) {
+                        if (_trackLocation) {
+                            ++_currInputRow;
+                            _currInputRowStart = ptr;
+                        }
+                    } else if (c == _escapeChar) {
+                        _inputPtr = ptr;
+                        c = _decodeEscaped();
+                        if (c > 0xFFFF) { // need a surrogate pair
+                            c -= 0x10000;
+                            outBuf[outPtr++] = (char) (0xD800 | (c >> 10));
+                            c = 0xDC00 | (c & 0x3FF);
+                            if (outPtr >= outBuf.length) {
+                                outBuf = _textBuffer.finishCurrentSegment();
+                                outPtr = 0;
+                            }
+                        }
+                        outBuf[outPtr++] = (char) c;
+                        // May have passed input boundary, need to re-set
+                        continue main_loop;
+                    }
+                }
+                outBuf[outPtr++] = (char) c;
+            }
+            _inputPtr = ptr;
+        }
+    }
+
+    @Override
+    protected void _skipUnquotedValue() throws IOException
+    {
+        final byte[] inputBuffer = _inputBytes;
+
+        main_loop:
+        while (_inputPtr < _inputEnd || loadMore()) {
+            int ptr = _inputPtr;
+            final int end = _inputEnd;
+            while (ptr < end) {
+                int c = inputBuffer[ptr++];
+                // note: bytes of multi-byte characters are negative, never structural
+                if (c <= _maxSpecialChar && c >= 0) {
+                    if (c == _separatorChar) {
+                        _inputPtr = ptr;
+                        return;
+                    }
+                    if (c == INT_CR || c == INT_LF) {
+                        _pendingLF = c;
+                        _inputPtr = ptr;
+                        return;
+                    }
+                    if (c == _escapeChar) {
+                        _inputPtr = ptr;
+                        if (_nextChar() < 0) {
+                            _owner._reportRecordError("Unexpected EOF in escaped character");
+                        }
+                        continue main_loop;
+                    }
+                }
+            }
+            _inputPtr = ptr;
+        }
+    }
+
+    @Override
+    protected void _skipQuotedValue() throws IOException
+    {
+        final byte[] inputBuffer = _inputBytes;
+        boolean checkLF = false; // marker for CR at the end of input buffer
+
+        main_loop:
+        while (true) {
+            if (_inputPtr >= _inputEnd) {
+                if (!loadMore()) { // not ok, missing end quote
+                    _owner._reportRecordError("Missing closing quote for value");
+                }
+                if (checkLF) {
+                    checkLF = false;
+                    if (inputBuffer[_inputPtr] == INT_LF) {
+                        // undo earlier advancement, to keep line number correct
+                        --_currInputRow;
+                    }
+                }
+            }
+            int ptr = _inputPtr;
+            final int end = _inputEnd;
+            while (ptr < end) {
+                int c = inputBuffer[ptr++];
+                if (c > _maxSpecialChar || c < 0) {
+                    continue;
+                }
+                if (c == _quoteChar) {
+                    _inputPtr = ptr;
+                    // doubled up, or end of value?
+                    int next = _nextChar();
+                    if (next == _quoteChar) {
+                        continue main_loop;
+                    }
+                    if (next > 0x7F) {
+                        next = _decodeMultiByte(next);
+                    }
+                    _skipAfterQuotedValue(next);
+                    return;
+                }
+                if (c == _escapeChar) {
+                    _inputPtr = ptr;
+                    if (_nextChar() < 0) {
+                        _owner._reportRecordError("Unexpected EOF in escaped character");
+                    }
+                    continue main_loop;
+                }
+                // Embedded linefeeds are fine, just need to be counted
+                if (!_trackLocation) {
+                    continue;
+                }
+                if (c == INT_CR) {
+                    ++_currInputRow;
+                    _currInputRowStart = ptr;
+                    if (ptr >= end) { // may get LF from next buffer
+                        checkLF = true;
+                    } else if (inputBuffer[ptr] == INT_LF) { // will be counted by LF
+                        --_currInputRow;
+                    }
+                } else if (c == INT_LF) {
+                    ++_currInputRow;
+                    _currInputRowStart = ptr;
+                }
+            }
+            _inputPtr = ptr;
+        }
+    }
+
+    /**
+     * Helper method called after closing quote of a quoted value, to
+     * locate and skip trailing space and separator.
+     *
+     * @param ch First character after closing quote (already read), or -1
+     *    for end-of-input
+     */
+    protected final void _skipAfterQuotedValue(int ch) throws IOException
+    {
+        // (note: space outside quotes never included, but must be skipped)
+        while (ch >= 0) { // end-of-input is fine
+            if (ch == _separatorChar) { // common case, separator between columns
+                return;
+            }
+            if (ch > INT_SPACE) {
+                _owner._reportUnexpectedCsvChar(ch, "Expected separator ("+_getCharDesc(_quoteChar)+") or end-of-line");
+            }
+            if (ch == INT_CR || ch == INT_LF) { // but end-of-line can't be yet skipped
+                _pendingLF = ch;
+                return;
+            }
+            // extra space, fine as well
+            ch = _nextChar();
+            if (ch > 0x7F) {
+                ch = _decodeMultiByte(ch);
+            }
+        }
+    }
+
+    @Override
+    protected void _handleLF() throws IOException
+    {
+        // already skipped past first part; but may get \r\n so skip the other char too?
+        if (_pendingLF == INT_CR) {
+            if (_inputPtr < _inputEnd || loadMore()) {
+                if (_inputBytes[_inputPtr] == INT_LF) {
+                    ++_inputPtr;
+                }
+            }
+        }
+        _pendingLF = 0;
+        ++_currInputRow;
+        _currInputRowStart = _inputPtr;
+    }
+
+    /**
+     * Method called to decode character following escape character,
+     * which may also be a multi-byte character.
+     *
+     * @return Unicode code point of the escaped character
+     */
+    protected int _decodeEscaped() throws IOException
+    {
+        if (_inputPtr >= _inputEnd) {
+            if (!loadMore()) {
+                _owner._reportRecordError("Unexpected EOF in escaped character");
+            }
+        }
+        // Some characters are more special than others, so:
+        int c = _inputBytes[_inputPtr++];
+        switch (c) {
+        case '0':
+            return '\0';
+        case 'n':
+            return '\n';
+        case 'r':
+            return '\r';
+        case 't':
+            return '\t';
+        }
+        if (c < 0) {
+            return _decodeMultiByte(c);
+        }
+        // others, return as is...
+        return c;
+    }
+
+    @Override
+    protected int _nextChar() throws IOException
+    {
+        if (_inputPtr >= _inputEnd) {
+            if (!loadMore()) {
+                return -1;
+            }
+        }
+        return _inputBytes[_inputPtr++] & 0xFF;
+    }
+
+    @Override
+    protected int _skipLeadingSpace() throws IOException
+    {
+        while (true) {
+            if (_inputPtr >= _inputEnd) {
+                if (!loadMore()) {
+                    return -1;
+                }
+            }
+            int ch = _inputBytes[_inputPtr++] & 0xFF;
+            if (ch > INT_SPACE) {
+                return ch;
+            }
+            switch (ch) {
+            case INT_CR:
+            case INT_LF:
+                return ch;
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, UTF-8 decoding
+    /**********************************************************************
+     */
+
+    /**
+     * Method called to decode a multi-byte UTF-8 character, the first byte
+     * of which has already been read.
+     *
+     * @param c First byte of the character (signed or unsigned)
+     *
+     * @return Unicode code point of the decoded character
+     */
+    protected final int _decodeMultiByte(int c) throws IOException
+    {
+        c &= 0xFF;
+        int needed;
+        if ((c & 0xE0) == 0xC0) { // 2 bytes (0x0080 - 0x07FF)
+            c &= 0x1F;
+            needed = 1;
+        } else if ((c & 0xF0) == 0xE0) { // 3 bytes (0x0800 - 0xFFFF)
+            c &= 0x0F;
+            needed = 2;
+        } else if ((c & 0xF8) == 0xF0) { // 4 bytes; double-char, with surrogates
+            c &= 0x07;
+            needed = 3;
+        } else {
+            throw new CharConversionException("Invalid UTF-8 start byte 0x"+Integer.toHexString(c)
+                    +" (at byte #"+(_currInputProcessed + _inputPtr - 1)+")");
+        }
+        for (int i = 1; i <= needed; ++i) {
+            if (_inputPtr >= _inputEnd) {
+                if (!loadMore()) {
+                    throw new CharConversionException("Unexpected EOF in the middle of a multi-byte char: got "
+                            +i+", needed "+(needed+1)+", at byte #"+(_currInputProcessed + _inputPtr)+")");
+                }
+            }
+            int d = _inputBytes[_inputPtr++];
+            if ((d & 0xC0) != 0x080) {
+                throw new CharConversionException("Invalid UTF-8 middle byte 0x"+Integer.toHexString(d & 0xFF)
+                        +" (at byte #"+(_currInputProcessed + _inputPtr - 1)+")");
+            }
+            c = (c << 6) | (d & 0x3F);
+        }
+        if (c > 0x10FFFF) {
+            throw new CharConversionException("Invalid UTF-8 character 0x"+Integer.toHexString(c)
+                    +" (above 0x10FFFF) at byte #"+(_currInputProcessed + _inputPtr - 1)+")");
+        }
+        return c;
+    }
+}
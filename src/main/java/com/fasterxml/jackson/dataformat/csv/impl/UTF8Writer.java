@@ -24,7 +24,7 @@ public final class UTF8Writer
 
     private byte[] _outBuffer;
 
-    final private int _outBufferEnd;
+    private int _outBufferEnd;
 
     private int _outPtr;
 
@@ -49,6 +49,39 @@ public final class UTF8Writer
         _outPtr = 0;
     }
 
+    /**
+     * Method for reusing this writer for writing to given stream; previous stream
+     * must have been flushed or closed.
+     *
+     * @since 2.6
+     */
+    public void reset(OutputStream out)
+    {
+        _out = out;
+        if (_outBuffer == null) {
+            _outBuffer = _context.allocWriteEncodingBuffer();
+            _outBufferEnd = _outBuffer.length - 4;
+        }
+        _outPtr = 0;
+        _surrogate = 0;
+    }
+
+    /**
+     * Method for releasing encoding buffer when this writer will not be used
+     * any more, without closing the underlying stream (which must have been
+     * flushed).
+     *
+     * @since 2.6
+     */
+    public void releaseBuffers()
+    {
+        byte[] buf = _outBuffer;
+        if (buf != null) {
+            _outBuffer = null;
+            _context.releaseWriteEncodingBuffer(buf);
+        }
+    }
+
     @Override
     public Writer append(char c) throws IOException
     {
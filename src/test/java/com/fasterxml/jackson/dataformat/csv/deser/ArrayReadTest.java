@@ -3,6 +3,7 @@ package com.fasterxml.jackson.dataformat.csv.deser;
 import java.util.Arrays;
 
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.dataformat.csv.*;
 
 // for [dataformat-csv#57]
@@ -62,6 +63,76 @@ public class ArrayReadTest extends ModuleTestBase
         assertEquals(0, v.length);
     }
 
+    public void testTypedElements() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("id")
+                .addArrayColumn("values", ';', CsvSchema.ColumnType.NUMBER)
+                .addArrayColumn("names", ';')
+                .build();
+        CsvParser p = MAPPER.getFactory().createParser("a, 1; 2 ;;-3.5 ,x ; y\n");
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("id", p.nextFieldName());
+        assertEquals("a", p.nextTextValue());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(1, p.getIntValue());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(2, p.getIntValue());
+        assertEquals("2", p.getText());
+        // empty element of numeric array is null, same as empty numeric column
+        assertToken(JsonToken.VALUE_NULL, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(-3.5, p.getDoubleValue());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+
+        // String elements not trimmed by default
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("x ", p.getText());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals(" y", new String(p.getTextCharacters(), p.getTextOffset(), p.getTextLength()));
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        p.close();
+    }
+
+    public void testTypedElementsWithRowFilter() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("id")
+                .addArrayColumn("values", ';', CsvSchema.ColumnType.NUMBER)
+                .build()
+                .withRowFilter(CsvRowFilter.in("id", "b"));
+        CsvParser p = MAPPER.getFactory().createParser("a,1;2\nb,3;4\n");
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("id", p.nextFieldName());
+        assertEquals("b", p.nextTextValue());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(3, p.getIntValue());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(4, p.getIntValue());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testTypedSchemaElementType() throws Exception
+    {
+        CsvSchema schema = MAPPER.typedSchemaFor(ValueEntry.class);
+        assertEquals(CsvSchema.ColumnType.ARRAY, schema.column(1).getType());
+        assertEquals(CsvSchema.ColumnType.NUMBER, schema.column(1).getArrayElementType());
+        assertEquals(CsvSchema.ColumnType.STRING, MAPPER.schemaFor(ValueEntry.class)
+                .column(1).getArrayElementType());
+    }
+
     /*
     public void testSeparatorOverride() throws Exception
     {
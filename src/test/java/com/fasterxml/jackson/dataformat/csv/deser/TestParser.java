@@ -4,6 +4,9 @@ import java.io.ByteArrayOutputStream;
 import java.util.*;
 
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.dataformat.csv.*;
 
@@ -225,4 +228,37 @@ public class TestParser extends ModuleTestBase
         assertEquals("bar", m.get("Col2"));
         assertEquals("foo", m.get("Col3"));
     }
+
+    public void testNextFieldNameMatching() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        // column names are interned, including ones read from header
+        CsvSchema schema = CsvSchema.builder().addColumn(new String("firstName")).build();
+        assertSame("firstName", schema.columnName(0));
+        assertSame(schema.column(0).getSerializedName(), schema.column(0).getSerializedName());
+
+        JsonParser p = mapper.getFactory().createParser("lastName,firstName\nRobertson,Bob\n");
+        p.setSchema(CsvSchema.emptySchema().withHeader());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        CsvSchema.Column first = ((CsvSchema) p.getSchema()).column(0);
+        assertSame("lastName", first.getName());
+        assertTrue(p.nextFieldName(first.getSerializedName()));
+        assertEquals("Robertson", p.nextTextValue());
+        // non-shared (and non-interned) names must match as well
+        assertFalse(p.nextFieldName(new SerializedString("lastName")));
+        assertEquals("firstName", p.getCurrentName());
+        assertEquals("Bob", p.nextTextValue());
+        assertFalse(p.nextFieldName(new SerializedString("firstName")));
+        assertToken(JsonToken.END_OBJECT, p.getCurrentToken());
+        assertNull(p.nextToken());
+        p.close();
+
+        p = mapper.getFactory().createParser("Robertson,Bob\n");
+        p.setSchema(CsvSchema.builder().addColumn("lastName").addColumn("firstName").build());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertTrue(p.nextFieldName(new SerializedString(new String("lastName"))));
+        assertEquals("Robertson", p.nextTextValue());
+        assertTrue(p.nextFieldName(new SerializedString("firstName")));
+        p.close();
+    }
 }
@@ -0,0 +1,86 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for canonicalization of values of columns that have it enabled.
+ */
+public class TestParserCanonicalValues extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "status" })
+    protected static class Entry {
+        public String id;
+        public String status;
+    }
+
+    public void testSchemaSettings() throws Exception
+    {
+        CsvSchema.Builder b = CsvSchema.builder()
+                .addColumn("id")
+                .addColumn("status");
+        b.setCanonicalValues(1, true);
+        CsvSchema schema = b.build();
+        assertFalse(schema.column(0).hasCanonicalValues());
+        assertTrue(schema.column(1).hasCanonicalValues());
+        // retained by other changes
+        assertTrue(schema.column(1).withType(CsvSchema.ColumnType.STRING_OR_LITERAL).hasCanonicalValues());
+        assertTrue(schema.rebuild().build().column(1).hasCanonicalValues());
+        assertFalse(schema.column(1).withCanonicalValues(false).hasCanonicalValues());
+    }
+
+    public void testCanonicalValues() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvSchema schema = mapper.schemaFor(Entry.class);
+        CsvSchema.Builder b = schema.rebuild();
+        b.setCanonicalValues(1, true);
+        schema = b.build();
+        final String DOC = "a,open\nb,closed\na,open\nb,closed\n";
+        for (int i = 0; i < 2; ++i) {
+            if (i == 1) {
+                mapper.enable(CsvParser.Feature.BIND_BY_COLUMN_INDEX);
+            }
+            MappingIterator<Entry> it = mapper.reader(Entry.class).with(schema).readValues(DOC);
+            List<Entry> entries = it.readAll();
+            it.close();
+            assertEquals(4, entries.size());
+            assertEquals("open", entries.get(0).status);
+            assertSame(entries.get(0).status, entries.get(2).status);
+            assertSame(entries.get(1).status, entries.get(3).status);
+            // but only for columns that have it enabled
+            assertEquals(entries.get(0).id, entries.get(2).id);
+            assertNotSame(entries.get(0).id, entries.get(2).id);
+        }
+    }
+
+    public void testDisabledForDistinctValues() throws Exception
+    {
+        CsvSchema.Builder b = CsvSchema.builder()
+                .addColumn("id")
+                .addColumn("status");
+        b.setCanonicalValues(0, true);
+        CsvSchema schema = b.build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 2000; ++i) {
+            sb.append("id").append(i).append(",x\n");
+        }
+        sb.append("same,x\nsame,x\n");
+        CsvParser p = mapperForCsv().getFactory().createParser(sb.toString());
+        p.setSchema(schema);
+        String last = null, prev = null;
+        while (p.nextToken() != null) {
+            if ("id".equals(p.getCurrentName()) && p.getCurrentToken().isScalarValue()) {
+                prev = last;
+                last = p.getText();
+            }
+        }
+        p.close();
+        assertEquals("same", last);
+        assertEquals(prev, last);
+        assertNotSame(prev, last);
+    }
+}
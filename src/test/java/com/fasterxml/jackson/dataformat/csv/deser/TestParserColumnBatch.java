@@ -0,0 +1,120 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.dataformat.csv.*;
+import com.fasterxml.jackson.dataformat.csv.CsvColumnBatchReader.*;
+
+/**
+ * Tests for reading records into column vectors using {@link CsvColumnBatchReader}.
+ */
+public class TestParserColumnBatch extends ModuleTestBase
+{
+    private final static String DOC =
+            "id,name,score,active,tags\n"
+            +"1,Bob,1,true,a;b\n"
+            +"2,\"Smith, Jo\",,,\n"
+            +"3,Pat,-4,false\n"
+            +"4000000000,Al,2.5,true,c\n"
+            +"5,\n";
+
+    private final static CsvSchema SCHEMA = CsvSchema.builder()
+            .addColumn("id", CsvSchema.ColumnType.NUMBER)
+            .addColumn("name")
+            .addColumn("score", CsvSchema.ColumnType.NUMBER)
+            .addColumn("active", CsvSchema.ColumnType.BOOLEAN)
+            .addArrayColumn("tags", ';')
+            .build()
+            .withHeader();
+
+    public void testBatches() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        for (boolean bytes : new boolean[] { false, true }) {
+            CsvParser p = (CsvParser) (bytes ? mapper.getFactory().createParser(DOC.getBytes("UTF-8"))
+                    : mapper.getFactory().createParser(DOC));
+            CsvColumnBatchReader r = new CsvColumnBatchReader(p, SCHEMA, 3);
+            assertEquals(3, r.readBatch());
+            assertEquals(5, r.getColumnCount());
+
+            NumberVector ids = (NumberVector) r.getColumn("id");
+            assertEquals(NumberType.INT, ids.getNumberType());
+            assertEquals(3, ids.size());
+            assertEquals(3, ids.getInts()[2]);
+
+            TextVector names = (TextVector) r.getColumn(1);
+            assertEquals("Smith, Jo", names.getString(1));
+            assertEquals(3, names.getOffset(1));
+            assertEquals(9, names.getLength(1));
+            assertEquals("BobSmith, JoPat", new String(names.getChars(), 0, names.getOffsets()[3]));
+
+            NumberVector scores = (NumberVector) r.getColumn("score");
+            assertEquals(NumberType.INT, scores.getNumberType());
+            assertFalse(scores.isNull(0));
+            assertTrue(scores.isNull(1));
+            assertEquals(-4.0, scores.getDouble(2));
+            assertEquals(2L, scores.getNullBitmap()[0]);
+
+            BooleanVector active = (BooleanVector) r.getColumn("active");
+            assertTrue(active.getBoolean(0));
+            assertTrue(active.isNull(1));
+            assertFalse(active.getBooleans()[2]);
+            assertFalse(active.isNull(2));
+
+            // array values are not split; missing values are null
+            TextVector tags = (TextVector) r.getColumn("tags");
+            assertEquals("a;b", tags.getString(0));
+            assertEquals("", tags.getString(1));
+            assertNull(tags.getString(2));
+            assertTrue(tags.isNull(2));
+
+            // second batch reuses same vectors, widening numbers as needed
+            assertEquals(2, r.readBatch());
+            assertSame(ids, r.getColumn("id"));
+            assertEquals(NumberType.LONG, ids.getNumberType());
+            assertEquals(4000000000L, ids.getLongs()[0]);
+            assertEquals(5L, ids.getLong(1));
+            assertEquals(NumberType.DOUBLE, scores.getNumberType());
+            assertEquals(2.5, scores.getDoubles()[0]);
+            assertTrue(scores.isNull(1));
+            assertEquals(2L, scores.getNullBitmap()[0]);
+            assertEquals("Al", names.getString(0));
+            assertEquals("", names.getString(1));
+            assertTrue(active.isNull(1));
+
+            assertEquals(0, r.readBatch());
+            assertEquals(0, r.getRowCount());
+            r.close();
+        }
+    }
+
+    public void testWithProjectionAndFilter() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvParser p = (CsvParser) mapper.getFactory().createParser(DOC);
+        CsvColumnBatchReader r = new CsvColumnBatchReader(p, SCHEMA.withProjection("id", "active")
+                .withRowFilter(CsvRowFilter.equalTo("active", "true")), 10);
+        assertEquals(2, r.readBatch());
+        assertNull(r.getColumn("name"));
+        NumberVector ids = (NumberVector) r.getColumn(0);
+        assertEquals(NumberType.LONG, ids.getNumberType());
+        assertEquals(1L, ids.getLong(0));
+        assertEquals(4000000000L, ids.getLong(1));
+        assertEquals(0, r.readBatch());
+        r.close();
+    }
+
+    public void testInvalidValue() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvParser p = (CsvParser) mapper.getFactory().createParser("id,name,score\n1,Bob,abc\n");
+        CsvColumnBatchReader r = new CsvColumnBatchReader(p, SCHEMA, 10);
+        try {
+            r.readBatch();
+            fail("Should not pass");
+        } catch (JsonProcessingException e) {
+            verifyException(e, "Invalid value for numeric column \"score\": \"abc\"");
+        }
+        r.close();
+    }
+}
@@ -0,0 +1,93 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.util.Random;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.csv.*;
+import com.fasterxml.jackson.dataformat.csv.impl.NumberInput;
+
+/**
+ * Tests for parsing of floating-point values, which does not go through
+ * JDK for common cases but must give same results.
+ */
+public class TestParserDoubles extends ModuleTestBase
+{
+    private final static String[] VALUES = {
+        "0", "-0", "0.0", "-0.0", "0e10", "1", "1.5", "-2.25", "123.456", "0.1", "0.3",
+        "3.141592653589793", "2.718281828459045", "1e22", "1e23", "9007199254740993",
+        "1.7976931348623157e308", "1.7976931348623159e308", "2.2250738585072014e-308",
+        "4.9e-324", "2.4703282292062327e-324", "1e-400", "1e400", "123456789012345678901234567890",
+        "0.000000000000000000000000000001", "7.2057594037927933e16", "9.5e-5", "1E5", "1e+5",
+        "+3.5", ".5", "5.", "2.5f", "1.0d", "NaN", "-Infinity",
+        "8.98846567431158e307", "1.00000000000000011102230246251565404236316680908203125",
+        "1.00000000000000011102230246251565404236316680908203124", "9223372036854775807",
+        "18446744073709551615", "9999999999999999999", "0.9999999999999999999",
+        // 20 digits for which mantissa wraps to exactly zero
+        "18446744073709551616", "36893488147419103232", "1844674407370955161.6",
+        "0.18446744073709551616", "-18446744073709551616", "000018446744073709551616"
+    };
+
+    public void testKnownValues() throws Exception
+    {
+        for (String value : VALUES) {
+            _verify(value);
+        }
+    }
+
+    public void testRandomValues() throws Exception
+    {
+        Random r = new Random(123);
+        for (int i = 0; i < 100000; ++i) {
+            double d = Double.longBitsToDouble(r.nextLong());
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                continue;
+            }
+            _verify(String.valueOf(d));
+            // and also shorter values with random exponents, like in typical content
+            _verify(String.valueOf(r.nextInt(1000000))+"."+r.nextInt(1000)+"e"+(r.nextInt(700) - 350));
+        }
+    }
+
+    public void testInvalid() throws Exception
+    {
+        for (String value : new String[] { "", "-", "1e", "1.2.3", "abc", "1e+" }) {
+            try {
+                NumberInput.parseDouble(value.toCharArray(), 0, value.length());
+                fail("Should not pass: '"+value+"'");
+            } catch (NumberFormatException e) { }
+        }
+    }
+
+    public void testViaParser() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("x", CsvSchema.ColumnType.NUMBER)
+                .build();
+        CsvMapper mapper = mapperForCsv();
+        for (int i = 0; i < 2; ++i) {
+            String doc = "0.1\n-2.5e-3\n7.2057594037927933e16\n0.18446744073709551616\n";
+            CsvParser p = (i == 0) ? mapper.getFactory().createParser(doc)
+                    : mapper.getFactory().createParser(doc.getBytes("UTF-8"));
+            p.setSchema(schema);
+            for (String exp : new String[] { "0.1", "-2.5e-3", "7.2057594037927933e16",
+                    "0.18446744073709551616" }) {
+                assertToken(JsonToken.START_OBJECT, p.nextToken());
+                assertToken(JsonToken.FIELD_NAME, p.nextToken());
+                assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+                assertEquals(Double.parseDouble(exp), p.getDoubleValue());
+                assertToken(JsonToken.END_OBJECT, p.nextToken());
+            }
+            p.close();
+        }
+    }
+
+    private void _verify(String value) throws Exception
+    {
+        double exp = NumberInput.parseDouble(value);
+        String padded = "  "+value+" ";
+        assertEquals(value, Double.doubleToRawLongBits(exp),
+                Double.doubleToRawLongBits(NumberInput.parseDouble(padded.toCharArray(), 2, value.length())));
+        assertEquals(value, Double.doubleToRawLongBits(exp),
+                Double.doubleToRawLongBits(NumberInput.parseDouble(padded.getBytes("UTF-8"), 2, value.length())));
+    }
+}
@@ -0,0 +1,269 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.*;
+import com.fasterxml.jackson.dataformat.csv.impl.ParallelGzipInputStream;
+
+/**
+ * Tests for reading gzip-compressed content, decompressed in the background
+ * (and in parallel for BGZF content).
+ */
+public class TestParserGzip extends ModuleTestBase
+{
+    protected static class Entry {
+        public int id;
+        public String name;
+    }
+
+    private final static int ROWS = 20000;
+
+    private ExecutorService _executor;
+
+    @Override
+    protected void setUp() {
+        _executor = Executors.newFixedThreadPool(3);
+    }
+
+    @Override
+    protected void tearDown() {
+        _executor.shutdown();
+    }
+
+    public void testSingleMember() throws Exception
+    {
+        byte[] doc = _doc();
+        _verify(_gzip(doc, 0, doc.length), _executor);
+        _verify(_gzip(doc, 0, doc.length), null);
+    }
+
+    public void testMultipleMembers() throws Exception
+    {
+        byte[] doc = _doc();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        // split at arbitrary points, not just at record boundaries
+        int split1 = doc.length / 3 + 7;
+        int split2 = doc.length / 2 + 3;
+        bytes.write(_gzip(doc, 0, split1));
+        bytes.write(_gzip(doc, split1, split2 - split1));
+        bytes.write(_gzip(doc, split2, doc.length - split2));
+        _verify(bytes.toByteArray(), _executor);
+    }
+
+    public void testBGZF() throws Exception
+    {
+        byte[] doc = _doc();
+        byte[] bgzf = _bgzf(doc);
+        _verify(bgzf, _executor);
+        _verify(bgzf, null);
+        // also fine to mix with regular members
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(_gzip(doc, 0, 100));
+        bytes.write(_bgzf(Arrays.copyOfRange(doc, 100, doc.length)));
+        _verify(bytes.toByteArray(), _executor);
+    }
+
+    public void testFile() throws Exception
+    {
+        File f = File.createTempFile("csv-gzip", ".csv.gz");
+        try {
+            OutputStream out = new FileOutputStream(f);
+            out.write(_bgzf(_doc()));
+            out.close();
+            CsvMapper mapper = mapperForCsv();
+            CsvParser p = mapper.getFactory().createGzipParser(f, _executor);
+            _verify(mapper, p);
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testUncompressed() throws Exception {
+        _verify(_doc(), _executor);
+    }
+
+    public void testCorrupt() throws Exception
+    {
+        byte[] doc = _doc();
+        for (int i = 0; i < 2; ++i) {
+            byte[] gzip = (i == 0) ? _gzip(doc, 0, doc.length) : _bgzf(doc);
+            // change a byte of CRC of the last member with content (BGZF ends with empty block)
+            int crcOffset = gzip.length - 8 - ((i == 0) ? 0 : 28);
+            gzip[crcOffset] ^= 0x01;
+            CsvMapper mapper = mapperForCsv();
+            CsvParser p = mapper.getFactory().createGzipParser(new ByteArrayInputStream(gzip), _executor);
+            try {
+                mapper.reader(Entry.class).readValues(_withHeader(p)).readAll();
+                fail("Should not pass");
+            } catch (Exception e) {
+                verifyException(e, "CRC mismatch");
+            } finally {
+                p.close();
+            }
+        }
+    }
+
+    public void testTruncated() throws Exception
+    {
+        byte[] doc = _doc();
+        byte[] gzip = _gzip(doc, 0, doc.length);
+        gzip = Arrays.copyOf(gzip, gzip.length / 2);
+        CsvMapper mapper = mapperForCsv();
+        CsvParser p = mapper.getFactory().createGzipParser(new ByteArrayInputStream(gzip), null);
+        try {
+            mapper.reader(Entry.class).readValues(_withHeader(p)).readAll();
+            fail("Should not pass");
+        } catch (EOFException e) {
+            verifyException(e, "Unexpected end of gzip content");
+        } finally {
+            p.close();
+        }
+    }
+
+    // Problem must be reported even if reader is slower than read-ahead (queue full)
+    public void testTruncatedSlowReader() throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; sb.length() < 2500000; ++i) {
+            sb.append(i).append(",name ").append(i).append('\n');
+        }
+        byte[] doc = sb.toString().getBytes("UTF-8");
+        byte[] gzip = _gzip(doc, 0, doc.length);
+        final byte[] truncated = Arrays.copyOf(gzip, gzip.length - 20);
+        Future<Exception> result = _executor.submit(new Callable<Exception>() {
+            @Override
+            public Exception call() throws Exception {
+                ParallelGzipInputStream in = new ParallelGzipInputStream(
+                        new ByteArrayInputStream(truncated), null, true);
+                byte[] buffer = new byte[50000];
+                try {
+                    while (in.read(buffer) >= 0) {
+                        Thread.sleep(5L);
+                    }
+                    return null;
+                } catch (IOException e) {
+                    return e;
+                } finally {
+                    in.close();
+                }
+            }
+        });
+        Exception e = result.get(30L, TimeUnit.SECONDS);
+        assertNotNull("Should have failed on truncated content", e);
+        verifyException(e, "Unexpected end of gzip content");
+    }
+
+    public void testCloseEarly() throws Exception
+    {
+        byte[] doc = _doc();
+        CsvMapper mapper = mapperForCsv();
+        CsvParser p = mapper.getFactory().createGzipParser(
+                new ByteArrayInputStream(_gzip(doc, 0, doc.length)), _executor);
+        MappingIterator<Entry> it = mapper.reader(Entry.class).readValues(_withHeader(p));
+        assertEquals(0, it.next().id);
+        // should stop read-ahead, without blocking
+        p.close();
+        assertTrue(p.isClosed());
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private void _verify(byte[] gzip, ExecutorService executor) throws IOException
+    {
+        CsvMapper mapper = mapperForCsv();
+        _verify(mapper, mapper.getFactory().createGzipParser(new ByteArrayInputStream(gzip), executor));
+    }
+
+    private void _verify(CsvMapper mapper, CsvParser p) throws IOException
+    {
+        MappingIterator<Entry> it = mapper.reader(Entry.class).readValues(_withHeader(p));
+        List<Entry> entries = it.readAll();
+        p.close();
+        assertEquals(ROWS, entries.size());
+        for (int i = 0; i < ROWS; ++i) {
+            Entry e = entries.get(i);
+            assertEquals(i, e.id);
+            assertEquals("name "+i, e.name);
+        }
+    }
+
+    private CsvParser _withHeader(CsvParser p) {
+        p.setSchema(CsvSchema.emptySchema().withHeader());
+        return p;
+    }
+
+    private byte[] _doc() throws IOException
+    {
+        StringBuilder sb = new StringBuilder("id,name\n");
+        for (int i = 0; i < ROWS; ++i) {
+            sb.append(i).append(",name ").append(i).append('\n');
+        }
+        return sb.toString().getBytes("UTF-8");
+    }
+
+    private byte[] _gzip(byte[] data, int offset, int len) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        GZIPOutputStream out = new GZIPOutputStream(bytes);
+        out.write(data, offset, len);
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Helper method for compressing content as BGZF blocks, with trailing
+     * empty block as end marker.
+     */
+    private byte[] _bgzf(byte[] data) throws IOException
+    {
+        final int BLOCK = 30000;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (int offset = 0; offset < data.length; offset += BLOCK) {
+            _bgzfBlock(bytes, data, offset, Math.min(BLOCK, data.length - offset));
+        }
+        _bgzfBlock(bytes, data, 0, 0);
+        return bytes.toByteArray();
+    }
+
+    private void _bgzfBlock(ByteArrayOutputStream bytes, byte[] data, int offset, int len)
+    {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(data, offset, len);
+        deflater.finish();
+        byte[] compressed = new byte[len + 1000];
+        int compLen = deflater.deflate(compressed);
+        deflater.end();
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, len);
+
+        // header with extra field, which contains 'BC' subfield with block size - 1
+        bytes.write(0x1F); bytes.write(0x8B); bytes.write(8); bytes.write(4);
+        _int32(bytes, 0); bytes.write(0); bytes.write(0xFF);
+        _int16(bytes, 6);
+        bytes.write('B'); bytes.write('C'); _int16(bytes, 2);
+        _int16(bytes, 18 + compLen + 8 - 1);
+        bytes.write(compressed, 0, compLen);
+        _int32(bytes, (int) crc.getValue());
+        _int32(bytes, len);
+    }
+
+    private void _int16(ByteArrayOutputStream bytes, int value) {
+        bytes.write(value & 0xFF);
+        bytes.write((value >> 8) & 0xFF);
+    }
+
+    private void _int32(ByteArrayOutputStream bytes, int value) {
+        _int16(bytes, value & 0xFFFF);
+        _int16(bytes, value >>> 16);
+    }
+}
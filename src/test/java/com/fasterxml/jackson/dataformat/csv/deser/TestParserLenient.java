@@ -0,0 +1,158 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for lenient parsing, in which problems with records are collected
+ * instead of being reported as exceptions.
+ */
+public class TestParserLenient extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name" })
+    protected static class Entry {
+        public int id;
+        public String name;
+    }
+
+    private final static CsvSchema SCHEMA = CsvSchema.builder()
+            .addColumn("id", CsvSchema.ColumnType.NUMBER)
+            .addColumn("name")
+            .build();
+
+    private final static String DOC = "1,a\n"
+            +"2,b,extra\n"
+            +"3,\"c\"x,more\n"
+            +"4,d\n"
+            +"5,\"e";
+
+    public void testReadValues() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        for (int i = 0; i < 2; ++i) {
+            CsvErrorCollector errors = new CsvErrorCollector(10);
+            if (i == 1) {
+                mapper.enable(CsvParser.Feature.BIND_BY_COLUMN_INDEX);
+            }
+            MappingIterator<Entry> it = ((CsvObjectReader) mapper.reader(Entry.class).with(SCHEMA))
+                    .readValues(new ByteArrayInputStream(DOC.getBytes("UTF-8")), errors);
+            List<Entry> entries = it.readAll();
+            it.close();
+
+            // records with problems are skipped altogether
+            assertEquals(2, entries.size());
+            assertEquals(1, entries.get(0).id);
+            assertEquals("a", entries.get(0).name);
+            assertEquals(4, entries.get(1).id);
+            assertEquals("d", entries.get(1).name);
+
+            assertEquals(3, errors.getErrorCount());
+            List<CsvErrorCollector.RecordError> list = errors.getErrors();
+            assertEquals(2, list.get(0).getRow());
+            assertTrue(list.get(0).getOffset() > 4L);
+            assertTrue(list.get(0).getMessage().startsWith("Too many entries"));
+            assertEquals(3, list.get(1).getRow());
+            assertTrue(list.get(1).getMessage().contains("Unexpected character ('x'"));
+            assertEquals(5, list.get(2).getRow());
+            assertEquals("Missing closing quote for value", list.get(2).getMessage());
+        }
+    }
+
+    public void testTokensAndBounds() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvErrorCollector errors = new CsvErrorCollector(1);
+        CsvParser p = mapper.getFactory().createParser(DOC);
+        p.setSchema(SCHEMA);
+        p.setErrorCollector(errors);
+        assertSame(errors, p.getErrorCollector());
+        int records = 0;
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            if (t == JsonToken.END_OBJECT) {
+                ++records;
+            }
+        }
+        p.close();
+        assertEquals(2, records);
+        assertEquals(3, errors.getErrorCount());
+        assertEquals(1, errors.getErrors().size());
+        assertTrue(errors.hasErrors());
+    }
+
+    public void testWithRowFilter() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvErrorCollector errors = new CsvErrorCollector(10);
+        CsvParser p = mapper.getFactory().createParser("1,a\n\"2\"x,b\n3,c\n");
+        p.setSchema(SCHEMA.withRowFilter(CsvRowFilter.in("name", "a", "b", "c")));
+        p.setErrorCollector(errors);
+        // problem found when evaluating filter: whole record skipped
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("id", p.nextFieldName());
+        assertEquals(1, p.nextIntValue(-1));
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("id", p.nextFieldName());
+        assertEquals(3, p.nextIntValue(-1));
+        p.close();
+        assertEquals(1, errors.getErrorCount());
+        assertEquals(2, errors.getErrors().get(0).getRow());
+    }
+
+    public void testWithProjectionAndNoSchema() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvErrorCollector errors = new CsvErrorCollector(10);
+        // problems are found in values of columns not included as well
+        CsvParser p = mapper.getFactory().createParser("1,a\n2,\"b\"x\n3,c, \n");
+        p.setSchema(SCHEMA.withProjection("id"));
+        p.setErrorCollector(errors);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("id", p.nextFieldName());
+        assertEquals(1, p.nextIntValue(-1));
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("id", p.nextFieldName());
+        assertEquals(3, p.nextIntValue(-1));
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+        assertEquals(1, errors.getErrorCount());
+
+        // and without schema, records are exposed as arrays
+        errors = new CsvErrorCollector(10);
+        p = mapper.getFactory().createParser("a,b\n\"c\"d\ne,\"f\"\n");
+        p.setErrorCollector(errors);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertEquals("a", p.nextTextValue());
+        assertEquals("b", p.nextTextValue());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertEquals("e", p.nextTextValue());
+        assertEquals("f", p.nextTextValue());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+        assertEquals(1, errors.getErrorCount());
+        assertEquals(2, errors.getErrors().get(0).getRow());
+    }
+
+    public void testStrictByDefault() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        try {
+            mapper.reader(Entry.class).with(SCHEMA).readValues(DOC).readAll();
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "Too many entries");
+        }
+    }
+}
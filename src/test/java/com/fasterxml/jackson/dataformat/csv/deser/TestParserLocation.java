@@ -0,0 +1,98 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for locations of tokens, with and without
+ * {@link CsvParser.Feature#SKIP_LOCATION_TRACKING}.
+ */
+public class TestParserLocation extends ModuleTestBase
+{
+    private final static String DOC = "a,b\n\"x\ny\",z\r\nc,\"d\r\n\"\n";
+
+    private final static CsvSchema SCHEMA = CsvSchema.builder()
+            .addColumn("first")
+            .addColumn("second")
+            .build();
+
+    public void testTrackedLocations() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        for (int i = 0; i < 2; ++i) {
+            CsvParser p = _parser(mapper, i == 0);
+            _nextValue(p, "a");
+            _assertLocation(p.getTokenLocation(), 1, 1);
+            _nextValue(p, "b");
+            _assertLocation(p.getTokenLocation(), 1, 3);
+            _nextValue(p, "x\ny");
+            _assertLocation(p.getTokenLocation(), 2, 1);
+            // quoted linefeed counted
+            _nextValue(p, "z");
+            _assertLocation(p.getTokenLocation(), 3, 4);
+            _nextValue(p, "c");
+            _assertLocation(p.getTokenLocation(), 4, 1);
+            _nextValue(p, "d\r\n");
+            _assertLocation(p.getTokenLocation(), 4, 3);
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertNull(p.nextToken());
+            assertEquals(6, p.getCurrentLocation().getLineNr());
+            p.close();
+        }
+    }
+
+    public void testSkipLocationTracking() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        mapper.enable(CsvParser.Feature.SKIP_LOCATION_TRACKING);
+        for (int i = 0; i < 2; ++i) {
+            CsvParser p = _parser(mapper, i == 0);
+            // values are same, but token location is that of the record
+            _nextValue(p, "a");
+            _assertLocation(p.getTokenLocation(), 1, 1);
+            _nextValue(p, "b");
+            _assertLocation(p.getTokenLocation(), 1, 1);
+            _nextValue(p, "x\ny");
+            _assertLocation(p.getTokenLocation(), 2, 1);
+            _nextValue(p, "z");
+            _assertLocation(p.getTokenLocation(), 2, 1);
+            // and quoted linefeeds are not counted
+            _nextValue(p, "c");
+            _assertLocation(p.getTokenLocation(), 3, 1);
+            _nextValue(p, "d\r\n");
+            _assertLocation(p.getTokenLocation(), 3, 1);
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertNull(p.nextToken());
+            assertEquals(4, p.getCurrentLocation().getLineNr());
+            p.close();
+        }
+    }
+
+    private CsvParser _parser(CsvMapper mapper, boolean bytes) throws Exception
+    {
+        CsvParser p = bytes ? mapper.getFactory().createParser(DOC.getBytes("UTF-8"))
+                : mapper.getFactory().createParser(DOC);
+        p.setSchema(SCHEMA);
+        return p;
+    }
+
+    private void _nextValue(CsvParser p, String exp) throws Exception
+    {
+        JsonToken t = p.nextToken();
+        if (t == JsonToken.END_OBJECT) {
+            t = p.nextToken();
+        }
+        if (t == JsonToken.START_OBJECT) {
+            t = p.nextToken();
+        }
+        assertToken(JsonToken.FIELD_NAME, t);
+        assertEquals(exp, p.nextTextValue());
+    }
+
+    private void _assertLocation(JsonLocation loc, int line, int column)
+    {
+        assertEquals(line, loc.getLineNr());
+        assertEquals(column, loc.getColumnNr());
+    }
+}
@@ -0,0 +1,93 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.*;
+import java.util.*;
+
+import com.fasterxml.jackson.dataformat.csv.*;
+import com.fasterxml.jackson.dataformat.csv.impl.MappedFileInputStream;
+
+/**
+ * Tests for reading files using memory-mapping
+ * (see {@link CsvParser.Feature#USE_MEMORY_MAPPING}).
+ */
+public class TestParserMappedFile extends ModuleTestBase
+{
+    public void testReadValues() throws Exception
+    {
+        final int ROWS = 5000;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < ROWS; ++i) {
+            sb.append(i).append(",\"name ").append(i).append("\",\u00E9\u20AC").append(i).append('\n');
+        }
+        File f = _writeFile(sb.toString());
+        try {
+            CsvMapper mapper = mapperForCsv();
+            mapper.enable(CsvParser.Feature.WRAP_AS_ARRAY);
+            mapper.enable(CsvParser.Feature.USE_MEMORY_MAPPING);
+            String[][] rows = mapper.readValue(f, String[][].class);
+            assertEquals(ROWS, rows.length);
+            for (int i = 0; i < ROWS; ++i) {
+                assertEquals(String.valueOf(i), rows[i][0]);
+                assertEquals("name "+i, rows[i][1]);
+                assertEquals("\u00E9\u20AC"+i, rows[i][2]);
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testEmptyFile() throws Exception
+    {
+        File f = _writeFile("");
+        try {
+            CsvMapper mapper = mapperForCsv();
+            mapper.enable(CsvParser.Feature.WRAP_AS_ARRAY);
+            mapper.enable(CsvParser.Feature.USE_MEMORY_MAPPING);
+            String[][] rows = mapper.readValue(f, String[][].class);
+            assertEquals(0, rows.length);
+        } finally {
+            f.delete();
+        }
+    }
+
+    // Use tiny windows to verify that content spanning windows is read correctly
+    public void testSmallWindows() throws Exception
+    {
+        byte[] data = new byte[1000];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = (byte) i;
+        }
+        File f = _writeFile(data);
+        try {
+            MappedFileInputStream in = new MappedFileInputStream(f, 7);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            assertEquals(0, in.read());
+            assertEquals(20L, in.skip(20L));
+            byte[] buffer = new byte[50];
+            int count;
+            while ((count = in.read(buffer, 0, buffer.length)) >= 0) {
+                assertTrue(count > 0 && count <= 7);
+                bytes.write(buffer, 0, count);
+            }
+            assertEquals(-1, in.read());
+            in.close();
+            assertEquals(data.length - 21, bytes.size());
+            assertTrue(Arrays.equals(Arrays.copyOfRange(data, 21, data.length), bytes.toByteArray()));
+        } finally {
+            f.delete();
+        }
+    }
+
+    private File _writeFile(String content) throws IOException {
+        return _writeFile(content.getBytes("UTF-8"));
+    }
+
+    private File _writeFile(byte[] content) throws IOException
+    {
+        File f = File.createTempFile("csv-mapped", ".csv");
+        OutputStream out = new FileOutputStream(f);
+        out.write(content);
+        out.close();
+        return f;
+    }
+}
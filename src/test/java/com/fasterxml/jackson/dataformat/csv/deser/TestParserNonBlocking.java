@@ -0,0 +1,142 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for non-blocking parsing, using content fed to parser in chunks.
+ */
+public class TestParserNonBlocking extends ModuleTestBase
+{
+    private final static String DOC =
+            "# comment line\n"
+            +"id,name,score\r\n"
+            +"1,Bob,1.25\r\n"
+            +"2,\"Smith, \"\"Jo\"\"\n(2nd line)\",-3\r"
+            +"3,\u00C5sa \u20AC\u00E9,\r\n"
+            +"\n"
+            +"4,  \"quoted\"  ,7\n"
+            +"5,Pat";
+
+    private final static CsvSchema SCHEMA = CsvSchema.builder()
+            .addColumn("id", CsvSchema.ColumnType.NUMBER)
+            .addColumn("name")
+            .addColumn("score", CsvSchema.ColumnType.NUMBER)
+            .build()
+            .withHeader()
+            .withComments();
+
+    public void testSameAsBlocking() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        _verifySame(mapper, SCHEMA, DOC);
+        _verifySame(mapper, SCHEMA.withRowFilter(CsvRowFilter.in("name", "Pat", "Bob")), DOC);
+        _verifySame(mapper, SCHEMA.withSkipFirstDataRow(true), "\uFEFF"+DOC);
+        // no schema columns, so exposed as arrays
+        _verifySame(mapper, CsvSchema.emptySchema(), "a,b\r\nc\r\n\"d\r\ne\"");
+        _verifySame(mapper, CsvSchema.emptySchema(), "");
+
+        mapper.enable(CsvParser.Feature.WRAP_AS_ARRAY);
+        _verifySame(mapper, SCHEMA.withEscapeChar('\\'), "id,name\n1,\"a\\\"\nb\"\n2,c\\\nd\n");
+    }
+
+    public void testNotAvailable() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvParser p = mapper.getFactory().createNonBlockingByteArrayParser();
+        assertTrue(p.isNonBlocking());
+        p.setSchema(SCHEMA);
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        _feed(p, "id,name,score\n1,B");
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        _feed(p, "ob,3\n2,\"Jo\n");
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("id", p.nextFieldName());
+        assertEquals(1, p.nextIntValue(0));
+        assertEquals("name", p.nextFieldName());
+        assertEquals("Bob", p.nextTextValue());
+        assertEquals("score", p.nextFieldName());
+        assertEquals(3, p.nextIntValue(0));
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        // quoted linefeed does not end record
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        _feed(p, "\"\n");
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("id", p.nextFieldName());
+        assertEquals(2, p.nextIntValue(0));
+        assertEquals("name", p.nextFieldName());
+        assertEquals("Jo\n", p.nextTextValue());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        p.endOfInput();
+        assertNull(p.nextToken());
+        try {
+            _feed(p, "3,x\n");
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "can not feed more input");
+        }
+        p.close();
+
+        try {
+            mapper.getFactory().createParser("a").feedInput(new byte[1], 0, 1);
+            fail("Should not pass");
+        } catch (IllegalStateException e) {
+            verifyException(e, "blocking parser");
+        }
+    }
+
+    private void _verifySame(CsvMapper mapper, CsvSchema schema, String doc) throws Exception
+    {
+        byte[] data = doc.getBytes("UTF-8");
+        JsonParser p = mapper.getFactory().createParser(data);
+        p.setSchema(schema);
+        String exp = _tokens(p, null, 0);
+        for (int chunk : new int[] { 1, 2, 3, 7, data.length + 1 }) {
+            CsvParser nbp = mapper.getFactory().createNonBlockingByteArrayParser();
+            nbp.setSchema(schema);
+            assertEquals("(chunk size "+chunk+")", exp, _tokens(nbp, data, chunk));
+        }
+    }
+
+    /**
+     * Helper method for getting description of all tokens; with non-blocking
+     * parser, feeding given data in chunks of given size.
+     */
+    private String _tokens(JsonParser p, byte[] data, int chunk) throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        int offset = 0;
+        JsonToken t;
+        while (true) {
+            t = p.nextToken();
+            if (t == JsonToken.NOT_AVAILABLE) {
+                if (offset < data.length) {
+                    int end = Math.min(offset + chunk, data.length);
+                    ((CsvParser) p).feedInput(data, offset, end);
+                    offset = end;
+                } else {
+                    ((CsvParser) p).endOfInput();
+                }
+                continue;
+            }
+            if (t == null) {
+                break;
+            }
+            sb.append(t);
+            if (t.isScalarValue() || t == JsonToken.FIELD_NAME) {
+                sb.append('=').append(p.getText());
+            }
+            sb.append(' ');
+        }
+        p.close();
+        return sb.toString();
+    }
+
+    private void _feed(CsvParser p, String content) throws Exception
+    {
+        byte[] data = content.getBytes("UTF-8");
+        p.feedInput(data, 0, data.length);
+    }
+}
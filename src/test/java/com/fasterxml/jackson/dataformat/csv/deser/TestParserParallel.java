@@ -0,0 +1,229 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for reading a single file in parallel, in chunks.
+ */
+public class TestParserParallel extends ModuleTestBase
+{
+    protected static class Entry {
+        public int id;
+        public String name, desc;
+    }
+
+    private ExecutorService _executor;
+
+    @Override
+    protected void setUp() {
+        _executor = Executors.newFixedThreadPool(4);
+    }
+
+    @Override
+    protected void tearDown() {
+        _executor.shutdown();
+    }
+
+    public void testOrdered() throws Exception
+    {
+        final int ROWS = 300;
+        File f = _writeFile(ROWS);
+        try {
+            CsvMapper mapper = mapperForCsv();
+            CsvSchema schema = CsvSchema.emptySchema().withHeader();
+            CsvObjectReader r = (CsvObjectReader) mapper.reader(Entry.class).with(schema);
+            // use chunk counts high enough to have boundaries within quoted values
+            for (int chunks = 1; chunks < 40; chunks += 3) {
+                List<Entry> entries = r.readValuesInParallel(f, chunks, _executor);
+                assertEquals(ROWS, entries.size());
+                for (int i = 0; i < ROWS; ++i) {
+                    _verify(i, entries.get(i));
+                }
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testUnordered() throws Exception
+    {
+        final int ROWS = 500;
+        File f = _writeFile(ROWS);
+        try {
+            CsvMapper mapper = mapperForCsv();
+            CsvSchema schema = CsvSchema.builder()
+                    .addColumn("id")
+                    .addColumn("name")
+                    .addColumn("desc")
+                    .build()
+                    .withHeader()
+                    .withSkipFirstDataRow(true);
+            CsvObjectReader r = (CsvObjectReader) mapper.reader(Entry.class).with(schema);
+            final Entry[] entries = new Entry[ROWS];
+            r.readValuesInParallel(f, 7, _executor, new CsvObjectReader.ValueHandler<Entry>() {
+                @Override
+                public void handleValue(Entry value) {
+                    synchronized (entries) {
+                        assertNull(entries[value.id]);
+                        entries[value.id] = value;
+                    }
+                }
+            });
+            // first row skipped
+            assertNull(entries[0]);
+            for (int i = 1; i < ROWS; ++i) {
+                _verify(i, entries[i]);
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    // On failure, other chunks must be cancelled and handler no longer called once method returns
+    public void testHandlerFailure() throws Exception
+    {
+        final int ROWS = 2000;
+        File f = _writeFile(ROWS);
+        try {
+            CsvMapper mapper = mapperForCsv();
+            CsvObjectReader r = (CsvObjectReader) mapper.reader(Entry.class)
+                    .with(CsvSchema.emptySchema().withHeader());
+            final AtomicInteger handled = new AtomicInteger();
+            try {
+                r.readValuesInParallel(f, 4, _executor, new CsvObjectReader.ValueHandler<Entry>() {
+                    @Override
+                    public void handleValue(Entry value) throws IOException {
+                        if (value.id == 10) {
+                            throw new IOException("Test failure");
+                        }
+                        try {
+                            Thread.sleep(1L);
+                        } catch (InterruptedException e) {
+                            throw new InterruptedIOException();
+                        }
+                        handled.incrementAndGet();
+                    }
+                });
+                fail("Should not pass");
+            } catch (IOException e) {
+                verifyException(e, "Test failure");
+            }
+            int count = handled.get();
+            assertTrue(count < ROWS - 1);
+            Thread.sleep(50L);
+            assertEquals(count, handled.get());
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testSplit() throws Exception
+    {
+        final int ROWS = 3000;
+        File f = _writeFile(ROWS);
+        try {
+            CsvMapper mapper = mapperForCsv();
+            CsvSchema schema = CsvSchema.emptySchema().withHeader();
+            CsvObjectReader r = (CsvObjectReader) mapper.reader(Entry.class).with(schema);
+            CsvFileSplit<Entry> split = r.splitValues(f);
+            long estimate = split.estimateSize();
+            assertTrue(estimate > ROWS / 2 && estimate < ROWS * 2);
+
+            // split recursively, keeping splits in order
+            LinkedList<CsvFileSplit<Entry>> splits = new LinkedList<CsvFileSplit<Entry>>();
+            splits.add(split);
+            for (int round = 0; round < 4; ++round) {
+                ListIterator<CsvFileSplit<Entry>> it = splits.listIterator();
+                while (it.hasNext()) {
+                    CsvFileSplit<Entry> s = it.next();
+                    CsvFileSplit<Entry> first = s.trySplit();
+                    if (first != null) {
+                        assertEquals(first.getEnd(), s.getStart());
+                        it.previous();
+                        it.add(first);
+                        it.next();
+                    }
+                }
+            }
+            assertEquals(16, splits.size());
+
+            List<Entry> entries = new ArrayList<Entry>();
+            for (CsvFileSplit<Entry> s : splits) {
+                // estimate should go down as values are read
+                long initial = s.estimateSize();
+                assertTrue(initial > 0L);
+                for (int i = 0; i < 100; ++i) {
+                    entries.add(s.nextValue());
+                }
+                long remaining = s.estimateSize();
+                assertTrue(remaining > initial - 120 && remaining < initial - 80);
+                entries.addAll(s.readAll());
+                assertNull(s.trySplit());
+                assertEquals(0L, s.estimateSize());
+                s.close();
+            }
+            assertEquals(ROWS, entries.size());
+            for (int i = 0; i < ROWS; ++i) {
+                _verify(i, entries.get(i));
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testEmptyFile() throws Exception
+    {
+        File f = File.createTempFile("csv-parallel", ".csv");
+        try {
+            CsvMapper mapper = mapperForCsv();
+            CsvObjectReader r = (CsvObjectReader) mapper.reader(Entry.class)
+                    .with(mapper.schemaFor(Entry.class));
+            assertEquals(0, r.readValuesInParallel(f, 3, _executor).size());
+        } finally {
+            f.delete();
+        }
+    }
+
+    private void _verify(int i, Entry e)
+    {
+        assertNotNull(e);
+        assertEquals(i, e.id);
+        assertEquals("name "+i, e.name);
+        assertEquals(_desc(i), e.desc);
+    }
+
+    private String _desc(int i) {
+        switch (i % 3) {
+        case 0:
+            return "plain"+i;
+        case 1:
+            return "quoted, with\nlinefeeds\r\nand \"quotes\"\n";
+        }
+        return "";
+    }
+
+    private File _writeFile(int rows) throws IOException
+    {
+        StringBuilder sb = new StringBuilder("id,name,desc\n");
+        for (int i = 0; i < rows; ++i) {
+            sb.append(i).append(",name ").append(i).append(',');
+            String desc = _desc(i);
+            if (desc.indexOf('\n') >= 0) {
+                sb.append('"').append(desc.replace("\"", "\"\"")).append('"');
+            } else {
+                sb.append(desc);
+            }
+            sb.append((i % 2 == 0) ? "\n" : "\r\n");
+        }
+        File f = File.createTempFile("csv-parallel", ".csv");
+        Writer w = new OutputStreamWriter(new FileOutputStream(f), "UTF-8");
+        w.write(sb.toString());
+        w.close();
+        return f;
+    }
+}
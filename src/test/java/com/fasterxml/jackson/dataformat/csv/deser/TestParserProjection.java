@@ -0,0 +1,101 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for skipping columns not included in projection of schema.
+ */
+public class TestParserProjection extends ModuleTestBase
+{
+    protected static class Point {
+        public int x, y;
+    }
+
+    private final static String DOC =
+            "1,\"skip, \"\"this\"\"\r\nplease\",a,x\\,y,b\n"
+            +"2,,c,\"\u00E9\u20AC\",d\r\n"
+            +"3,  \"q\"  ,e\n";
+
+    public void testSkipColumns() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("id")
+                .addColumn("skip1")
+                .addColumn("a")
+                .addColumn("skip2")
+                .addColumn("b")
+                .setEscapeChar('\\')
+                .build()
+                .withProjection("id", "a", "b");
+        assertTrue(schema.hasProjection());
+        assertFalse(schema.includesColumn("skip1"));
+        // projection must be retained by other mutant factories
+        assertTrue(schema.withColumnSeparator(',').withHeader().hasProjection());
+        assertFalse(schema.withoutProjection().hasProjection());
+
+        _verifySkipped(mapper.getFactory().createParser(DOC), schema);
+        _verifySkipped(mapper.getFactory().createParser(DOC.getBytes("UTF-8")), schema);
+        mapper.enable(CsvParser.Feature.TRIM_SPACES);
+        _verifySkipped(mapper.getFactory().createParser(DOC), schema);
+        _verifySkipped(mapper.getFactory().createParser(DOC.getBytes("UTF-8")), schema);
+    }
+
+    private void _verifySkipped(JsonParser p, CsvSchema schema) throws Exception
+    {
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("id", p.nextFieldName());
+        assertEquals("1", p.nextTextValue());
+        assertEquals("a", p.nextFieldName());
+        assertEquals("a", p.nextTextValue());
+        assertEquals("b", p.nextFieldName());
+        assertEquals("b", p.nextTextValue());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        // skipped linefeed within quoted value must be counted
+        assertEquals(3, p.getTokenLocation().getLineNr());
+        assertEquals("id", p.nextFieldName());
+        assertEquals("2", p.nextTextValue());
+        assertEquals("a", p.nextFieldName());
+        assertEquals("c", p.nextTextValue());
+        assertEquals("b", p.nextFieldName());
+        assertEquals("d", p.nextTextValue());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+
+        // and rows may be shorter than schema
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("id", p.nextFieldName());
+        assertEquals("3", p.nextTextValue());
+        assertEquals("a", p.nextFieldName());
+        assertEquals("e", p.nextTextValue());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testProjectionFromHeader() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvSchema schema = mapper.schemaWithHeaderFor(Point.class);
+        assertTrue(schema.usesHeader());
+        MappingIterator<Point> it = mapper.reader(Point.class).with(schema).readValues(
+                "a,x,\"b\",y,c\n"
+                +"\"a\nb\",1,\"x,y\",2,z\n"
+                +"q,3,,4,\n");
+        Point p = it.nextValue();
+        assertEquals(1, p.x);
+        assertEquals(2, p.y);
+        p = it.nextValue();
+        assertEquals(3, p.x);
+        assertEquals(4, p.y);
+        assertFalse(it.hasNextValue());
+        it.close();
+    }
+}
@@ -0,0 +1,156 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.util.*;
+
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for reading values using {@link CsvRowPublisher}.
+ */
+public class TestParserPublisher extends ModuleTestBase
+{
+    protected static class Entry {
+        public int id;
+        public String name;
+    }
+
+    static class TrackingInputStream extends ByteArrayInputStream {
+        public boolean closed;
+
+        public TrackingInputStream(byte[] data) {
+            super(data);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+    /**
+     * Subscriber that just records what it gets, and optionally requests
+     * more values as it gets them.
+     */
+    static class Recorder implements CsvRowPublisher.Subscriber<Entry> {
+        public final List<String> names = new ArrayList<String>();
+        public CsvRowPublisher.Subscription subscription;
+        public Throwable error;
+        public boolean completed;
+        public int requestOnNext;
+
+        @Override
+        public void onSubscribe(CsvRowPublisher.Subscription s) {
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(Entry item) {
+            names.add(item.name);
+            if (requestOnNext > 0) {
+                subscription.request(requestOnNext);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    private final static CsvSchema SCHEMA = CsvSchema.builder()
+            .addColumn("id", CsvSchema.ColumnType.NUMBER)
+            .addColumn("name")
+            .build()
+            .withHeader();
+
+    private final static String DOC = "id,name\n1,a\n2,b\n3,c\n4,d\n5,e\n";
+
+    public void testBackpressure() throws Exception
+    {
+        TrackingInputStream in = new TrackingInputStream(DOC.getBytes("UTF-8"));
+        CsvRowPublisher<Entry> pub = _reader().publisher(in);
+        Recorder rec = new Recorder();
+        pub.subscribe(rec);
+        // nothing read before requested
+        assertEquals(0, rec.names.size());
+        assertEquals(DOC.length(), in.available());
+
+        rec.subscription.request(2);
+        assertEquals(Arrays.asList("a", "b"), rec.names);
+        rec.subscription.request(1);
+        assertEquals(Arrays.asList("a", "b", "c"), rec.names);
+        assertFalse(rec.completed);
+        rec.subscription.request(5);
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), rec.names);
+        assertTrue(rec.completed);
+        assertNull(rec.error);
+        assertTrue(in.closed);
+
+        // only one subscriber allowed
+        Recorder rec2 = new Recorder();
+        pub.subscribe(rec2);
+        assertNotNull(rec2.error);
+        verifyException(rec2.error, "single subscriber");
+    }
+
+    public void testRequestFromOnNext() throws Exception
+    {
+        InputStream in = new ByteArrayInputStream(DOC.getBytes("UTF-8"));
+        Recorder rec = new Recorder();
+        rec.requestOnNext = 1;
+        _reader().<Entry>publisher(Channels.newChannel(in)).subscribe(rec);
+        rec.subscription.request(1);
+        assertEquals(5, rec.names.size());
+        assertTrue(rec.completed);
+    }
+
+    public void testCancel() throws Exception
+    {
+        TrackingInputStream in = new TrackingInputStream(DOC.getBytes("UTF-8"));
+        Recorder rec = new Recorder();
+        _reader().<Entry>publisher(in).subscribe(rec);
+        rec.subscription.request(1);
+        rec.subscription.cancel();
+        assertTrue(in.closed);
+        rec.subscription.request(10);
+        assertEquals(Arrays.asList("a"), rec.names);
+        assertFalse(rec.completed);
+        assertNull(rec.error);
+
+        // also closed if cancelled before anything is read
+        in = new TrackingInputStream(DOC.getBytes("UTF-8"));
+        rec = new Recorder();
+        _reader().<Entry>publisher(in).subscribe(rec);
+        rec.subscription.cancel();
+        assertTrue(in.closed);
+    }
+
+    public void testErrors() throws Exception
+    {
+        Recorder rec = new Recorder();
+        _reader().<Entry>publisher(new ByteArrayInputStream("id,name\n1,a\nx,b\n".getBytes("UTF-8")))
+            .subscribe(rec);
+        rec.subscription.request(Long.MAX_VALUE);
+        assertEquals(Arrays.asList("a"), rec.names);
+        assertNotNull(rec.error);
+        assertFalse(rec.completed);
+
+        rec = new Recorder();
+        _reader().<Entry>publisher(new ByteArrayInputStream(DOC.getBytes("UTF-8"))).subscribe(rec);
+        rec.subscription.request(0L);
+        assertTrue(rec.error instanceof IllegalArgumentException);
+        assertEquals(0, rec.names.size());
+    }
+
+    private CsvObjectReader _reader() {
+        return (CsvObjectReader) mapperForCsv().reader(Entry.class).with(SCHEMA);
+    }
+}
@@ -88,4 +88,47 @@ public class TestParserQuotes extends ModuleTestBase
         String csv = mapper.writer(schema).writeValueAsString(user).trim();
         assertEquals("38,"+RAW_NAME, csv);
     }
+
+    // Schemas without quote and escape characters use specialized decoding
+    public void testTabSeparatedWithoutQuotes() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        mapper.disable(CsvParser.Feature.WRAP_AS_ARRAY);
+        CsvSchema schema = mapper.schemaFor(ThreeString.class)
+                .withColumnSeparator('\t')
+                .withoutQuoteChar()
+                .withoutEscapeChar();
+        final int ROWS = 3000;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < ROWS; ++i) {
+            sb.append(_tsvValue(i)).append('\t');
+            sb.append((i % 5 == 0) ? "" : ("\"x\\"+i+"\""));
+            sb.append('\t').append(i);
+            sb.append((i % 2 == 0) ? "\n" : "\r\n");
+        }
+        final String doc = sb.toString();
+        ObjectReader r = mapper.reader(schema).forType(ThreeString.class);
+        for (int mode = 0; mode < 2; ++mode) {
+            MappingIterator<ThreeString> it = (mode == 0) ? r.<ThreeString>readValues(doc)
+                    : r.<ThreeString>readValues(doc.getBytes("UTF-8"));
+            for (int i = 0; i < ROWS; ++i) {
+                ThreeString value = it.nextValue();
+                assertEquals(_tsvValue(i), value.s1);
+                assertEquals((i % 5 == 0) ? "" : ("\"x\\"+i+"\""), value.s2);
+                assertEquals(String.valueOf(i), value.s3);
+            }
+            assertFalse(it.hasNext());
+            it.close();
+        }
+    }
+
+    private String _tsvValue(int i)
+    {
+        StringBuilder sb = new StringBuilder();
+        // vary lengths so that some values cross input buffer boundaries
+        for (int j = 0, len = i % 37; j < len; ++j) {
+            sb.append((j % 7 == 3) ? "\u00E9\u20AC\uD83D\uDE00" : "abc");
+        }
+        return sb.toString();
+    }
 }
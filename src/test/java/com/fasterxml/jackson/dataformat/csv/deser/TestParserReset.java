@@ -0,0 +1,182 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for reusing parsers, either directly using {@link CsvParser#reset}
+ * or via pool of {@link CsvFactory}.
+ */
+public class TestParserReset extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name" })
+    protected static class Entry {
+        public int id;
+        public String name;
+    }
+
+    private final static CsvSchema SCHEMA = CsvSchema.builder()
+            .addColumn("id", CsvSchema.ColumnType.NUMBER)
+            .addColumn("name")
+            .build();
+
+    public void testResetWithDifferentInputs() throws Exception
+    {
+        CsvFactory f = new CsvFactory();
+        CsvParser p = f.createParser("1,a\n2,b\n");
+        p.setSchema(SCHEMA);
+        _verifyRecord(p, 1, "a");
+        // stop in the middle of document, continue with another
+        p.reset("3,c\n".getBytes("UTF-8"));
+        assertSame(SCHEMA, p.getSchema());
+        assertNull(p.getCurrentToken());
+        _verifyRecord(p, 3, "c");
+        assertEquals(1, p.getTokenLocation().getLineNr());
+        assertNull(p.nextToken());
+        assertTrue(p.isClosed());
+
+        // byte order mark is skipped
+        p.reset(new ByteArrayInputStream("\uFEFF4,d".getBytes("UTF-8")));
+        assertFalse(p.isClosed());
+        _verifyRecord(p, 4, "d");
+        assertNull(p.nextToken());
+
+        p.reset(new StringReader("5,e\n6,f"));
+        _verifyRecord(p, 5, "e");
+        _verifyRecord(p, 6, "f");
+        assertNull(p.nextToken());
+        p.close();
+
+        // and also works for parser that is closed
+        p.reset("7,g".getBytes("UTF-8"));
+        _verifyRecord(p, 7, "g");
+        p.close();
+    }
+
+    public void testResetWithHeader() throws Exception
+    {
+        CsvFactory f = new CsvFactory();
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        CsvParser p = f.createParser("id,name\n1,a\n".getBytes("UTF-8"));
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("id", p.nextFieldName());
+        assertEquals("1", p.nextTextValue());
+
+        // header of each document is read
+        p.reset("name,id\nb,2\n".getBytes("UTF-8"));
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("name", p.nextFieldName());
+        assertEquals("b", p.nextTextValue());
+        assertEquals("name", p.getSchema().columnName(0));
+        p.close();
+    }
+
+    public void testPooledParsers() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvFactory f = mapper.getFactory();
+        CsvParser p = f.acquireParser("1,a\n2,b".getBytes("UTF-8"));
+        p.setSchema(SCHEMA);
+        List<Entry> entries = mapper.reader(Entry.class).<Entry>readValues(p).readAll();
+        assertEquals(2, entries.size());
+        assertEquals("b", entries.get(1).name);
+        f.releaseParser(p);
+
+        CsvParser p2 = f.acquireParser(new ByteArrayInputStream("3,c".getBytes("UTF-8")));
+        assertSame(p, p2);
+        p2.setSchema(SCHEMA);
+        entries = mapper.reader(Entry.class).<Entry>readValues(p2).readAll();
+        assertEquals(1, entries.size());
+        assertEquals(3, entries.get(0).id);
+        assertEquals("c", entries.get(0).name);
+        f.releaseParser(p2);
+
+        // parsers with different configuration are not pooled
+        p = f.acquireParser(new StringReader("4,d"));
+        assertSame(p2, p);
+        p.enable(JsonParser.Feature.ALLOW_YAML_COMMENTS);
+        f.releaseParser(p);
+        assertNotSame(p, f.acquireParser(new StringReader("4,d")));
+
+        // nor is anything if pool is disabled
+        f.setMaxPooledInstances(0);
+        p = f.acquireParser("5,e".getBytes("UTF-8"));
+        f.releaseParser(p);
+        assertNotSame(p, f.acquireParser("5,e".getBytes("UTF-8")));
+    }
+
+    // Pooled parsers must not use schema of the previous user, unless it is set again
+    public void testPooledParserSchema() throws Exception
+    {
+        CsvFactory f = new CsvFactory();
+        CsvSchema schema = CsvSchema.emptySchema().withHeader()
+                .withRowFilter(CsvRowFilter.equalTo("name", "b"));
+        CsvParser p = f.acquireParser("id,name\n1,a\n2,b\n".getBytes("UTF-8"));
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("id", p.nextFieldName());
+        assertEquals("2", p.nextTextValue());
+        assertEquals(2, p.getSchema().size());
+        f.releaseParser(p);
+
+        p = f.acquireParser("1,a\n2,b\n".getBytes("UTF-8"));
+        assertEquals(0, p.getSchema().size());
+        assertFalse(p.getSchema().usesHeader());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertEquals("1", p.nextTextValue());
+        f.releaseParser(p);
+
+        p = f.acquireParser("id,name\n3,c\n4,b\n".getBytes("UTF-8"));
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("id", p.nextFieldName());
+        assertEquals("4", p.nextTextValue());
+        assertNotNull(p.getSchema().getRowFilter());
+        f.releaseParser(p);
+    }
+
+    public void testReleaseTwice() throws Exception
+    {
+        CsvFactory f = new CsvFactory();
+        CsvParser p = f.acquireParser("1,a".getBytes("UTF-8"));
+        f.releaseParser(p);
+        f.releaseParser(p);
+        CsvParser p1 = f.acquireParser("1,a".getBytes("UTF-8"));
+        CsvParser p2 = f.acquireParser("2,b".getBytes("UTF-8"));
+        assertSame(p, p1);
+        assertNotSame(p1, p2);
+    }
+
+    // Only parsers acquired from the pool may be pooled
+    public void testReleaseNonPooled() throws Exception
+    {
+        CsvFactory f = new CsvFactory();
+        CsvParser p = f.createParser("1,a".getBytes("UTF-8"));
+        f.releaseParser(p);
+        assertTrue(p.isClosed());
+        assertNotSame(p, f.acquireParser("1,a".getBytes("UTF-8")));
+
+        // nor ones acquired from another factory
+        CsvFactory f2 = new CsvFactory();
+        p = f2.acquireParser("1,a".getBytes("UTF-8"));
+        f.releaseParser(p);
+        assertNotSame(p, f.acquireParser("1,a".getBytes("UTF-8")));
+    }
+
+    private void _verifyRecord(CsvParser p, int id, String name) throws Exception
+    {
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("id", p.nextFieldName());
+        assertEquals(id, p.nextIntValue(-1));
+        assertEquals("name", p.nextFieldName());
+        assertEquals(name, p.nextTextValue());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+    }
+}
@@ -0,0 +1,151 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.util.*;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for binding POJOs by column index (see {@link CsvRowBinder}).
+ */
+public class TestParserRowBinding extends ModuleTestBase
+{
+    protected static class Entry {
+        public long id;
+        public String name;
+        public double score;
+        public Boolean active;
+        protected List<String> tags;
+
+        public void setTags(List<String> t) { tags = t; }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown=true)
+    protected static class NameOnly {
+        public String name;
+    }
+
+    protected static class Immutable {
+        protected final long id;
+        protected final String name;
+
+        @JsonCreator
+        public Immutable(@JsonProperty("id") long id, @JsonProperty("name") String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private final static String DOC =
+            "id,name,score,active,tags\n"
+            +"1,Bob,1.25,true,a;b\n"
+            +"2,\"Smith, Jo\",-3,,\n"
+            +"3,Pat, 0.5 ,false\n";
+
+    private final static CsvSchema SCHEMA = CsvSchema.builder()
+            .addColumn("id", CsvSchema.ColumnType.NUMBER)
+            .addColumn("name")
+            .addColumn("score", CsvSchema.ColumnType.NUMBER)
+            .addColumn("active", CsvSchema.ColumnType.BOOLEAN)
+            .addArrayColumn("tags", ';')
+            .build()
+            .withHeader();
+
+    public void testBindByIndex() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        ObjectReader r = mapper.reader(Entry.class).with(SCHEMA);
+        // results must be same with and without binding by index; both for typed and untyped columns
+        List<Entry> exp = _readAll(r);
+        mapper.enable(CsvParser.Feature.BIND_BY_COLUMN_INDEX);
+        _verify(exp, _readAll(mapper.reader(Entry.class).with(SCHEMA)));
+        _verify(exp, _readAll(mapper.reader(Entry.class).with(mapper.schemaWithHeader())));
+
+        assertEquals(3, exp.size());
+        Entry e = exp.get(1);
+        assertEquals(2L, e.id);
+        assertEquals("Smith, Jo", e.name);
+        assertEquals(-3.0, e.score);
+        assertNull(e.active);
+        assertEquals(0, e.tags.size());
+        assertEquals(Arrays.asList("a", "b"), exp.get(0).tags);
+        assertNull(exp.get(2).tags);
+    }
+
+    public void testWithProjection() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        mapper.enable(CsvParser.Feature.BIND_BY_COLUMN_INDEX);
+        MappingIterator<NameOnly> it = mapper.reader(NameOnly.class)
+                .with(mapper.schemaWithHeaderFor(NameOnly.class))
+                .readValues(DOC);
+        assertEquals("Bob", it.nextValue().name);
+        assertEquals("Smith, Jo", it.nextValue().name);
+        assertEquals("Pat", it.nextValue().name);
+        assertFalse(it.hasNextValue());
+        it.close();
+    }
+
+    public void testFallbacks() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        mapper.enable(CsvParser.Feature.BIND_BY_COLUMN_INDEX);
+        // unknown columns are handled by standard deserializer
+        MappingIterator<NameOnly> it = mapper.reader(NameOnly.class).with(SCHEMA).readValues(DOC);
+        assertEquals("Bob", it.nextValue().name);
+        it.close();
+
+        // as are POJOs constructed using creators
+        MappingIterator<Immutable> it2 = mapper.reader(Immutable.class)
+                .with(CsvSchema.builder().addColumn("name").addColumn("id").build())
+                .readValues("Bob,1\nJo,2\n");
+        Immutable value = it2.nextValue();
+        assertEquals(1L, value.id);
+        assertEquals("Bob", value.name);
+        assertEquals("Jo", it2.nextValue().name);
+        assertFalse(it2.hasNextValue());
+        it2.close();
+    }
+
+    public void testInvalidValue() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        mapper.enable(CsvParser.Feature.BIND_BY_COLUMN_INDEX);
+        MappingIterator<Entry> it = mapper.reader(Entry.class).with(SCHEMA)
+                .readValues("id,name,score\n1,Bob,abc\n");
+        try {
+            it.nextValue();
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "abc");
+            assertEquals("score", e.getPath().get(0).getFieldName());
+        }
+        it.close();
+    }
+
+    private List<Entry> _readAll(ObjectReader r) throws Exception
+    {
+        MappingIterator<Entry> it = r.readValues(DOC);
+        List<Entry> result = it.readAll();
+        it.close();
+        return result;
+    }
+
+    private void _verify(List<Entry> exp, List<Entry> act)
+    {
+        assertEquals(exp.size(), act.size());
+        for (int i = 0; i < exp.size(); ++i) {
+            Entry e = exp.get(i), a = act.get(i);
+            assertEquals(e.id, a.id);
+            assertEquals(e.name, a.name);
+            assertEquals(e.score, a.score);
+            assertEquals(e.active, a.active);
+            assertEquals(e.tags, a.tags);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for skipping records that do not match row filter of schema.
+ */
+public class TestParserRowFilter extends ModuleTestBase
+{
+    protected static class City {
+        public String state, name;
+        public int population;
+        public List<String> tags;
+    }
+
+    private final static String DOC =
+            "state,name,population,tags\n"
+            +"CA,\"San Francisco\",837442,coastal;tech\n"
+            +"NV,Reno,\"233294\",\"desert\n(high)\"\r\n"
+            +"CA,\"Fresno, \"\"the city\"\"\",509924,\n"
+            +"OR,Portland,609456,rain\n"
+            +"CA,Carmel,3722\n"
+            +"CA\n"
+            +"CA,Oakland,406253,port";
+
+    private final static CsvSchema SCHEMA = CsvSchema.builder()
+            .addColumn("state")
+            .addColumn("name")
+            .addColumn("population", CsvSchema.ColumnType.NUMBER)
+            .addArrayColumn("tags", ';')
+            .build()
+            .withSkipFirstDataRow(true);
+
+    public void testSimpleConditions() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        _verifyNames(mapper, SCHEMA.withRowFilter(CsvRowFilter.equalTo("state", "CA")),
+                "San Francisco", "Fresno, \"the city\"", "Carmel", null, "Oakland");
+        _verifyNames(mapper, SCHEMA.withRowFilter(CsvRowFilter.startsWith("name", "P")),
+                "Portland");
+        _verifyNames(mapper, SCHEMA.withRowFilter(CsvRowFilter.in("state", "NV", "OR")),
+                "Reno", "Portland");
+        _verifyNames(mapper, SCHEMA.withRowFilter(CsvRowFilter.between("population", 0, 500000)),
+                "Reno", "Carmel", "Oakland");
+        // conditions may be combined, even for the same column
+        _verifyNames(mapper, SCHEMA.withRowFilter(CsvRowFilter.equalTo("state", "CA")
+                .and(CsvRowFilter.between("population", 5000, 1000000))
+                .and(CsvRowFilter.between("population", 450000, 1e9))),
+                "San Francisco", "Fresno, \"the city\"");
+        // missing values are considered empty
+        _verifyNames(mapper, SCHEMA.withRowFilter(CsvRowFilter.equalTo("tags", "")),
+                "Fresno, \"the city\"", "Carmel", null);
+        _verifyNames(mapper, SCHEMA.withRowFilter(CsvRowFilter.equalTo("state", "TX")));
+    }
+
+    public void testInManyValues() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        List<String> values = new ArrayList<String>();
+        for (int i = 0; i < 100; ++i) {
+            values.add("x"+i);
+        }
+        // enough values for multiple per bucket; also empty and near misses
+        values.add("OR");
+        values.add("");
+        values.add("Portland ");
+        _verifyNames(mapper, SCHEMA.withRowFilter(CsvRowFilter.in("state", values)),
+                "Portland");
+        _verifyNames(mapper, SCHEMA.withRowFilter(CsvRowFilter.in("tags", values)),
+                "Fresno, \"the city\"", "Carmel", null);
+        _verifyNames(mapper, SCHEMA.withRowFilter(CsvRowFilter.in("state")));
+    }
+
+    public void testCustomCondition() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvRowFilter filter = CsvRowFilter.matching("name", new CsvRowFilter.ValueMatcher() {
+            @Override
+            public boolean matches(char[] buffer, int offset, int len) {
+                return (len % 2) == 0;
+            }
+        });
+        _verifyNames(mapper, SCHEMA.withRowFilter(filter),
+                "Reno", "Fresno, \"the city\"", "Portland", "Carmel", null);
+    }
+
+    public void testBufferedValues() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvSchema schema = SCHEMA.withRowFilter(CsvRowFilter.in("tags", "desert\n(high)", "rain"));
+        for (JsonParser p : new JsonParser[] {
+                mapper.getFactory().createParser(DOC),
+                mapper.getFactory().createParser(DOC.getBytes("UTF-8"))
+        }) {
+            p.setSchema(schema);
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals(3, p.getTokenLocation().getLineNr());
+            assertEquals("state", p.nextFieldName());
+            assertEquals("NV", p.nextTextValue());
+            assertEquals("name", p.nextFieldName());
+            assertEquals("Reno", p.nextTextValue());
+            assertEquals("population", p.nextFieldName());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(233294, p.getIntValue());
+            assertEquals("tags", p.nextFieldName());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertEquals("desert\n(high)", p.nextTextValue());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals(6, p.getTokenLocation().getLineNr());
+            assertEquals("state", p.nextFieldName());
+            assertEquals("OR", p.nextTextValue());
+            assertEquals("name", p.nextFieldName());
+            assertEquals("Portland", p.nextTextValue());
+            assertEquals("population", p.nextFieldName());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(609456, p.getIntValue());
+            assertEquals("tags", p.nextFieldName());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertEquals("rain", p.nextTextValue());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertNull(p.nextToken());
+            p.close();
+        }
+    }
+
+    public void testWithProjectionAndHeader() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        // filter may refer to column not included in projection
+        CsvSchema schema = CsvSchema.emptySchema().withHeader()
+                .withProjection("name", "population")
+                .withRowFilter(CsvRowFilter.equalTo("state", "CA")
+                        .and(CsvRowFilter.between("population", 400000, 600000)));
+        MappingIterator<Map<String,String>> it = mapper.reader(Map.class).with(schema)
+                .readValues(DOC.getBytes("UTF-8"));
+        Map<String,String> row = it.nextValue();
+        assertEquals(2, row.size());
+        assertEquals("Fresno, \"the city\"", row.get("name"));
+        assertEquals("509924", row.get("population"));
+        row = it.nextValue();
+        assertEquals("Oakland", row.get("name"));
+        assertFalse(it.hasNextValue());
+        it.close();
+
+        // but must refer to a column of the schema
+        schema = CsvSchema.emptySchema().withHeader()
+                .withRowFilter(CsvRowFilter.equalTo("country", "US"));
+        try {
+            mapper.reader(Map.class).with(schema).readValues(DOC).nextValue();
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "column \"country\"");
+        }
+    }
+
+    public void testWrappedAsArray() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        mapper.enable(CsvParser.Feature.WRAP_AS_ARRAY);
+        City[] cities = mapper.reader(City[].class)
+                .with(SCHEMA.withRowFilter(CsvRowFilter.equalTo("state", "OR")))
+                .readValue(DOC);
+        assertEquals(1, cities.length);
+        assertEquals("Portland", cities[0].name);
+        cities = mapper.reader(City[].class)
+                .with(SCHEMA.withRowFilter(CsvRowFilter.equalTo("state", "WA")))
+                .readValue(DOC);
+        assertEquals(0, cities.length);
+    }
+
+    private void _verifyNames(CsvMapper mapper, CsvSchema schema, String... expNames) throws Exception
+    {
+        for (boolean bytes : new boolean[] { false, true }) {
+            MappingIterator<City> it = bytes
+                    ? mapper.reader(City.class).with(schema).<City>readValues(DOC.getBytes("UTF-8"))
+                    : mapper.reader(City.class).with(schema).<City>readValues(DOC);
+            List<String> names = new ArrayList<String>();
+            while (it.hasNextValue()) {
+                names.add(it.nextValue().name);
+            }
+            it.close();
+            assertEquals(Arrays.asList(expNames), names);
+        }
+    }
+}
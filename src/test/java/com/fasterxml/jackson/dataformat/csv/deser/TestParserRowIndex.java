@@ -0,0 +1,136 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.*;
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for {@link CsvRowIndex} and reading of rows using it.
+ */
+public class TestParserRowIndex extends ModuleTestBase
+{
+    protected static class Entry {
+        public int id;
+        public String value;
+    }
+
+    public void testRecordLocation() throws Exception
+    {
+        final String DOC = "a,b\r\n\"x\ny\",\u00E9\n  c,d\n";
+        CsvMapper mapper = mapperForCsv();
+        JsonParser p = mapper.getFactory().createParser(DOC.getBytes("UTF-8"));
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertEquals(0L, p.getTokenLocation().getByteOffset());
+        assertEquals(1, p.getTokenLocation().getLineNr());
+        while (p.nextToken() != JsonToken.END_ARRAY) { }
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertEquals(5L, p.getTokenLocation().getByteOffset());
+        assertEquals(2, p.getTokenLocation().getLineNr());
+        while (p.nextToken() != JsonToken.END_ARRAY) { }
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        // 2-byte character in the second row
+        assertEquals(14L, p.getTokenLocation().getByteOffset());
+        assertEquals(4, p.getTokenLocation().getLineNr());
+        p.close();
+    }
+
+    // Byte offsets must include skipped BOM, to match offsets within file
+    public void testRecordLocationWithBOM() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(new byte[] { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF });
+        bytes.write("a,b\nc,d\n".getBytes("UTF-8"));
+        CsvMapper mapper = mapperForCsv();
+        for (int i = 0; i < 2; ++i) {
+            JsonParser p = (i == 0) ? mapper.getFactory().createParser(bytes.toByteArray())
+                    : mapper.getFactory().createParser(new ByteArrayInputStream(bytes.toByteArray()));
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertEquals(3L, p.getTokenLocation().getByteOffset());
+            assertEquals(1, p.getTokenLocation().getColumnNr());
+            while (p.nextToken() != JsonToken.END_ARRAY) { }
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertEquals(7L, p.getTokenLocation().getByteOffset());
+            p.close();
+        }
+    }
+
+    public void testIndexedReads() throws Exception {
+        _testIndexedReads(false);
+    }
+
+    public void testIndexedReadsWithBOM() throws Exception {
+        _testIndexedReads(true);
+    }
+
+    private void _testIndexedReads(boolean bom) throws Exception
+    {
+        final int ROWS = 1000;
+        StringBuilder sb = new StringBuilder("id,value\n");
+        for (int i = 0; i < ROWS; ++i) {
+            sb.append(i).append(',');
+            if ((i % 5) == 0) {
+                sb.append("\"multi\r\nline ").append(i).append("\"");
+            } else {
+                sb.append("\u00E5\u20AC").append(i);
+            }
+            sb.append((i % 2 == 0) ? "\n" : "\r\n");
+        }
+        File f = File.createTempFile("csv-index", ".csv");
+        File indexFile = File.createTempFile("csv-index", ".idx");
+        try {
+            OutputStream out = new FileOutputStream(f);
+            if (bom) {
+                out.write(new byte[] { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF });
+            }
+            Writer w = new OutputStreamWriter(out, "UTF-8");
+            w.write(sb.toString());
+            w.close();
+
+            CsvMapper mapper = mapperForCsv();
+            CsvObjectReader r = (CsvObjectReader) mapper.reader(Entry.class)
+                    .with(CsvSchema.emptySchema().withHeader());
+            CsvRowIndex index = r.buildRowIndex(f, 16);
+            assertEquals(ROWS, index.getRowCount());
+            assertEquals((ROWS + 15) / 16, index.size());
+
+            index.writeTo(indexFile);
+            CsvRowIndex index2 = CsvRowIndex.readFrom(indexFile);
+            assertEquals(index, index2);
+
+            _verifyRange(r, f, index2, 0, 10);
+            _verifyRange(r, f, index2, 4, 6);
+            _verifyRange(r, f, index2, 16, 32);
+            _verifyRange(r, f, index2, 37, 41);
+            _verifyRange(r, f, index2, 500, 500);
+            _verifyRange(r, f, index2, 990, ROWS);
+            _verifyRange(r, f, index2, 995, ROWS + 10);
+        } finally {
+            f.delete();
+            indexFile.delete();
+        }
+    }
+
+    private void _verifyRange(CsvObjectReader r, File f, CsvRowIndex index, int from, int to)
+        throws IOException
+    {
+        MappingIterator<Entry> it = r.readValues(f, index, from, to);
+        int count = 0;
+        while (it.hasNextValue()) {
+            Entry e = it.nextValue();
+            int id = from + count;
+            assertEquals(id, e.id);
+            if ((id % 5) == 0) {
+                assertEquals("multi\r\nline "+id, e.value);
+            } else {
+                assertEquals("\u00E5\u20AC"+id, e.value);
+            }
+            ++count;
+        }
+        it.close();
+        assertEquals(Math.min(to, (int) index.getRowCount()) - from, count);
+    }
+}
@@ -0,0 +1,183 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.StringReader;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests to verify that textual contents are accessible consistently via
+ * {@link JsonParser#getText} and {@link JsonParser#getTextCharacters}, both
+ * for values that can be exposed directly from input buffer and those that
+ * need to be copied.
+ */
+public class TestParserTextAccess extends ModuleTestBase
+{
+    public void testNamedValues() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("a")
+                .addColumn("b")
+                .addColumn("c")
+                .addColumn("d")
+                .addNumberColumn("e")
+                .setEscapeChar('\\')
+                .build();
+        JsonParser p = mapper.getFactory().createParser(
+                "abc,\"quoted\",\"with \"\"quotes\"\"\",esc\\,aped,-12.5\n"
+                +"x,\"\",,\"a\nb\",7");
+        p.setSchema(schema);
+
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertTrue(p.hasTextCharacters());
+        assertEquals("abc", getAndVerifyText(p));
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("quoted", getAndVerifyText(p));
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("with \"quotes\"", getAndVerifyText(p));
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("esc,aped", getAndVerifyText(p));
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals("-12.5", getAndVerifyText(p));
+        assertEquals(-12.5, p.getDoubleValue());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("x", p.nextTextValue());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("", p.nextTextValue());
+        assertEquals("", getAndVerifyText(p));
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("", getAndVerifyText(p));
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("a\nb", getAndVerifyText(p));
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals("7", getAndVerifyText(p));
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testUnnamedAndArrayValues() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvSchema schema = CsvSchema.builder()
+                .addArrayColumn("list")
+                .addColumn("b")
+                .build();
+        JsonParser p = mapper.getFactory().createParser("a;b,c\n");
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("a", getAndVerifyText(p));
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("b", getAndVerifyText(p));
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("c", getAndVerifyText(p));
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        p.close();
+
+        mapper.enable(CsvParser.Feature.WRAP_AS_ARRAY);
+        p = mapper.getFactory().createParser("first,\" second \"\n");
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("first", getAndVerifyText(p));
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals(" second ", getAndVerifyText(p));
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.close();
+    }
+
+    // Values longer than input (and output) buffers, with escapes, doubled
+    // quotes and linefeeds
+    public void testLongValues() throws Exception
+    {
+        StringBuilder unquoted = new StringBuilder();
+        StringBuilder quoted = new StringBuilder();
+        StringBuilder expUnquoted = new StringBuilder();
+        StringBuilder expQuoted = new StringBuilder();
+        for (int i = 0; i < 3000; ++i) {
+            unquoted.append("abc\\,def ");
+            expUnquoted.append("abc,def ");
+            quoted.append("x\"\"y\r\nz\\n ");
+            expQuoted.append("x\"y\r\nz\n ");
+        }
+        CsvMapper mapper = mapperForCsv();
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("a")
+                .addColumn("b")
+                .addColumn("c")
+                .setEscapeChar('\\')
+                .build();
+        String doc = unquoted+",\""+quoted+"\",last\n";
+        JsonParser p = mapper.getFactory().createParser(new StringReader(doc));
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals(expUnquoted.toString(), getAndVerifyText(p));
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals(expQuoted.toString(), getAndVerifyText(p));
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("last", getAndVerifyText(p));
+        // embedded linefeeds are counted as well
+        assertEquals(3001, p.getCurrentLocation().getLineNr());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    // Values that cross input buffer boundaries must be copied correctly
+    public void testLongInput() throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        final int ROWS = 3000;
+        for (int i = 0; i < ROWS; ++i) {
+            sb.append("value").append(i).append(",\"quoted ").append(i).append("\"  ,")
+                .append(i).append('\n');
+        }
+        CsvMapper mapper = mapperForCsv();
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("a")
+                .addColumn("b")
+                .addNumberColumn("c")
+                .build();
+        JsonParser p = mapper.getFactory().createParser(new StringReader(sb.toString()));
+        p.setSchema(schema);
+        for (int i = 0; i < ROWS; ++i) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("value"+i, getAndVerifyText(p));
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("quoted "+i, getAndVerifyText(p));
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(i, p.getIntValue());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+        }
+        assertNull(p.nextToken());
+        p.close();
+    }
+}
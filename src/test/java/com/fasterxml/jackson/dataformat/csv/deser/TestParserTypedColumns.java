@@ -0,0 +1,120 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+public class TestParserTypedColumns extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "count", "price", "active" })
+    protected static class Item {
+        public int id;
+        public long count;
+        public double price;
+        public Boolean active;
+    }
+
+    /*
+    /**********************************************************************
+    /* Test methods
+    /**********************************************************************
+     */
+
+    public void testNumberTokens() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvSchema schema = CsvSchema.builder()
+                .addNumberColumn("a")
+                .addNumberColumn("b")
+                .addNumberColumn("c")
+                .addNumberColumn("d")
+                .addNumberColumn("e")
+                .addNumberColumn("f")
+                .build();
+        JsonParser p = mapper.getFactory().createParser(" 12 ,-3.25,9876543210,1e3,abc,\n");
+        p.setSchema(schema);
+
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("a", p.getCurrentName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(JsonParser.NumberType.INT, p.getNumberType());
+        assertEquals(12, p.getIntValue());
+        assertEquals("12", p.getText());
+
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(-3.25, p.getDoubleValue());
+        assertEquals("-3.25", p.getText());
+
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(JsonParser.NumberType.LONG, p.getNumberType());
+        assertEquals(9876543210L, p.getLongValue());
+
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(1000.0, p.getDoubleValue());
+
+        // non-numeric values are exposed as Strings, empty ones as nulls
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("abc", p.getText());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NULL, p.nextToken());
+
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testNumberOrStringTokens() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("a", CsvSchema.ColumnType.NUMBER_OR_STRING)
+                .addColumn("b", CsvSchema.ColumnType.NUMBER_OR_STRING)
+                .addColumn("c", CsvSchema.ColumnType.NUMBER_OR_STRING)
+                .addColumn("d", CsvSchema.ColumnType.NUMBER_OR_STRING)
+                .build();
+        JsonParser p = mapper.getFactory().createParser("007,\"42\",true,\n");
+        p.setSchema(schema);
+
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        // leading zeroes are not allowed for JSON numbers
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("007", p.getText());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(42, p.getIntValue());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_TRUE, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("", p.getText());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        p.close();
+    }
+
+    public void testTypedBinding() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvSchema schema = mapper.typedSchemaFor(Item.class);
+        assertEquals(CsvSchema.ColumnType.NUMBER, schema.column("id").getType());
+        assertEquals(CsvSchema.ColumnType.BOOLEAN, schema.column("active").getType());
+
+        Item item = mapper.reader(Item.class).with(schema)
+                .readValue("123,-98765432101,0.5,true\n");
+        assertEquals(123, item.id);
+        assertEquals(-98765432101L, item.count);
+        assertEquals(0.5, item.price);
+        assertEquals(Boolean.TRUE, item.active);
+
+        item = mapper.reader(Item.class).with(schema)
+                .readValue("1,2,3,\n");
+        assertEquals(3.0, item.price);
+        assertNull(item.active);
+    }
+}
@@ -0,0 +1,158 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.*;
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for decoding of UTF-8 encoded byte content, which is done
+ * directly from bytes without use of a {@link Reader}.
+ */
+public class TestParserUTF8 extends ModuleTestBase
+{
+    /**
+     * Stream that returns content in tiny chunks, to verify handling
+     * of multi-byte characters split across buffer boundaries.
+     */
+    static class ChunkedInputStream extends FilterInputStream
+    {
+        private final int _maxChunk;
+
+        public ChunkedInputStream(byte[] data, int maxChunk) {
+            super(new ByteArrayInputStream(data));
+            _maxChunk = maxChunk;
+        }
+
+        @Override
+        public int read(byte[] b, int offset, int len) throws IOException {
+            return super.read(b, offset, Math.min(len, _maxChunk));
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Test methods
+    /**********************************************************************
+     */
+
+    public void testMultiByteChars() throws Exception
+    {
+        final String DOC = "a\u00E9b,\"\u20AC \"\"q\"\"\" , \uD83D\uDE00z\r\n"
+                +"\"line\r\n\u00E4\",,\u00FF\n";
+        final byte[] UTF8 = DOC.getBytes("UTF-8");
+        _verifyMultiByte(UTF8, DOC, new ByteArrayInputStream(UTF8));
+        for (int chunk = 1; chunk < 4; ++chunk) {
+            _verifyMultiByte(UTF8, DOC, new ChunkedInputStream(UTF8, chunk));
+        }
+    }
+
+    private void _verifyMultiByte(byte[] data, String doc, InputStream in) throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        mapper.enable(CsvParser.Feature.WRAP_AS_ARRAY);
+        List<List<String>> expected = _readRows(mapper.getFactory().createParser(doc));
+        assertEquals(2, expected.size());
+        assertEquals(Arrays.asList("a\u00E9b", "\u20AC \"q\"", " \uD83D\uDE00z"), expected.get(0));
+        assertEquals(Arrays.asList("line\r\n\u00E4", "", "\u00FF"), expected.get(1));
+
+        assertEquals(expected, _readRows(mapper.getFactory().createParser(data)));
+        assertEquals(expected, _readRows(mapper.getFactory().createParser(in)));
+    }
+
+    public void testNonAsciiSeparator() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("a")
+                .addColumn("b")
+                .addColumn("c")
+                .setColumnSeparator('\u00A7')
+                .setEscapeChar('\u00AC')
+                .build();
+        final String DOC = "x\u00A7\"\u00A7y\"\u00A7z\u00AC\u00A7\u00E9\n";
+        byte[] data = DOC.getBytes("UTF-8");
+        for (int chunk = 1; chunk < 4; ++chunk) {
+            JsonParser p = mapper.getFactory().createParser(new ChunkedInputStream(data, chunk));
+            p.setSchema(schema);
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals("a", p.nextFieldName());
+            assertEquals("x", p.nextTextValue());
+            assertEquals("b", p.nextFieldName());
+            assertEquals("\u00A7y", p.nextTextValue());
+            assertEquals("c", p.nextFieldName());
+            assertEquals("z\u00A7\u00E9", p.nextTextValue());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertNull(p.nextToken());
+            p.close();
+        }
+    }
+
+    public void testLongContent() throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        final int ROWS = 2000;
+        for (int i = 0; i < ROWS; ++i) {
+            sb.append("\u00E5bc").append(i).append(",\"\u4E2D\u6587 ").append(i).append("\"")
+                .append(',').append(i).append('\n');
+        }
+        final byte[] data = sb.toString().getBytes("UTF-8");
+        CsvMapper mapper = mapperForCsv();
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("a")
+                .addColumn("b")
+                .addNumberColumn("c")
+                .build();
+        JsonParser p = mapper.getFactory().createParser(new ChunkedInputStream(data, 3000));
+        p.setSchema(schema);
+        for (int i = 0; i < ROWS; ++i) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals("a", p.nextFieldName());
+            assertEquals("\u00E5bc"+i, p.nextTextValue());
+            assertEquals("b", p.nextFieldName());
+            assertEquals("\u4E2D\u6587 "+i, p.nextTextValue());
+            assertEquals("c", p.nextFieldName());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(i, p.getIntValue());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+        }
+        assertNull(p.nextToken());
+        assertEquals(ROWS+1, p.getCurrentLocation().getLineNr());
+        p.close();
+    }
+
+    public void testInvalidUTF8() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        mapper.enable(CsvParser.Feature.WRAP_AS_ARRAY);
+        JsonParser p = mapper.getFactory().createParser(new byte[] {
+                'a', ',', 'b', (byte) 0xC3, 'c', '\n' });
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        try {
+            p.nextToken();
+            fail("Should not pass");
+        } catch (CharConversionException e) {
+            verifyException(e, "Invalid UTF-8 middle byte");
+        }
+        p.close();
+    }
+
+    private List<List<String>> _readRows(JsonParser p) throws IOException
+    {
+        List<List<String>> rows = new ArrayList<List<String>>();
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        while (p.nextToken() == JsonToken.START_ARRAY) {
+            List<String> row = new ArrayList<String>();
+            while (p.nextToken() == JsonToken.VALUE_STRING) {
+                row.add(p.getText());
+            }
+            rows.add(row);
+        }
+        p.close();
+        return rows;
+    }
+}
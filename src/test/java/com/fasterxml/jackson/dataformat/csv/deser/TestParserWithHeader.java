@@ -45,6 +45,56 @@ public class TestParserWithHeader extends ModuleTestBase
         parser.close();
     }
 
+    public void testSchemaReuse() throws Exception
+    {
+        CsvFactory f = new CsvFactory();
+        CsvSchema first = _headerSchema(f, CsvSchema.emptySchema().withHeader(), "a,b,c\n1,2,3\n");
+        // same header, base schema with same settings: same schema
+        assertSame(first, _headerSchema(f, CsvSchema.emptySchema().withHeader(), " a, b ,c\n4,5,6\n"));
+        assertSame(first, _headerSchema(f, CsvSchema.emptySchema().withHeader(), "a,b,c"));
+        // but not if either differs
+        CsvSchema other = _headerSchema(f, CsvSchema.emptySchema().withHeader(), "a,c,b\n");
+        assertNotSame(first, other);
+        assertEquals("b", other.columnName(2));
+        other = _headerSchema(f, CsvSchema.emptySchema().withHeader().withColumnSeparator(';'), "a,b,c\n");
+        assertNotSame(first, other);
+        assertEquals(1, other.size());
+        other = _headerSchema(f, CsvSchema.emptySchema().withHeader().withProjection("a"), "a,b,c\n");
+        assertNotSame(first, other);
+        assertFalse(other.includesColumn("b"));
+    }
+
+    public void testSchemaCachePerFactory() throws Exception
+    {
+        CsvFactory f = new CsvFactory();
+        final String DOC = "a,b,c\n1,2,3\n";
+        CsvSchema first = _headerSchema(f, CsvSchema.emptySchema().withHeader(), DOC);
+        // not shared with other factories, including copies
+        assertNotSame(first, _headerSchema(new CsvFactory(), CsvSchema.emptySchema().withHeader(), DOC));
+        assertNotSame(first, _headerSchema(f.copy(), CsvSchema.emptySchema().withHeader(), DOC));
+        // but used by all parsers of the factory
+        CsvParser parser = f.createParser(DOC.getBytes("UTF-8"));
+        parser.setSchema(CsvSchema.emptySchema().withHeader());
+        parser.nextToken();
+        assertSame(first, parser.getSchema());
+        parser.close();
+        parser = f.createParser(DOC.toCharArray());
+        parser.setSchema(CsvSchema.emptySchema().withHeader());
+        parser.nextToken();
+        assertSame(first, parser.getSchema());
+        parser.close();
+    }
+
+    private CsvSchema _headerSchema(CsvFactory f, CsvSchema base, String doc) throws Exception
+    {
+        CsvParser parser = f.createParser(doc);
+        parser.setSchema(base);
+        parser.nextToken();
+        CsvSchema schema = parser.getSchema();
+        parser.close();
+        return schema;
+    }
+
     public void testSimpleQuotes() throws Exception
     {
         CsvMapper mapper = mapperForCsv();
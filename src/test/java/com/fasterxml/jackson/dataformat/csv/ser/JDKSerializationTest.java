@@ -3,7 +3,9 @@ package com.fasterxml.jackson.dataformat.csv.ser;
 import java.io.*;
 
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvRowFilter;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import com.fasterxml.jackson.dataformat.csv.ModuleTestBase;
 
@@ -49,6 +51,24 @@ public class JDKSerializationTest extends ModuleTestBase
         CsvSchema out = (CsvSchema) jdkDeserialize(ser);
         assertNotNull(out);
     }
+
+    public void testSchemaWithRowFilter() throws IOException
+    {
+        CsvSchema schema = SCHEMA_POJO.withRowFilter(CsvRowFilter.in("x", "1", "3")
+                .and(CsvRowFilter.startsWith("y", "1"))
+                .and(CsvRowFilter.between("y", 10, 20))
+                .and(CsvRowFilter.equalTo("y", "12").and(CsvRowFilter.equalTo("y", "12"))));
+        CsvSchema out = (CsvSchema) jdkDeserialize(jdkSerialize(schema));
+        assertNotNull(out.getRowFilter());
+        MappingIterator<MyPojo> it = MAPPER.reader(MyPojo.class).with(out)
+                .readValues("1,12\n2,12\n3,13\n3,12\n");
+        MyPojo p = it.nextValue();
+        assertEquals(1, p.x);
+        p = it.nextValue();
+        assertEquals(3, p.x);
+        assertEquals(12, p.y);
+        assertFalse(it.hasNextValue());
+    }
     
     public void testObjectMapper() throws IOException
     {
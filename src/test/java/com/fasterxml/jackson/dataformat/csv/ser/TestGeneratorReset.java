@@ -0,0 +1,103 @@
+package com.fasterxml.jackson.dataformat.csv.ser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for reusing generators, either directly using {@link CsvGenerator#reset}
+ * or via pool of {@link CsvFactory}.
+ */
+public class TestGeneratorReset extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name" })
+    protected static class Entry {
+        public int id;
+        public String name;
+
+        public Entry(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    public void testReset() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvSchema schema = mapper.schemaFor(Entry.class).withHeader();
+        StringWriter w = new StringWriter();
+        CsvGenerator g = mapper.getFactory().createGenerator(w);
+        g.setSchema(schema);
+        mapper.writeValue(g, new Entry(1, "a"));
+        // not closed yet: reset will close
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        g.reset(bytes);
+        mapper.writeValue(g, new Entry(2, "\u00E9"));
+        g.close();
+        assertEquals("id,name\n1,a\n", w.toString());
+        assertEquals("id,name\n2,\u00E9\n", bytes.toString("UTF-8"));
+
+        // and back to a Writer
+        w = new StringWriter();
+        g.reset(w);
+        mapper.writeValue(g, new Entry(3, "c"));
+        g.close();
+        assertEquals("id,name\n3,c\n", w.toString());
+
+        bytes = new ByteArrayOutputStream();
+        g.reset(bytes);
+        mapper.writeValue(g, new Entry(4, "d"));
+        g.close();
+        assertEquals("id,name\n4,d\n", bytes.toString("UTF-8"));
+    }
+
+    public void testPooledGenerators() throws Exception
+    {
+        CsvMapper mapper = mapperForCsv();
+        CsvFactory f = mapper.getFactory();
+        CsvSchema schema = mapper.schemaFor(Entry.class);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CsvGenerator g = f.acquireGenerator(bytes);
+        g.setSchema(schema);
+        mapper.writeValue(g, new Entry(1, "a"));
+        f.releaseGenerator(g);
+        assertEquals("1,a\n", bytes.toString("UTF-8"));
+
+        StringWriter w = new StringWriter();
+        CsvGenerator g2 = f.acquireGenerator(w);
+        assertSame(g, g2);
+        g2.setSchema(schema);
+        mapper.writeValue(g2, new Entry(2, "b"));
+        f.releaseGenerator(g2);
+        assertEquals("2,b\n", w.toString());
+
+        g = f.acquireGenerator(new StringWriter());
+        g.enable(CsvGenerator.Feature.ALWAYS_QUOTE_STRINGS);
+        f.releaseGenerator(g);
+        assertNotSame(g, f.acquireGenerator(new StringWriter()));
+    }
+
+    public void testReleaseTwice() throws Exception
+    {
+        CsvFactory f = new CsvFactory();
+        CsvGenerator g = f.acquireGenerator(new StringWriter());
+        f.releaseGenerator(g);
+        f.releaseGenerator(g);
+        CsvGenerator g1 = f.acquireGenerator(new StringWriter());
+        CsvGenerator g2 = f.acquireGenerator(new StringWriter());
+        assertSame(g, g1);
+        assertNotSame(g1, g2);
+    }
+
+    // Only generators acquired from the pool may be pooled
+    public void testReleaseNonPooled() throws Exception
+    {
+        CsvFactory f = new CsvFactory();
+        CsvGenerator g = f.createGenerator(new StringWriter());
+        f.releaseGenerator(g);
+        assertTrue(g.isClosed());
+        assertNotSame(g, f.acquireGenerator(new StringWriter()));
+    }
+}